@@ -0,0 +1,51 @@
+package br.com.edmilson.bndes.projects.api.auth;
+
+import io.jsonwebtoken.Claims;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Emissão e verificação do access token (HS256). {@code parse} usa o cache de tokens verificados. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtServiceBenchmark {
+
+  static final String SECRET = "minha-chave-super-secreta-para-jwt-1234567890";
+
+  @Param({"0", "10000"})
+  int verifiedCacheSize;
+
+  JwtService jwtService;
+  Map<String, Object> claims;
+  String token;
+
+  @Setup
+  public void setup() {
+    jwtService = new JwtService(SECRET, 15, verifiedCacheSize);
+    claims = Map.of("uid", 42L, "role", "USER");
+    token = jwtService.generateToken("user@bndes.com", claims);
+  }
+
+  @Benchmark
+  public String generateToken() {
+    return jwtService.generateToken("user@bndes.com", claims);
+  }
+
+  @Benchmark
+  public Claims parseAllClaims() {
+    return jwtService.parseAllClaims(token);
+  }
+
+  @Benchmark
+  public ParsedToken parse() {
+    return jwtService.parse(token);
+  }
+}
@@ -0,0 +1,47 @@
+package br.com.edmilson.bndes.projects.api.auth;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Geração, hash e derivação do sucessor dos refresh tokens (login e rotação em /auth/refresh). */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RefreshTokenBenchmark {
+
+  RefreshTokenCodec codec;
+  String raw;
+
+  @Setup
+  public void setup() {
+    codec = new RefreshTokenCodec(JwtServiceBenchmark.SECRET);
+    raw = codec.generate();
+  }
+
+  @Benchmark
+  public String generate() {
+    return codec.generate();
+  }
+
+  @Benchmark
+  public String hash() {
+    return codec.hash(raw);
+  }
+
+  @Benchmark
+  public String successor() {
+    return codec.successor(raw);
+  }
+
+  // o que o login faz por token emitido
+  @Benchmark
+  public String generateAndHash() {
+    return codec.hash(codec.generate());
+  }
+}
@@ -0,0 +1,87 @@
+package br.com.edmilson.bndes.projects.api.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compara dois resultados JSON do JMH (baseline x atual) e sai com código 1 se algum benchmark
+ * piorou mais que o limite e além da margem de erro somada das duas medições.
+ *
+ * <pre>
+ * ./mvnw -Pjmh test-compile exec:exec@jmh-compare -Djmh.baseline=jmh-baseline.json [-Djmh.maxRegression=10]
+ * </pre>
+ */
+public final class JmhResultComparator {
+
+  private JmhResultComparator() {}
+
+  public static void main(String[] args) throws Exception {
+    if (args.length < 2) {
+      System.err.println("usage: JmhResultComparator <baseline.json> <current.json> [maxRegressionPercent=10]");
+      System.exit(2);
+    }
+    double maxRegression = (args.length > 2) ? Double.parseDouble(args[2]) : 10.0;
+
+    Map<String, JsonNode> baseline = load(new File(args[0]));
+    Map<String, JsonNode> current = load(new File(args[1]));
+
+    int regressions = 0;
+    System.out.println("| benchmark | baseline | current | change |");
+    System.out.println("|-----------|---------:|--------:|-------:|");
+
+    for (Map.Entry<String, JsonNode> e : new TreeMap<>(current).entrySet()) {
+      JsonNode before = baseline.get(e.getKey());
+      JsonNode now = e.getValue();
+      JsonNode metric = now.path("primaryMetric");
+      String unit = metric.path("scoreUnit").asText();
+
+      if (before == null) {
+        System.out.printf(Locale.ROOT, "| %s | - | %.3f %s | new |%n", e.getKey(), metric.path("score").asDouble(), unit);
+        continue;
+      }
+
+      double oldScore = before.path("primaryMetric").path("score").asDouble();
+      double newScore = metric.path("score").asDouble();
+      double noise = errorOf(before) + errorOf(now);
+
+      // avgt/sample/ss: menor é melhor; thrpt: maior é melhor
+      boolean higherIsBetter = "thrpt".equals(now.path("mode").asText());
+      double worse = higherIsBetter ? oldScore - newScore : newScore - oldScore;
+      double change = (oldScore == 0) ? 0 : (newScore - oldScore) / oldScore * 100.0;
+
+      boolean regressed = worse > noise && worse / Math.abs(oldScore) * 100.0 > maxRegression;
+      if (regressed) regressions++;
+
+      System.out.printf(Locale.ROOT, "| %s | %.3f | %.3f %s | %+.1f%%%s |%n",
+          e.getKey(), oldScore, newScore, unit, change, regressed ? " REGRESSION" : "");
+    }
+
+    if (regressions > 0) {
+      System.out.printf("%n%d benchmark(s) regressed more than %.1f%%.%n", regressions, maxRegression);
+      System.exit(1);
+    }
+  }
+
+  // chave: benchmark + parâmetros (o mesmo método aparece uma vez por combinação de @Param)
+  private static Map<String, JsonNode> load(File file) throws Exception {
+    Map<String, JsonNode> out = new LinkedHashMap<>();
+    for (JsonNode run : new ObjectMapper().readTree(file)) {
+      StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+      for (Map.Entry<String, JsonNode> p : run.path("params").properties()) {
+        key.append(' ').append(p.getKey()).append('=').append(p.getValue().asText());
+      }
+      out.put(key.toString(), run);
+    }
+    return out;
+  }
+
+  private static double errorOf(JsonNode run) {
+    double err = run.path("primaryMetric").path("scoreError").asDouble(0);
+    return Double.isNaN(err) ? 0 : err;
+  }
+}
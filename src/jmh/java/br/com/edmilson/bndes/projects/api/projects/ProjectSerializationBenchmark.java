@@ -0,0 +1,116 @@
+package br.com.edmilson.bndes.projects.api.projects;
+
+import br.com.edmilson.bndes.projects.api.cluster.PgNotifier;
+import br.com.edmilson.bndes.projects.api.exception.ApiError;
+import br.com.edmilson.bndes.projects.api.model.Project;
+import br.com.edmilson.bndes.projects.api.projects.dto.PageResponse;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectResponse;
+import br.com.edmilson.bndes.projects.api.repository.ProjectRepository;
+import br.com.edmilson.bndes.projects.api.repository.ProjectStatsRepository;
+import br.com.edmilson.bndes.projects.api.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Mapeamento entidade → DTO e serialização JSON das respostas mais frequentes, com o mesmo
+ * ObjectMapper padrão do Spring Boot (JavaTimeModule, datas ISO).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProjectSerializationBenchmark {
+
+  @Param({"10", "100"})
+  int pageSize;
+
+  ProjectService projectService;
+  ObjectMapper objectMapper;
+
+  Project project;
+  List<Project> projects;
+  Page<ProjectResponse> page;
+  PageResponse<ProjectResponse> envelope;
+  ApiError validationError;
+
+  @Setup
+  public void setup() {
+    projectService = new ProjectService(
+        mock(ProjectRepository.class),
+        mock(UserRepository.class),
+        new ProjectReadCache(mock(PgNotifier.class), 60, 1000),
+        mock(ProjectStatsRepository.class)
+    );
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    projects = new ArrayList<>(pageSize);
+    for (int i = 0; i < pageSize; i++) projects.add(project(i));
+    project = projects.get(0);
+
+    page = new PageImpl<>(projects.stream().map(projectService::toResponse).toList(), PageRequest.of(0, pageSize), 5_000);
+    envelope = PageResponse.of(page);
+
+    validationError = new ApiError(
+        Instant.parse("2026-01-02T11:28:09.826Z"), 400, "Bad Request", "Validation error.", "/projects",
+        Map.of("fields", Map.of("name", "Name is required.", "value", "Value must be positive."))
+    );
+  }
+
+  @Benchmark
+  public ProjectResponse toResponse() {
+    return projectService.toResponse(project);
+  }
+
+  @Benchmark
+  public List<ProjectResponse> toResponsePage() {
+    return projects.stream().map(projectService::toResponse).toList();
+  }
+
+  @Benchmark
+  public byte[] serializePage() throws Exception {
+    return objectMapper.writeValueAsBytes(page);
+  }
+
+  // formato atual de GET /projects; serializePage fica como referência do PageImpl
+  @Benchmark
+  public byte[] serializePageEnvelope() throws Exception {
+    return objectMapper.writeValueAsBytes(envelope);
+  }
+
+  @Benchmark
+  public byte[] serializeApiError() throws Exception {
+    return objectMapper.writeValueAsBytes(validationError);
+  }
+
+  private static Project project(int i) {
+    Project p = new Project();
+    p.setId((long) i + 1);
+    p.setName("Projeto " + i);
+    p.setDescription("Descrição do projeto " + i + " ".repeat(200));
+    p.setValue(new BigDecimal("150000.00").add(BigDecimal.valueOf(i)));
+    p.setActive(i % 3 != 0);
+    p.setStartDate(LocalDate.of(2025, 1, 1).plusDays(i));
+    p.setEndDate(LocalDate.of(2026, 1, 1).plusDays(i));
+    p.setCreatedAt(Instant.parse("2025-01-01T10:00:00Z").plusSeconds(i * 60L));
+    return p;
+  }
+}
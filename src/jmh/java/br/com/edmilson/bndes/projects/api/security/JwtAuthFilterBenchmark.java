@@ -0,0 +1,85 @@
+package br.com.edmilson.bndes.projects.api.security;
+
+import br.com.edmilson.bndes.projects.api.auth.JwtService;
+import br.com.edmilson.bndes.projects.api.cluster.PgNotifier;
+import br.com.edmilson.bndes.projects.api.repository.RevokedTokenRepository;
+import br.com.edmilson.bndes.projects.api.repository.UserRepository;
+import br.com.edmilson.bndes.projects.api.repository.UserStatusView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * JwtAuthFilter de ponta a ponta com repositórios mockados: parse do token, índice de revogados,
+ * status do usuário e montagem do SecurityContext. Com cache de tokens 0, cada request verifica a assinatura.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthFilterBenchmark {
+
+  @Param({"0", "10000"})
+  int verifiedCacheSize;
+
+  JwtAuthFilter filter;
+  String authorization;
+
+  @Setup
+  public void setup() {
+    JwtService jwtService = new JwtService("minha-chave-super-secreta-para-jwt-1234567890", 15, verifiedCacheSize);
+
+    UserStatusView enabled = mock(UserStatusView.class);
+    when(enabled.getEnabled()).thenReturn(true);
+    UserRepository userRepository = mock(UserRepository.class);
+    when(userRepository.findStatusById(any())).thenReturn(Optional.of(enabled));
+
+    RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+    when(revokedTokenRepository.findByExpiresAtAfter(any(Instant.class))).thenReturn(List.of());
+
+    PgNotifier pgNotifier = mock(PgNotifier.class);
+    RevokedTokenIndex revokedTokenIndex = new RevokedTokenIndex(revokedTokenRepository, pgNotifier);
+    revokedTokenIndex.load();
+
+    ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    filter = new JwtAuthFilter(jwtService, new UserStatusCache(userRepository, pgNotifier, 30), revokedTokenIndex, objectMapper,
+        new SimpleMeterRegistry());
+
+    authorization = "Bearer " + jwtService.generateToken("user@bndes.com", Map.of("uid", 42L, "role", "USER", "gen", 0));
+  }
+
+  @Benchmark
+  public int authenticatedRequest() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/projects");
+    request.setServletPath("/projects");
+    request.addHeader("Authorization", authorization);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    try {
+      filter.doFilter(request, response, new MockFilterChain());
+      return response.getStatus();
+    } finally {
+      SecurityContextHolder.clearContext();
+    }
+  }
+}
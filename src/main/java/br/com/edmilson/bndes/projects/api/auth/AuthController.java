@@ -5,6 +5,7 @@ import br.com.edmilson.bndes.projects.api.auth.dto.LoginRequest;
 import br.com.edmilson.bndes.projects.api.auth.dto.RefreshRequest;
 import br.com.edmilson.bndes.projects.api.auth.dto.RegisterRequest;
 import br.com.edmilson.bndes.projects.api.exception.ApiError;
+import br.com.edmilson.bndes.projects.api.monitoring.SqlBudget;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -37,6 +38,7 @@ public class AuthController {
           content = @Content(schema = @Schema(implementation = ApiError.class)))
   })
   @PostMapping("/register")
+  @SqlBudget(4)
   public ResponseEntity<Void> register(@Valid @RequestBody RegisterRequest request) {
     authService.register(request);
     return ResponseEntity.status(HttpStatus.CREATED).build();
@@ -51,6 +53,7 @@ public class AuthController {
           content = @Content(schema = @Schema(implementation = ApiError.class)))
   })
   @PostMapping("/login")
+  @SqlBudget(5)
   public AuthResponse login(@Valid @RequestBody LoginRequest request) {
     return authService.login(request);
   }
@@ -64,6 +67,7 @@ public class AuthController {
           content = @Content(schema = @Schema(implementation = ApiError.class)))
   })
   @PostMapping("/refresh")
+  @SqlBudget(3)
   public AuthResponse refresh(@Valid @RequestBody RefreshRequest request) {
     return authService.refresh(request);
   }
@@ -75,8 +79,22 @@ public class AuthController {
           content = @Content(schema = @Schema(implementation = ApiError.class)))
   })
   @PostMapping("/logout")
+  @SqlBudget(5)
   public ResponseEntity<Void> logout(HttpServletRequest request) {
     authService.logout(request);
     return ResponseEntity.ok().build();
   }
+
+  @Operation(summary = "Logout from all devices", description = "Invalida todos os access tokens já emitidos para o usuário e revoga seus refresh tokens.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "OK"),
+      @ApiResponse(responseCode = "401", description = "Unauthorized",
+          content = @Content(schema = @Schema(implementation = ApiError.class)))
+  })
+  @PostMapping("/logout-all")
+  @SqlBudget(5)
+  public ResponseEntity<Void> logoutAll(HttpServletRequest request) {
+    authService.logoutAll(request);
+    return ResponseEntity.ok().build();
+  }
 }
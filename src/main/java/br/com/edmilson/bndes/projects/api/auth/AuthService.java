@@ -4,6 +4,7 @@ import br.com.edmilson.bndes.projects.api.auth.dto.AuthResponse;
 import br.com.edmilson.bndes.projects.api.auth.dto.LoginRequest;
 import br.com.edmilson.bndes.projects.api.auth.dto.RefreshRequest;
 import br.com.edmilson.bndes.projects.api.auth.dto.RegisterRequest;
+import br.com.edmilson.bndes.projects.api.exception.ServiceUnavailableException;
 import br.com.edmilson.bndes.projects.api.exception.UnauthorizedException;
 import br.com.edmilson.bndes.projects.api.exception.ValidationException;
 import br.com.edmilson.bndes.projects.api.messages.ApiMessages;
@@ -13,18 +14,21 @@ import br.com.edmilson.bndes.projects.api.model.Role;
 import br.com.edmilson.bndes.projects.api.model.User;
 import br.com.edmilson.bndes.projects.api.repository.RefreshTokenRepository;
 import br.com.edmilson.bndes.projects.api.repository.RevokedTokenRepository;
+import br.com.edmilson.bndes.projects.api.repository.RotatedRefreshToken;
 import br.com.edmilson.bndes.projects.api.repository.UserRepository;
+import br.com.edmilson.bndes.projects.api.security.AuthenticatedUser;
+import br.com.edmilson.bndes.projects.api.security.RevokedTokenIndex;
+import br.com.edmilson.bndes.projects.api.security.UserStatusCache;
 import jakarta.servlet.http.HttpServletRequest;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.SecureRandom;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.Base64;
-import java.util.HexFormat;
 import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,31 +36,49 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class AuthService {
 
+  private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
   private final UserRepository userRepository;
   private final RefreshTokenRepository refreshTokenRepository;
   private final RevokedTokenRepository revokedTokenRepository;
+  private final RevokedTokenIndex revokedTokenIndex;
+  private final UserStatusCache userStatusCache;
   private final PasswordEncoder passwordEncoder;
   private final JwtService jwtService;
 
   private final long refreshExpirationDays;
+  private final Duration refreshGrace;
+  private final RefreshTokenCodec refreshTokens;
 
   public AuthService(
       UserRepository userRepository,
       RefreshTokenRepository refreshTokenRepository,
       RevokedTokenRepository revokedTokenRepository,
+      RevokedTokenIndex revokedTokenIndex,
+      UserStatusCache userStatusCache,
       PasswordEncoder passwordEncoder,
       JwtService jwtService,
-      @Value("${app.jwt.refreshExpirationDays:7}") long refreshExpirationDays
+      @Value("${app.jwt.refreshExpirationDays:7}") long refreshExpirationDays,
+      @Value("${app.jwt.refreshGraceSeconds:10}") long refreshGraceSeconds,
+      @Value("${app.jwt.secret}") String secret
   ) {
     this.userRepository = userRepository;
     this.refreshTokenRepository = refreshTokenRepository;
     this.revokedTokenRepository = revokedTokenRepository;
+    this.revokedTokenIndex = revokedTokenIndex;
+    this.userStatusCache = userStatusCache;
     this.passwordEncoder = passwordEncoder;
     this.jwtService = jwtService;
     this.refreshExpirationDays = refreshExpirationDays;
+    this.refreshGrace = Duration.ofSeconds(refreshGraceSeconds);
+    this.refreshTokens = new RefreshTokenCodec(secret);
   }
 
-  @Transactional
+  /**
+   * Sem @Transactional de propósito (assim como login): o hash pode esperar na fila do
+   * {@link PasswordEncoder} limitado e não deve segurar conexão do pool. Cada chamada ao
+   * repositório usa a própria transação curta.
+   */
   public void register(RegisterRequest request) {
     String email = normalizeEmail(request.email());
     if (email.isBlank()) throw new ValidationException(ApiMessages.VALIDATION_ERROR);
@@ -72,13 +94,12 @@ public class AuthService {
     userRepository.save(u);
   }
 
-  @Transactional
   public AuthResponse login(LoginRequest request) {
     User user = authenticate(request.email(), request.password());
 
     String accessToken = jwtService.generateToken(
         user.getEmail(),
-        Map.of("uid", user.getId(), "role", user.getRole().name())
+        Map.of("uid", user.getId(), "role", user.getRole().name(), "gen", user.getTokenGeneration())
     );
 
     RefreshTokenPair refreshPair = issueRefreshToken(user);
@@ -92,6 +113,11 @@ public class AuthService {
     );
   }
 
+  /**
+   * Rotação atômica: um único statement revoga o token atual, grava o sucessor e traz o usuário.
+   * Dentro da janela de graça, refreshes paralelos com o mesmo token recebem o mesmo sucessor
+   * (derivado por HMAC do token antigo) em vez de falhar.
+   */
   @Transactional
   public AuthResponse refresh(RefreshRequest request) {
     String raw = (request == null) ? null : request.refreshToken();
@@ -99,61 +125,78 @@ public class AuthService {
       throw new UnauthorizedException(ApiMessages.INVALID_REFRESH_TOKEN);
     }
 
-    String hash = sha256Hex(raw);
+    Instant now = Instant.now();
+    String successorRaw = refreshTokens.successor(raw);
 
-    RefreshToken existing = refreshTokenRepository.findByTokenHash(hash)
+    RotatedRefreshToken rotated = refreshTokenRepository.rotate(
+            refreshTokens.hash(raw),
+            refreshTokens.hash(successorRaw),
+            now,
+            now.minus(refreshGrace),
+            refreshExpirationDays * 24L * 60L * 60L
+        )
         .orElseThrow(() -> new UnauthorizedException(ApiMessages.INVALID_REFRESH_TOKEN));
 
-    if (!existing.isActive()) {
-      throw new UnauthorizedException(ApiMessages.INVALID_REFRESH_TOKEN);
+    if (!Boolean.TRUE.equals(rotated.getEnabled())) {
+      throw new UnauthorizedException(ApiMessages.USER_DISABLED);
     }
 
-    // ✅ Rotação: revoga o atual
-    existing.setRevokedAt(Instant.now());
-    refreshTokenRepository.save(existing);
-
-    User user = existing.getUser();
+    String role = (rotated.getRole() == null) ? Role.USER.name() : rotated.getRole();
 
     String accessToken = jwtService.generateToken(
-        user.getEmail(),
-        Map.of("uid", user.getId(), "role", user.getRole().name())
+        rotated.getEmail(),
+        Map.of("uid", rotated.getId(), "role", role, "gen", rotated.getTokenGeneration() == null ? 0 : rotated.getTokenGeneration())
     );
 
-    RefreshTokenPair newRefresh = issueRefreshToken(user);
+    long refreshExpiresIn = Math.max(0, rotated.getSuccessorExpiresAt() - now.getEpochSecond());
 
     return new AuthResponse(
         accessToken,
         "Bearer",
         jwtService.getExpiresInSeconds(),
-        newRefresh.rawToken(),
-        newRefresh.expiresInSeconds()
+        successorRaw,
+        refreshExpiresIn
     );
   }
 
   @Transactional
   public void logout(HttpServletRequest request) {
     // ✅ revoga todos refresh tokens do usuário
-    User user = getCurrentUserFromRequest(request);
-    refreshTokenRepository.revokeAllByUserId(user.getId());
-
-    // ✅ blacklist do access token atual (JTI)
-    String auth = request.getHeader("Authorization");
-    if (auth == null || !auth.startsWith("Bearer ")) return;
+    Long userId = getCurrentUserIdFromRequest(request);
+    refreshTokenRepository.revokeAllByUserId(userId);
 
-    String token = auth.substring(7).trim();
+    // ✅ blacklist do access token atual (JTI), reaproveitando o token já verificado pelo filtro
+    ParsedToken parsed = currentToken(request);
+    if (parsed == null) return;
 
-    String jti = jwtService.extractJti(token);
-    Instant exp = jwtService.extractExpirationInstant(token);
+    String jti = parsed.jti();
+    Instant exp = parsed.expiresAt();
 
     if (jti == null || jti.isBlank() || exp == null) return;
 
-    RevokedToken rt = new RevokedToken(jti, user, exp);
+    RevokedToken rt = new RevokedToken(jti, userRepository.getReferenceById(userId), exp);
 
     try {
       revokedTokenRepository.save(rt);
     } catch (DataIntegrityViolationException ignored) {
       // já está revogado (idempotente)
     }
+
+    // ✅ propaga para o índice em memória deste nó e dos demais
+    revokedTokenIndex.revoke(jti, exp);
+  }
+
+  /**
+   * Revoga todas as sessões do usuário: incrementa users.token_generation (access tokens com claim
+   * "gen" anterior passam a ser rejeitados em O(1) pelo filtro) e revoga os refresh tokens.
+   */
+  @Transactional
+  public void logoutAll(HttpServletRequest request) {
+    Long userId = getCurrentUserIdFromRequest(request);
+
+    userRepository.incrementTokenGeneration(userId);
+    refreshTokenRepository.revokeAllByUserId(userId);
+    userStatusCache.invalidate(userId);
   }
 
   private User authenticate(String emailRaw, String passwordRaw) {
@@ -170,6 +213,18 @@ public class AuthService {
       throw new UnauthorizedException(ApiMessages.INVALID_CREDENTIALS);
     }
 
+    // hash gravado com custo abaixo do atual: regrava agora que a senha está em mãos. Melhor esforço:
+    // com o pool de hash cheio o login segue com o hash antigo e a regravação fica para o próximo.
+    if (passwordEncoder.upgradeEncoding(user.getPasswordHash())) {
+      try {
+        String upgraded = passwordEncoder.encode(passwordRaw);
+        userRepository.updatePasswordHash(user.getId(), upgraded);
+        user.setPasswordHash(upgraded);
+      } catch (ServiceUnavailableException e) {
+        log.debug("Password rehash skipped for user {}: hash pool busy.", user.getId());
+      }
+    }
+
     if (user.getRole() == null) user.setRole(Role.USER);
 
     return user;
@@ -185,9 +240,28 @@ public class AuthService {
         .orElseThrow(() -> new UnauthorizedException(ApiMessages.UNAUTHORIZED));
   }
 
+  private Long getCurrentUserIdFromRequest(HttpServletRequest request) {
+    if (request.getUserPrincipal() instanceof Authentication auth
+        && auth.getPrincipal() instanceof AuthenticatedUser principal) {
+      return principal.id();
+    }
+    return getCurrentUserFromRequest(request).getId();
+  }
+
+  private ParsedToken currentToken(HttpServletRequest request) {
+    if (request.getAttribute(ParsedToken.REQUEST_ATTRIBUTE) instanceof ParsedToken parsed) {
+      return parsed;
+    }
+
+    String auth = request.getHeader("Authorization");
+    if (auth == null || !auth.startsWith("Bearer ")) return null;
+
+    return jwtService.parse(auth.substring(7).trim());
+  }
+
   private RefreshTokenPair issueRefreshToken(User user) {
-    String raw = generateSecureToken();
-    String hash = sha256Hex(raw);
+    String raw = refreshTokens.generate();
+    String hash = refreshTokens.hash(raw);
 
     Instant exp = Instant.now().plus(refreshExpirationDays, ChronoUnit.DAYS);
 
@@ -198,22 +272,6 @@ public class AuthService {
     return new RefreshTokenPair(raw, expiresInSeconds);
   }
 
-  private String generateSecureToken() {
-    byte[] bytes = new byte[32];
-    new SecureRandom().nextBytes(bytes);
-    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
-  }
-
-  private String sha256Hex(String input) {
-    try {
-      MessageDigest md = MessageDigest.getInstance("SHA-256");
-      byte[] hash = md.digest(input.getBytes(StandardCharsets.UTF_8));
-      return HexFormat.of().formatHex(hash);
-    } catch (Exception e) {
-      throw new IllegalStateException("Failed to hash token.", e);
-    }
-  }
-
   private String normalizeEmail(String email) {
     return email == null ? "" : email.trim().toLowerCase();
   }
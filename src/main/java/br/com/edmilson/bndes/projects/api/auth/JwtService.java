@@ -1,6 +1,7 @@
 package br.com.edmilson.bndes.projects.api.auth;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -17,13 +18,19 @@ public class JwtService {
 
   private final SecretKey secretKey;
   private final long expirationMinutes;
+  private final JwtParser parser;
+  private final VerifiedTokenCache verifiedTokens;
 
   public JwtService(
       @Value("${app.jwt.secret}") String secret,
-      @Value("${app.jwt.expirationMinutes}") long expirationMinutes
+      @Value("${app.jwt.expirationMinutes}") long expirationMinutes,
+      @Value("${app.jwt.verifiedCacheSize:10000}") int verifiedCacheSize
   ) {
     this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
     this.expirationMinutes = expirationMinutes;
+    // JwtParser é imutável e thread-safe: construído uma única vez
+    this.parser = Jwts.parser().verifyWith(secretKey).build();
+    this.verifiedTokens = new VerifiedTokenCache(verifiedCacheSize);
   }
 
   public String generateToken(String subject, Map<String, Object> extraClaims) {
@@ -45,32 +52,43 @@ public class JwtService {
   }
 
   public Claims parseAllClaims(String token) {
-    return Jwts.parser()
-        .verifyWith(secretKey)
-        .build()
+    return parser
         .parseSignedClaims(token)
         .getPayload();
   }
 
+  /**
+   * Verifica o token no máximo uma vez por nó enquanto ele estiver em cache; chamadas seguintes
+   * com o mesmo token devolvem o resultado já verificado. Token expirado ou inválido lança
+   * as mesmas exceções de {@link #parseAllClaims(String)}.
+   */
+  public ParsedToken parse(String token) {
+    Instant now = Instant.now();
+    VerifiedTokenCache.Key key = VerifiedTokenCache.keyOf(token);
+
+    ParsedToken cached = verifiedTokens.get(key, now);
+    if (cached != null) return cached;
+
+    ParsedToken parsed = ParsedToken.from(parseAllClaims(token));
+    verifiedTokens.put(key, parsed, now);
+    return parsed;
+  }
+
   public String extractSubject(String token) {
-    return parseAllClaims(token).getSubject();
+    return parse(token).subject();
   }
 
   public String extractJti(String token) {
-    Claims claims = parseAllClaims(token);
-    Object jti = claims.get("jti");
-    return jti == null ? null : String.valueOf(jti);
+    return parse(token).jti();
   }
 
   public Instant extractExpirationInstant(String token) {
-    Claims claims = parseAllClaims(token);
-    Date exp = claims.getExpiration();
-    return (exp == null) ? null : exp.toInstant();
+    return parse(token).expiresAt();
   }
 
   public boolean isTokenValid(String token) {
     try {
-      parseAllClaims(token);
+      parse(token);
       return true;
     } catch (Exception e) {
       return false;
@@ -0,0 +1,47 @@
+package br.com.edmilson.bndes.projects.api.auth;
+
+import io.jsonwebtoken.Claims;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Access token já verificado (assinatura + exp). Criado uma vez pelo JwtAuthFilter e
+ * compartilhado com o restante da requisição (ex.: logout) via atributo do request.
+ */
+public record ParsedToken(
+    String subject,
+    String jti,
+    Long userId,
+    String role,
+    Instant issuedAt,
+    Instant expiresAt,
+    int tokenGeneration
+) {
+
+  public static final String REQUEST_ATTRIBUTE = ParsedToken.class.getName();
+
+  static ParsedToken from(Claims claims) {
+    Object uid = claims.get("uid");
+    Object jti = claims.get("jti");
+    Object role = claims.get("role");
+    Object gen = claims.get("gen");
+
+    return new ParsedToken(
+        claims.getSubject(),
+        jti == null ? null : String.valueOf(jti),
+        (uid instanceof Number n) ? n.longValue() : null,
+        role == null ? null : String.valueOf(role),
+        toInstant(claims.getIssuedAt()),
+        toInstant(claims.getExpiration()),
+        (gen instanceof Number n) ? n.intValue() : 0
+    );
+  }
+
+  public boolean isExpired(Instant now) {
+    return expiresAt != null && !expiresAt.isAfter(now);
+  }
+
+  private static Instant toInstant(Date date) {
+    return date == null ? null : date.toInstant();
+  }
+}
@@ -0,0 +1,53 @@
+package br.com.edmilson.bndes.projects.api.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Geração e hash dos refresh tokens (o banco guarda só o SHA-256 do valor opaco).
+ * Thread-safe: SecureRandom é compartilhado; Mac e MessageDigest são criados por chamada.
+ */
+final class RefreshTokenCodec {
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+  private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+  private static final HexFormat HEX = HexFormat.of();
+
+  private final SecretKeySpec successorKey;
+
+  RefreshTokenCodec(String secret) {
+    this.successorKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+  }
+
+  String generate() {
+    byte[] bytes = new byte[32];
+    RANDOM.nextBytes(bytes);
+    return BASE64URL.encodeToString(bytes);
+  }
+
+  String hash(String raw) {
+    try {
+      MessageDigest md = MessageDigest.getInstance("SHA-256");
+      return HEX.formatHex(md.digest(raw.getBytes(StandardCharsets.UTF_8)));
+    } catch (Exception e) {
+      throw new IllegalStateException("Failed to hash token.", e);
+    }
+  }
+
+  // Sucessor determinístico: qualquer nó que receba o mesmo token antigo chega ao mesmo novo token
+  String successor(String raw) {
+    try {
+      Mac mac = Mac.getInstance("HmacSHA256");
+      mac.init(successorKey);
+      byte[] out = mac.doFinal(("refresh-successor|" + raw).getBytes(StandardCharsets.UTF_8));
+      return BASE64URL.encodeToString(out);
+    } catch (Exception e) {
+      throw new IllegalStateException("Failed to derive refresh token.", e);
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package br.com.edmilson.bndes.projects.api.auth;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache limitado de tokens já verificados, indexado pelo SHA-256 do token (o token em si
+ * não fica no heap). Cada entrada vale até o exp do próprio token.
+ */
+final class VerifiedTokenCache {
+
+  private static final long PURGE_INTERVAL_MILLIS = 1_000;
+
+  private final int maxEntries;
+  private final ConcurrentHashMap<Key, ParsedToken> entries = new ConcurrentHashMap<>();
+  private final AtomicLong lastPurgeMillis = new AtomicLong();
+
+  VerifiedTokenCache(int maxEntries) {
+    this.maxEntries = maxEntries;
+  }
+
+  static Key keyOf(String token) {
+    try {
+      MessageDigest md = MessageDigest.getInstance("SHA-256");
+      ByteBuffer digest = ByteBuffer.wrap(md.digest(token.getBytes(StandardCharsets.US_ASCII)));
+      return new Key(digest.getLong(), digest.getLong(), digest.getLong(), digest.getLong());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available.", e);
+    }
+  }
+
+  ParsedToken get(Key key, Instant now) {
+    ParsedToken cached = entries.get(key);
+    if (cached == null) return null;
+
+    if (cached.isExpired(now)) {
+      entries.remove(key, cached);
+      return null;
+    }
+    return cached;
+  }
+
+  void put(Key key, ParsedToken token, Instant now) {
+    if (maxEntries <= 0 || token.expiresAt() == null) return;
+
+    if (entries.size() >= maxEntries) {
+      purgeExpired(now);
+      if (entries.size() >= maxEntries) return;
+    }
+    entries.put(key, token);
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  private void purgeExpired(Instant now) {
+    long nowMillis = now.toEpochMilli();
+    long last = lastPurgeMillis.get();
+    if (nowMillis - last < PURGE_INTERVAL_MILLIS || !lastPurgeMillis.compareAndSet(last, nowMillis)) {
+      return;
+    }
+    entries.values().removeIf(t -> t.isExpired(now));
+  }
+
+  record Key(long h0, long h1, long h2, long h3) {}
+}
@@ -0,0 +1,18 @@
+package br.com.edmilson.bndes.projects.api.cluster;
+
+/**
+ * Consumidor de um canal LISTEN/NOTIFY do Postgres.
+ * Implementações são beans; o {@link PgNotificationListener} as descobre automaticamente.
+ */
+public interface PgChannelHandler {
+
+  String channel();
+
+  void onNotification(String payload);
+
+  /**
+   * Chamado quando a conexão LISTEN é (re)estabelecida: notificações enviadas enquanto
+   * estava fora do ar foram perdidas, então o handler deve recarregar seu estado.
+   */
+  default void onResync() {}
+}
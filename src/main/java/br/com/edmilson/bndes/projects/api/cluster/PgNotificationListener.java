@@ -0,0 +1,121 @@
+package br.com.edmilson.bndes.projects.api.cluster;
+
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mantém uma conexão dedicada (fora do pool Hikari) em LISTEN nos canais dos
+ * {@link PgChannelHandler} e repassa cada NOTIFY recebido. Reconecta com backoff
+ * e pede ressincronização aos handlers a cada nova conexão.
+ */
+@Component
+public class PgNotificationListener {
+
+  private static final Logger log = LoggerFactory.getLogger(PgNotificationListener.class);
+
+  private static final int POLL_TIMEOUT_MILLIS = 5_000;
+  private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+  private final DataSourceProperties dataSourceProperties;
+  private final Map<String, List<PgChannelHandler>> handlersByChannel;
+
+  private volatile boolean running;
+  private Thread worker;
+
+  public PgNotificationListener(DataSourceProperties dataSourceProperties, List<PgChannelHandler> handlers) {
+    this.dataSourceProperties = dataSourceProperties;
+    this.handlersByChannel = handlers.stream()
+        .collect(Collectors.groupingBy(PgChannelHandler::channel, Collectors.mapping(Function.identity(), Collectors.toList())));
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void start() {
+    if (running || handlersByChannel.isEmpty()) return;
+
+    running = true;
+    worker = new Thread(this::run, "pg-notification-listener");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  @PreDestroy
+  public synchronized void stop() {
+    running = false;
+    if (worker != null) worker.interrupt();
+  }
+
+  private void run() {
+    long backoff = 1_000;
+
+    while (running) {
+      try (Connection connection = DriverManager.getConnection(
+          dataSourceProperties.determineUrl(),
+          dataSourceProperties.determineUsername(),
+          dataSourceProperties.determinePassword())) {
+
+        try (Statement st = connection.createStatement()) {
+          for (String channel : handlersByChannel.keySet()) {
+            st.execute("LISTEN " + channel);
+          }
+        }
+
+        backoff = 1_000;
+        handlersByChannel.values().forEach(list -> list.forEach(this::resync));
+
+        PGConnection pg = connection.unwrap(PGConnection.class);
+        while (running) {
+          PGNotification[] notifications = pg.getNotifications(POLL_TIMEOUT_MILLIS);
+          if (notifications == null) continue;
+
+          for (PGNotification n : notifications) {
+            dispatch(n.getName(), n.getParameter());
+          }
+        }
+
+      } catch (SQLException e) {
+        if (!running) return;
+        log.warn("LISTEN connection lost, retrying in {} ms: {}", backoff, e.getMessage());
+        try {
+          Thread.sleep(backoff);
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+      }
+    }
+  }
+
+  private void dispatch(String channel, String payload) {
+    for (PgChannelHandler handler : handlersByChannel.getOrDefault(channel, List.of())) {
+      try {
+        handler.onNotification(payload);
+      } catch (RuntimeException e) {
+        log.warn("Handler for channel {} failed: {}", channel, e.getMessage());
+      }
+    }
+  }
+
+  private void resync(PgChannelHandler handler) {
+    try {
+      handler.onResync();
+    } catch (RuntimeException e) {
+      log.warn("Resync for channel {} failed: {}", handler.channel(), e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package br.com.edmilson.bndes.projects.api.cluster;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publica em um canal NOTIFY. Dentro de uma transação, o Postgres só entrega
+ * a notificação no COMMIT (e descarta em caso de rollback).
+ */
+@Component
+public class PgNotifier {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public PgNotifier(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public void notify(String channel, String payload) {
+    jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, channel, payload);
+  }
+}
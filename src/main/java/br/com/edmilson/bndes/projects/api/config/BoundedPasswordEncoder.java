@@ -0,0 +1,101 @@
+package br.com.edmilson.bndes.projects.api.config;
+
+import br.com.edmilson.bndes.projects.api.exception.ServiceUnavailableException;
+import br.com.edmilson.bndes.projects.api.messages.ApiMessages;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Roda encode/matches num pool próprio ({@code threads} threads, fila de {@code queueCapacity}):
+ * uma rajada de logins usa no máximo esses núcleos e o excedente recebe 503 na hora, em vez de
+ * ocupar todas as threads de request e a CPU que atende /projects.
+ */
+final class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+  static final String METRIC_REJECTED = "auth.password.rejected";
+
+  private final PasswordEncoder delegate;
+  private final ThreadPoolExecutor executor;
+  private final long timeoutMillis;
+  private final Counter rejectedFull;
+  private final Counter rejectedTimeout;
+
+  BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long timeoutMillis, MeterRegistry registry) {
+    this.delegate = delegate;
+    this.timeoutMillis = timeoutMillis;
+
+    AtomicInteger seq = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(
+        threads, threads, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+        r -> {
+          Thread t = new Thread(r, "password-hash-" + seq.incrementAndGet());
+          t.setDaemon(true);
+          return t;
+        },
+        new ThreadPoolExecutor.AbortPolicy()
+    );
+
+    this.rejectedFull = Counter.builder(METRIC_REJECTED).tag("reason", "queue_full").register(registry);
+    this.rejectedTimeout = Counter.builder(METRIC_REJECTED).tag("reason", "timeout").register(registry);
+    new ExecutorServiceMetrics(executor, "password-hash", Tags.empty()).bindTo(registry);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return run(() -> delegate.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return run(() -> delegate.matches(rawPassword, encodedPassword));
+  }
+
+  // só lê o custo gravado no hash: barato, fica na thread da request
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  private <T> T run(Callable<T> task) {
+    Future<T> future;
+    try {
+      future = executor.submit(task);
+    } catch (RejectedExecutionException e) {
+      rejectedFull.increment();
+      throw new ServiceUnavailableException(ApiMessages.AUTH_BUSY);
+    }
+
+    try {
+      return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      rejectedTimeout.increment();
+      throw new ServiceUnavailableException(ApiMessages.AUTH_BUSY);
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new ServiceUnavailableException(ApiMessages.AUTH_BUSY);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException re) throw re;
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+}
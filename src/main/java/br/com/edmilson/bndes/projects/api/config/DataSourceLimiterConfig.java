@@ -0,0 +1,48 @@
+package br.com.edmilson.bndes.projects.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Liga o {@link LimitedDataSource} (app.db.limiter.enabled, por padrão junto com
+ * spring.threads.virtual.enabled). Licenças = maximum-pool-size do Hikari; a espera máxima
+ * é o connection-timeout do próprio pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.db.limiter.enabled", havingValue = "true")
+public class DataSourceLimiterConfig {
+
+  private static final Logger log = LoggerFactory.getLogger(DataSourceLimiterConfig.class);
+
+  @Bean
+  static BeanPostProcessor dataSourceLimiterPostProcessor() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        // o Hikari pode já ter vindo embrulhado (StatementCountingDataSource)
+        if (!(bean instanceof DataSource ds) || bean instanceof LimitedDataSource) return bean;
+        HikariDataSource hikari = unwrapHikari(ds);
+        if (hikari == null) return bean;
+
+        int permits = hikari.getMaximumPoolSize();
+        log.info("DataSource limiter enabled: {} permits, {} ms timeout.", permits, hikari.getConnectionTimeout());
+        return new LimitedDataSource(ds, permits, hikari.getConnectionTimeout());
+      }
+    };
+  }
+
+  static HikariDataSource unwrapHikari(DataSource ds) {
+    try {
+      return ds.isWrapperFor(HikariDataSource.class) ? ds.unwrap(HikariDataSource.class) : null;
+    } catch (SQLException e) {
+      return null;
+    }
+  }
+}
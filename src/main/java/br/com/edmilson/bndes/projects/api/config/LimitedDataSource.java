@@ -0,0 +1,118 @@
+package br.com.edmilson.bndes.projects.api.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource com um semáforo justo na frente do pool: no máximo {@code permits} conexões em uso,
+ * e quem espera é atendido em ordem de chegada. Com virtual threads, milhares de requests
+ * enfileiram aqui (barato, sem pinning) em vez de disputar a aquisição dentro do Hikari.
+ * A licença volta no {@code close()} da conexão.
+ */
+public class LimitedDataSource extends DelegatingDataSource {
+
+  public record Stats(int permits, int available, int waiting, long acquired, long timeouts) {}
+
+  private final Semaphore semaphore;
+  private final int permits;
+  private final long timeoutMillis;
+
+  private final LongAdder acquired = new LongAdder();
+  private final LongAdder timeouts = new LongAdder();
+
+  public LimitedDataSource(DataSource target, int permits, long timeoutMillis) {
+    super(target);
+    this.permits = permits;
+    this.timeoutMillis = timeoutMillis;
+    this.semaphore = new Semaphore(permits, true);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    acquire();
+    try {
+      return guard(super.getConnection());
+    } catch (SQLException | RuntimeException e) {
+      semaphore.release();
+      throw e;
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    acquire();
+    try {
+      return guard(super.getConnection(username, password));
+    } catch (SQLException | RuntimeException e) {
+      semaphore.release();
+      throw e;
+    }
+  }
+
+  public Stats stats() {
+    return new Stats(permits, semaphore.availablePermits(), semaphore.getQueueLength(), acquired.sum(), timeouts.sum());
+  }
+
+  private void acquire() throws SQLException {
+    try {
+      if (!semaphore.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+        timeouts.increment();
+        throw new SQLTransientConnectionException(
+            "Timed out after " + timeoutMillis + " ms waiting for a database connection permit.");
+      }
+      acquired.increment();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException("Interrupted while waiting for a database connection permit.", e);
+    }
+  }
+
+  private Connection guard(Connection target) {
+    return (Connection) Proxy.newProxyInstance(
+        Connection.class.getClassLoader(),
+        new Class<?>[] {Connection.class},
+        new ReleaseOnClose(target, semaphore)
+    );
+  }
+
+  // devolve a licença uma única vez, mesmo com close() repetido
+  private static final class ReleaseOnClose implements InvocationHandler {
+
+    private final Connection target;
+    private final Semaphore semaphore;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    ReleaseOnClose(Connection target, Semaphore semaphore) {
+      this.target = target;
+      this.semaphore = semaphore;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      String name = method.getName();
+      if (name.equals("equals")) return proxy == args[0];
+      if (name.equals("hashCode")) return System.identityHashCode(proxy);
+
+      try {
+        return method.invoke(target, args);
+      } catch (InvocationTargetException e) {
+        throw e.getTargetException();
+      } finally {
+        if (name.equals("close") && released.compareAndSet(false, true)) {
+          semaphore.release();
+        }
+      }
+    }
+  }
+}
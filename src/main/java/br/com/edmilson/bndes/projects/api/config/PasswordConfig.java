@@ -1,15 +1,77 @@
 package br.com.edmilson.bndes.projects.api.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCrypt;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+/**
+ * BCrypt com custo calibrado na subida (app.security.password.targetHashMillis nesta máquina) ou
+ * fixo (strength), rodando no pool limitado do {@link BoundedPasswordEncoder}. Hashes com custo
+ * menor que o atual são regravados no próximo login (upgradeEncoding).
+ */
 @Configuration
 public class PasswordConfig {
 
+  private static final Logger log = LoggerFactory.getLogger(PasswordConfig.class);
+
+  private static final String CALIBRATION_PASSWORD = "Calibration@1234";
+
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(
+      MeterRegistry meterRegistry,
+      @Value("${app.security.password.strength:0}") int strength,
+      @Value("${app.security.password.targetHashMillis:250}") long targetMillis,
+      @Value("${app.security.password.minStrength:10}") int minStrength,
+      @Value("${app.security.password.maxStrength:14}") int maxStrength,
+      @Value("${app.security.password.hashThreads:0}") int threads,
+      @Value("${app.security.password.hashQueueCapacity:64}") int queueCapacity,
+      @Value("${app.security.password.hashTimeoutMillis:5000}") long timeoutMillis
+  ) {
+    int cost = (strength > 0) ? strength : calibrate(targetMillis, minStrength, maxStrength);
+    int poolSize = (threads > 0) ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    log.info("Password hashing: BCrypt cost {}, {} threads, queue {}.", cost, poolSize, queueCapacity);
+    Gauge.builder("auth.password.strength", () -> cost).register(meterRegistry);
+
+    return new BoundedPasswordEncoder(
+        new TimedPasswordEncoder(new BCryptPasswordEncoder(cost), meterRegistry),
+        poolSize,
+        queueCapacity,
+        timeoutMillis,
+        meterRegistry
+    );
+  }
+
+  /**
+   * Mede o hash no custo mínimo (melhor de 3, após aquecimento) e sobe um ponto de custo para cada
+   * vez que o tempo ainda cabe dobrado no alvo; cada ponto dobra o trabalho do BCrypt.
+   */
+  static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+    String salt = BCrypt.gensalt(minStrength);
+    BCrypt.hashpw(CALIBRATION_PASSWORD, salt);
+
+    long best = Long.MAX_VALUE;
+    for (int i = 0; i < 3; i++) {
+      long start = System.nanoTime();
+      BCrypt.hashpw(CALIBRATION_PASSWORD, salt);
+      best = Math.min(best, System.nanoTime() - start);
+    }
+
+    long targetNanos = targetMillis * 1_000_000L;
+    int cost = minStrength;
+    while (cost < maxStrength && best * 2 <= targetNanos) {
+      best *= 2;
+      cost++;
+    }
+
+    log.info("BCrypt calibration: cost {} takes ~{} ms here (target {} ms).", cost, best / 1_000_000L, targetMillis);
+    return cost;
   }
 }
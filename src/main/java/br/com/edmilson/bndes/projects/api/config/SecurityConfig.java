@@ -3,7 +3,9 @@ package br.com.edmilson.bndes.projects.api.config;
 import br.com.edmilson.bndes.projects.api.exception.ApiError;
 import br.com.edmilson.bndes.projects.api.messages.ApiMessages;
 import br.com.edmilson.bndes.projects.api.security.JwtAuthFilter;
+import br.com.edmilson.bndes.projects.api.security.MetricsScrapeAccess;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.DispatcherType;
 import java.time.Instant;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -24,15 +26,18 @@ public class SecurityConfig {
   private final JwtAuthFilter jwtAuthFilter;
   private final CorsConfigurationSource corsConfigurationSource;
   private final ObjectMapper objectMapper;
+  private final MetricsScrapeAccess metricsScrapeAccess;
 
   public SecurityConfig(
       JwtAuthFilter jwtAuthFilter,
       CorsConfigurationSource corsConfigurationSource,
-      ObjectMapper objectMapper
+      ObjectMapper objectMapper,
+      MetricsScrapeAccess metricsScrapeAccess
   ) {
     this.jwtAuthFilter = jwtAuthFilter;
     this.corsConfigurationSource = corsConfigurationSource;
     this.objectMapper = objectMapper;
+    this.metricsScrapeAccess = metricsScrapeAccess;
   }
 
   @Bean
@@ -50,12 +55,20 @@ public class SecurityConfig {
         )
       )
       .authorizeHttpRequests(auth -> auth
+        // Exportação (StreamingResponseBody) termina num dispatch ASYNC sem SecurityContext (stateless):
+        // a request original já foi autorizada, então o dispatch de conclusão não é barrado.
+        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
-        .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html", "/health").permitAll()
+        .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html", "/health", "/health/**").permitAll()
+
+        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+
+        // ✅ Métricas: ADMIN ou credencial de scrape (HTTP Basic), nunca anônimo
+        .requestMatchers("/actuator/prometheus").access(metricsScrapeAccess)
 
         // ✅ Auth público (exceto logout)
         .requestMatchers("/auth/login", "/auth/register", "/auth/refresh").permitAll()
-        .requestMatchers("/auth/logout").authenticated()
+        .requestMatchers("/auth/logout", "/auth/logout-all").authenticated()
 
         .anyRequest().authenticated()
       )
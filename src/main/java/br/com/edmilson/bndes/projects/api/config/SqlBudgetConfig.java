@@ -0,0 +1,52 @@
+package br.com.edmilson.bndes.projects.api.config;
+
+import br.com.edmilson.bndes.projects.api.monitoring.SqlBudgetFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Locale;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Liga a contagem de statements por request (app.sql.budget.mode = log | fail; off desliga tudo,
+ * inclusive o proxy JDBC). O filtro roda antes do Spring Security para contar também a consulta
+ * de status do usuário feita pelo JwtAuthFilter.
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.sql.budget.mode:log}'.equalsIgnoreCase('off')")
+public class SqlBudgetConfig {
+
+  @Bean
+  static BeanPostProcessor statementCountingPostProcessor() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource ds) || bean instanceof StatementCountingDataSource) return bean;
+        return (DataSourceLimiterConfig.unwrapHikari(ds) != null) ? new StatementCountingDataSource(ds) : bean;
+      }
+    };
+  }
+
+  @Bean
+  FilterRegistrationBean<SqlBudgetFilter> sqlBudgetFilter(
+      MeterRegistry meterRegistry,
+      @Value("${app.sql.budget.mode:log}") String mode,
+      @Value("${app.sql.budget.default:20}") int defaultBudget,
+      @Value("${app.sql.budget.repeatThreshold:5}") int repeatThreshold
+  ) {
+    SqlBudgetFilter filter = new SqlBudgetFilter(
+        meterRegistry,
+        SqlBudgetFilter.Mode.valueOf(mode.toUpperCase(Locale.ROOT)),
+        defaultBudget,
+        repeatThreshold
+    );
+    FilterRegistrationBean<SqlBudgetFilter> registration = new FilterRegistrationBean<>(filter);
+    registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+    return registration;
+  }
+}
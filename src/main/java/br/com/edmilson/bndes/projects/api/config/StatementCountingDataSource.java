@@ -0,0 +1,102 @@
+package br.com.edmilson.bndes.projects.api.config;
+
+import br.com.edmilson.bndes.projects.api.monitoring.SqlStatementCounter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource que registra cada execução de statement no {@link SqlStatementCounter}. Por ficar
+ * no nível JDBC, pega Hibernate e JdbcTemplate igualmente. Um executeBatch conta como um
+ * round-trip, não como um por linha.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+  public StatementCountingDataSource(DataSource target) {
+    super(target);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return wrap(super.getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return wrap(super.getConnection(username, password));
+  }
+
+  private static Connection wrap(Connection target) {
+    return (Connection) Proxy.newProxyInstance(
+        Connection.class.getClassLoader(),
+        new Class<?>[] {Connection.class},
+        new CountingConnection(target)
+    );
+  }
+
+  // createStatement / prepareStatement / prepareCall devolvem statements que contam os execute*
+  private static final class CountingConnection implements InvocationHandler {
+
+    private final Connection target;
+
+    CountingConnection(Connection target) {
+      this.target = target;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      String name = method.getName();
+      if (name.equals("equals")) return proxy == args[0];
+      if (name.equals("hashCode")) return System.identityHashCode(proxy);
+
+      Object result = call(target, method, args);
+      if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+        String sql = (args != null && args.length > 0 && args[0] instanceof String s) ? s : null;
+        return Proxy.newProxyInstance(
+            Statement.class.getClassLoader(),
+            new Class<?>[] {method.getReturnType()},
+            new CountingStatement(statement, sql)
+        );
+      }
+      return result;
+    }
+  }
+
+  private static final class CountingStatement implements InvocationHandler {
+
+    private final Statement target;
+    private final String preparedSql;
+
+    CountingStatement(Statement target, String preparedSql) {
+      this.target = target;
+      this.preparedSql = preparedSql;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      String name = method.getName();
+      if (name.equals("equals")) return proxy == args[0];
+      if (name.equals("hashCode")) return System.identityHashCode(proxy);
+
+      if (name.startsWith("execute")) {
+        String sql = (args != null && args.length > 0 && args[0] instanceof String s) ? s : preparedSql;
+        SqlStatementCounter.record(sql);
+      }
+      return call(target, method, args);
+    }
+  }
+
+  private static Object call(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getTargetException();
+    }
+  }
+}
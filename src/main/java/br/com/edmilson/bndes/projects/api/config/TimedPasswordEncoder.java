@@ -0,0 +1,36 @@
+package br.com.edmilson.bndes.projects.api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/** Mede o tempo de hash/verificação (BCrypt) em {@code auth.password}, tag {@code op}. */
+final class TimedPasswordEncoder implements PasswordEncoder {
+
+  static final String METRIC = "auth.password";
+
+  private final PasswordEncoder delegate;
+  private final Timer encodeTimer;
+  private final Timer matchesTimer;
+
+  TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry registry) {
+    this.delegate = delegate;
+    this.encodeTimer = Timer.builder(METRIC).tag("op", "encode").register(registry);
+    this.matchesTimer = Timer.builder(METRIC).tag("op", "matches").register(registry);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return encodeTimer.record(() -> delegate.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+}
@@ -7,9 +7,12 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -78,6 +81,15 @@ public class GlobalExceptionHandler {
     return build(HttpStatus.FORBIDDEN, ex.getMessage(), request.getRequestURI(), null);
   }
 
+  // @PreAuthorize nega dentro do controller: sem este handler cairia no Exception genérico (500)
+  @ExceptionHandler(AccessDeniedException.class)
+  public ResponseEntity<ApiError> handleAccessDenied(
+      AccessDeniedException ex,
+      HttpServletRequest request
+  ) {
+    return build(HttpStatus.FORBIDDEN, ApiMessages.ACCESS_DENIED, request.getRequestURI(), null);
+  }
+
   @ExceptionHandler(ResourceNotFoundException.class)
   public ResponseEntity<ApiError> handleNotFound(
       ResourceNotFoundException ex,
@@ -86,6 +98,33 @@ public class GlobalExceptionHandler {
     return build(HttpStatus.NOT_FOUND, ex.getMessage(), request.getRequestURI(), null);
   }
 
+  @ExceptionHandler(PreconditionFailedException.class)
+  public ResponseEntity<ApiError> handlePreconditionFailed(
+      PreconditionFailedException ex,
+      HttpServletRequest request
+  ) {
+    return build(HttpStatus.PRECONDITION_FAILED, ex.getMessage(), request.getRequestURI(), null);
+  }
+
+  // @Version: outra escrita passou na frente entre a leitura e o UPDATE
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ResponseEntity<ApiError> handleOptimisticLock(
+      OptimisticLockingFailureException ex,
+      HttpServletRequest request
+  ) {
+    return build(HttpStatus.PRECONDITION_FAILED, ApiMessages.PROJECT_VERSION_MISMATCH, request.getRequestURI(), null);
+  }
+
+  // fila de hash de senha cheia: recusa rápida, o cliente tenta de novo
+  @ExceptionHandler(ServiceUnavailableException.class)
+  public ResponseEntity<ApiError> handleServiceUnavailable(
+      ServiceUnavailableException ex,
+      HttpServletRequest request
+  ) {
+    ResponseEntity<ApiError> res = build(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request.getRequestURI(), null);
+    return ResponseEntity.status(res.getStatusCode()).header(HttpHeaders.RETRY_AFTER, "1").body(res.getBody());
+  }
+
   @ExceptionHandler(DataIntegrityViolationException.class)
   public ResponseEntity<ApiError> handleConflict(
       DataIntegrityViolationException ex,
@@ -0,0 +1,8 @@
+package br.com.edmilson.bndes.projects.api.exception;
+
+public class PreconditionFailedException extends BusinessException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
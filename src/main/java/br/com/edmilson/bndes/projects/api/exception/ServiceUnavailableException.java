@@ -0,0 +1,8 @@
+package br.com.edmilson.bndes.projects.api.exception;
+
+public class ServiceUnavailableException extends BusinessException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,151 @@
+package br.com.edmilson.bndes.projects.api.maintenance;
+
+import br.com.edmilson.bndes.projects.api.repository.RefreshTokenRepository;
+import br.com.edmilson.bndes.projects.api.repository.RevokedTokenRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Remove refresh_tokens e revoked_tokens que não servem mais para nada.
+ *
+ * <p>Modo padrão: DELETE em lotes pequenos, cada lote na sua própria transação, para não
+ * segurar locks longos nem inchar o WAL de uma vez. Com as tabelas particionadas por
+ * expires_at (migração opcional em db/optional/partitioning), a limpeza vira DROP das
+ * partições antigas via maintain_token_partitions().
+ */
+@Component
+public class TokenPurgeJob {
+
+  private static final Logger log = LoggerFactory.getLogger(TokenPurgeJob.class);
+
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final RevokedTokenRepository revokedTokenRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  private final boolean enabled;
+  private final boolean partitioned;
+  private final int batchSize;
+  private final int maxBatchesPerRun;
+  private final Duration revokedRetention;
+
+  private final ReentrantLock running = new ReentrantLock();
+  private final AtomicReference<TokenPurgeStats> lastRun = new AtomicReference<>();
+
+  public TokenPurgeJob(
+      RefreshTokenRepository refreshTokenRepository,
+      RevokedTokenRepository revokedTokenRepository,
+      JdbcTemplate jdbcTemplate,
+      TransactionTemplate transactionTemplate,
+      @Value("${app.tokens.purge.enabled:true}") boolean enabled,
+      @Value("${app.tokens.purge.partitioned:false}") boolean partitioned,
+      @Value("${app.tokens.purge.batchSize:1000}") int batchSize,
+      @Value("${app.tokens.purge.maxBatchesPerRun:100}") int maxBatchesPerRun,
+      @Value("${app.tokens.purge.revokedRetentionHours:24}") long revokedRetentionHours
+  ) {
+    this.refreshTokenRepository = refreshTokenRepository;
+    this.revokedTokenRepository = revokedTokenRepository;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.enabled = enabled;
+    this.partitioned = partitioned;
+    this.batchSize = batchSize;
+    this.maxBatchesPerRun = maxBatchesPerRun;
+    this.revokedRetention = Duration.ofHours(revokedRetentionHours);
+  }
+
+  // Particionado: garante as partições dos próximos meses logo na subida
+  @EventListener(ApplicationReadyEvent.class)
+  public void onStartup() {
+    if (enabled && partitioned) runNow();
+  }
+
+  @Scheduled(
+      fixedDelayString = "${app.tokens.purge.intervalMillis:300000}",
+      initialDelayString = "${app.tokens.purge.initialDelayMillis:60000}"
+  )
+  public void scheduledRun() {
+    if (enabled) runNow();
+  }
+
+  /** Executa a limpeza agora; se já houver uma execução em andamento, devolve o último resultado. */
+  public TokenPurgeStats runNow() {
+    if (!running.tryLock()) return lastRun.get();
+
+    try {
+      Instant startedAt = Instant.now();
+      long start = System.nanoTime();
+
+      TokenPurgeStats stats = partitioned
+          ? dropExpiredPartitions(startedAt, start)
+          : deleteInBatches(startedAt, start);
+
+      lastRun.set(stats);
+      log.info("Token purge ({}) removed {} refresh tokens and {} revoked tokens in {} ms.",
+          stats.mode(), stats.refreshTokensRemoved(), stats.revokedTokensRemoved(), stats.durationMillis());
+      return stats;
+
+    } catch (RuntimeException e) {
+      log.warn("Token purge failed: {}", e.getMessage());
+      throw e;
+    } finally {
+      running.unlock();
+    }
+  }
+
+  public TokenPurgeStats lastRun() {
+    return lastRun.get();
+  }
+
+  private TokenPurgeStats deleteInBatches(Instant startedAt, long start) {
+    Instant revokedBefore = startedAt.minus(revokedRetention);
+
+    long refresh = drain(() -> refreshTokenRepository.deleteExpiredBatch(startedAt, revokedBefore, batchSize));
+    long revoked = drain(() -> revokedTokenRepository.deleteExpiredBatch(startedAt, batchSize));
+
+    return new TokenPurgeStats(startedAt, elapsedMillis(start), "batch-delete", refresh, revoked, 0);
+  }
+
+  private long drain(IntSupplier deleteBatch) {
+    long total = 0;
+    for (int i = 0; i < maxBatchesPerRun; i++) {
+      Integer deleted = transactionTemplate.execute(status -> deleteBatch.getAsInt());
+      int n = (deleted == null) ? 0 : deleted;
+      total += n;
+      if (n < batchSize) break;
+    }
+    return total;
+  }
+
+  private TokenPurgeStats dropExpiredPartitions(Instant startedAt, long start) {
+    long[] totals = new long[3];
+
+    jdbcTemplate.query(
+        "SELECT table_name, partitions_dropped, rows_dropped FROM maintain_token_partitions(?::interval)",
+        rs -> {
+          boolean refresh = "refresh_tokens".equals(rs.getString("table_name"));
+          totals[refresh ? 0 : 1] += rs.getLong("rows_dropped");
+          totals[2] += rs.getInt("partitions_dropped");
+        },
+        revokedRetention.toHours() + " hours"
+    );
+
+    return new TokenPurgeStats(startedAt, elapsedMillis(start), "drop-partitions", totals[0], totals[1], (int) totals[2]);
+  }
+
+  private long elapsedMillis(long startNanos) {
+    return (System.nanoTime() - startNanos) / 1_000_000;
+  }
+}
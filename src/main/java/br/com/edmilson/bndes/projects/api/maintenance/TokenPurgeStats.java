@@ -0,0 +1,13 @@
+package br.com.edmilson.bndes.projects.api.maintenance;
+
+import java.time.Instant;
+
+/** Resultado de uma execução da limpeza de refresh_tokens / revoked_tokens. */
+public record TokenPurgeStats(
+    Instant startedAt,
+    long durationMillis,
+    String mode,
+    long refreshTokensRemoved,
+    long revokedTokensRemoved,
+    int partitionsDropped
+) {}
@@ -13,9 +13,23 @@ public final class ApiMessages {
   public static final String INVALID_CREDENTIALS = "Invalid credentials.";
   public static final String USER_DISABLED = "User is disabled.";
   public static final String USER_ALREADY_EXISTS = "User already exists.";
+  public static final String USER_NOT_FOUND = "User not found.";
+  public static final String AUTH_BUSY = "Too many authentication requests. Try again shortly.";
 
   public static final String PROJECT_NOT_FOUND = "Project not found.";
   public static final String PROJECT_ACCESS_FORBIDDEN = "You do not have permission to access this project.";
+  public static final String PROJECT_VERSION_MISMATCH = "Project was modified by another request.";
+  public static final String INVALID_CURSOR = "Invalid cursor.";
+  public static final String CURSOR_SORT_UNSUPPORTED = "Cursor pagination supports sorting by id or createdAt only.";
+  public static final String CURSOR_SEARCH_UNSUPPORTED = "Cursor pagination is not available for full-text search.";
+  public static final String INVALID_COUNT_MODE = "count must be one of: exact, window, none.";
+  public static final String INVALID_FIELDS = "fields must be a comma-separated list of: id, name, description, value, active, startDate, endDate, createdAt, updatedAt.";
+  public static final String INVALID_SORT = "sort must be one of: id, name, description, value, active, startDate, endDate, createdAt, updatedAt.";
+  public static final String INVALID_PAGE_SIZE = "size must be between 1 and 100.";
+  public static final String BATCH_EMPTY = "Batch must contain at least one item.";
+  public static final String BATCH_TOO_LARGE = "Batch exceeds the maximum number of items.";
+  public static final String IMPORT_INVALID_HEADER = "CSV header must include: name, description, value, startDate.";
+  public static final String IMPORT_READ_FAILED = "Failed to read CSV body.";
 
   public static final String RESOURCE_ALREADY_EXISTS = "Resource already exists.";
 
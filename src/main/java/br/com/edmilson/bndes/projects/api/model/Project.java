@@ -6,6 +6,11 @@ import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
+@SqlResultSetMapping(
+    name = Project.WITH_TOTAL_COUNT_MAPPING,
+    entities = @EntityResult(entityClass = Project.class),
+    columns = @ColumnResult(name = "total_count", type = Long.class)
+)
 @Table(
     name = "projects",
     indexes = {
@@ -16,8 +21,12 @@ import java.time.LocalDate;
 )
 public class Project {
 
+  public static final String WITH_TOTAL_COUNT_MAPPING = "ProjectWithTotalCount";
+
+  // Sequence com pool de 50 ids: IDENTITY desliga o batch de INSERT do Hibernate
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "projects_id_seq")
+  @SequenceGenerator(name = "projects_id_seq", sequenceName = "projects_id_seq", allocationSize = 50)
   private Long id;
   
   @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -51,6 +60,10 @@ public class Project {
   @Column(name = "deleted_at")
   private Instant deletedAt;
 
+  @Version
+  @Column(nullable = false)
+  private Long version;
+
   public Project() {}
 
   @PrePersist
@@ -103,4 +116,6 @@ public class Project {
 
   public Instant getDeletedAt() { return deletedAt; }
   public void setDeletedAt(Instant deletedAt) { this.deletedAt = deletedAt; }
+
+  public Long getVersion() { return version; }
 }
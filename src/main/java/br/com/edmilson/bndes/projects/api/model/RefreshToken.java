@@ -27,6 +27,10 @@ public class RefreshToken {
   @Column(name = "revoked_at")
   private Instant revokedAt;
 
+  // hash do sucessor quando revogado por rotação; nulo quando revogado por logout
+  @Column(name = "replaced_by", length = 128)
+  private String replacedBy;
+
   public RefreshToken() {}
 
   public RefreshToken(User user, String tokenHash, Instant expiresAt) {
@@ -54,4 +58,7 @@ public class RefreshToken {
 
   public Instant getRevokedAt() { return revokedAt; }
   public void setRevokedAt(Instant revokedAt) { this.revokedAt = revokedAt; }
+
+  public String getReplacedBy() { return replacedBy; }
+  public void setReplacedBy(String replacedBy) { this.replacedBy = replacedBy; }
 }
@@ -40,6 +40,9 @@ public class User {
   @Column(name = "updated_at")
   private Instant updatedAt;
 
+  @Column(name = "token_generation", nullable = false)
+  private int tokenGeneration;
+
   @OneToMany(mappedBy = "user", fetch = FetchType.LAZY)
   private List<Project> projects = new ArrayList<>();
 
@@ -85,6 +88,9 @@ public class User {
   public Instant getUpdatedAt() { return updatedAt; }
   public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
 
+  public int getTokenGeneration() { return tokenGeneration; }
+  public void setTokenGeneration(int tokenGeneration) { this.tokenGeneration = tokenGeneration; }
+
   public List<Project> getProjects() { return projects; }
   public void setProjects(List<Project> projects) { this.projects = projects; }
 }
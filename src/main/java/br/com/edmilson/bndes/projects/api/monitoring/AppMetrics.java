@@ -0,0 +1,88 @@
+package br.com.edmilson.bndes.projects.api.monitoring;
+
+import br.com.edmilson.bndes.projects.api.config.LimitedDataSource;
+import br.com.edmilson.bndes.projects.api.maintenance.TokenPurgeJob;
+import br.com.edmilson.bndes.projects.api.maintenance.TokenPurgeStats;
+import br.com.edmilson.bndes.projects.api.projects.ProjectReadCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.sql.SQLException;
+import java.util.function.ToDoubleFunction;
+import javax.sql.DataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publica no /actuator/prometheus os contadores que já existem em memória (cache de projetos,
+ * limitador de conexões, última limpeza de tokens). Nada é contado de novo: os meters só leem
+ * os valores na hora do scrape.
+ */
+@Component
+public class AppMetrics implements MeterBinder {
+
+  private final ProjectReadCache projectReadCache;
+  private final TokenPurgeJob tokenPurgeJob;
+  private final DataSource dataSource;
+
+  public AppMetrics(ProjectReadCache projectReadCache, TokenPurgeJob tokenPurgeJob, DataSource dataSource) {
+    this.projectReadCache = projectReadCache;
+    this.tokenPurgeJob = tokenPurgeJob;
+    this.dataSource = dataSource;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    bindProjectCache(registry);
+    bindTokenPurge(registry);
+    bindDbLimiter(registry);
+  }
+
+  private void bindProjectCache(MeterRegistry registry) {
+    FunctionCounter.builder("app.project.cache.requests", projectReadCache, c -> c.stats().hits())
+        .tag("result", "hit").register(registry);
+    FunctionCounter.builder("app.project.cache.requests", projectReadCache, c -> c.stats().misses())
+        .tag("result", "miss").register(registry);
+    FunctionCounter.builder("app.project.cache.evictions", projectReadCache, c -> c.stats().evictions())
+        .register(registry);
+    FunctionCounter.builder("app.project.cache.invalidations", projectReadCache, c -> c.stats().invalidations())
+        .register(registry);
+    Gauge.builder("app.project.cache.size", projectReadCache, c -> c.stats().size())
+        .register(registry);
+  }
+
+  private void bindTokenPurge(MeterRegistry registry) {
+    lastPurge(registry, "app.tokens.purge.last.duration", "milliseconds", null, TokenPurgeStats::durationMillis);
+    lastPurge(registry, "app.tokens.purge.last.started", "seconds", null, s -> s.startedAt().getEpochSecond());
+    lastPurge(registry, "app.tokens.purge.last.removed", null, "refresh_tokens", TokenPurgeStats::refreshTokensRemoved);
+    lastPurge(registry, "app.tokens.purge.last.removed", null, "revoked_tokens", TokenPurgeStats::revokedTokensRemoved);
+  }
+
+  // NaN até a primeira execução
+  private void lastPurge(MeterRegistry registry, String name, String unit, String table,
+                         ToDoubleFunction<TokenPurgeStats> value) {
+    Gauge.Builder<TokenPurgeJob> gauge = Gauge.builder(name, tokenPurgeJob, job -> {
+      TokenPurgeStats last = job.lastRun();
+      return (last == null) ? Double.NaN : value.applyAsDouble(last);
+    });
+    if (unit != null) gauge.baseUnit(unit);
+    if (table != null) gauge.tag("table", table);
+    gauge.register(registry);
+  }
+
+  private void bindDbLimiter(MeterRegistry registry) {
+    LimitedDataSource limiter;
+    try {
+      if (!dataSource.isWrapperFor(LimitedDataSource.class)) return;
+      limiter = dataSource.unwrap(LimitedDataSource.class);
+    } catch (SQLException e) {
+      return;
+    }
+
+    Gauge.builder("app.db.limiter.permits", limiter, l -> l.stats().permits()).register(registry);
+    Gauge.builder("app.db.limiter.available", limiter, l -> l.stats().available()).register(registry);
+    Gauge.builder("app.db.limiter.waiting", limiter, l -> l.stats().waiting()).register(registry);
+    FunctionCounter.builder("app.db.limiter.acquired", limiter, l -> l.stats().acquired()).register(registry);
+    FunctionCounter.builder("app.db.limiter.timeouts", limiter, l -> l.stats().timeouts()).register(registry);
+  }
+}
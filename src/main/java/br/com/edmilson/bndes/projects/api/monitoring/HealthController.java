@@ -1,6 +1,11 @@
 package br.com.edmilson.bndes.projects.api.monitoring;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import java.util.Map;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -9,9 +14,42 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/health")
 public class HealthController {
 
+  private final ReadinessChecker readinessChecker;
+
+  public HealthController(ReadinessChecker readinessChecker) {
+    this.readinessChecker = readinessChecker;
+  }
+
   @Operation(summary = "Healthcheck API")
   @GetMapping(produces = "text/plain")
   public String health() {
     return "OK";
   }
+
+  @Operation(summary = "Liveness probe: o processo responde (não depende do banco)")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "UP"),
+      @ApiResponse(responseCode = "503", description = "DOWN")
+  })
+  @GetMapping("/live")
+  public ResponseEntity<Map<String, String>> live() {
+    boolean live = readinessChecker.isLive();
+    return ResponseEntity.status(live ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+        .body(Map.of("status", live ? "UP" : "DOWN"));
+  }
+
+  @Operation(
+      summary = "Readiness probe: banco, migrações, pool e subida, lidos da última verificação em background",
+      description = "Público: só status e UP/DOWN por verificação. Detalhes e erros em GET /ops/readiness (ADMIN)."
+  )
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Pronto para receber tráfego"),
+      @ApiResponse(responseCode = "503", description = "Não pronto (ver checks)")
+  })
+  @GetMapping("/ready")
+  public ResponseEntity<ReadinessReport.Summary> ready() {
+    ReadinessReport.Summary summary = readinessChecker.summary();
+    return ResponseEntity.status("UP".equals(summary.status()) ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+        .body(summary);
+  }
 }
@@ -0,0 +1,122 @@
+package br.com.edmilson.bndes.projects.api.monitoring;
+
+import br.com.edmilson.bndes.projects.api.config.LimitedDataSource;
+import br.com.edmilson.bndes.projects.api.exception.ApiError;
+import br.com.edmilson.bndes.projects.api.maintenance.TokenPurgeJob;
+import br.com.edmilson.bndes.projects.api.maintenance.TokenPurgeStats;
+import br.com.edmilson.bndes.projects.api.projects.ProjectReadCache;
+import br.com.edmilson.bndes.projects.api.projects.ProjectStatsService;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectStatsRebuildResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/ops")
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Ops", description = "Endpoints operacionais (somente ADMIN)")
+@SecurityRequirement(name = "bearerAuth")
+public class OpsController {
+
+  private final TokenPurgeJob tokenPurgeJob;
+  private final ProjectReadCache projectReadCache;
+  private final ProjectStatsService projectStatsService;
+  private final DataSource dataSource;
+  private final ReadinessChecker readinessChecker;
+
+  public OpsController(
+      TokenPurgeJob tokenPurgeJob,
+      ProjectReadCache projectReadCache,
+      ProjectStatsService projectStatsService,
+      DataSource dataSource,
+      ReadinessChecker readinessChecker
+  ) {
+    this.tokenPurgeJob = tokenPurgeJob;
+    this.projectReadCache = projectReadCache;
+    this.projectStatsService = projectStatsService;
+    this.dataSource = dataSource;
+    this.readinessChecker = readinessChecker;
+  }
+
+  @Operation(summary = "Full readiness report (problems, database error, migrations, pool)")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "OK"),
+      @ApiResponse(responseCode = "403", description = "Forbidden",
+          content = @Content(schema = @Schema(implementation = ApiError.class)))
+  })
+  @GetMapping("/readiness")
+  public ReadinessReport readiness() {
+    return readinessChecker.report();
+  }
+
+  @Operation(summary = "Last token purge run (rows removed and duration)")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "OK"),
+      @ApiResponse(responseCode = "204", description = "No run yet"),
+      @ApiResponse(responseCode = "403", description = "Forbidden",
+          content = @Content(schema = @Schema(implementation = ApiError.class)))
+  })
+  @GetMapping("/token-purge")
+  public ResponseEntity<TokenPurgeStats> lastTokenPurge() {
+    TokenPurgeStats stats = tokenPurgeJob.lastRun();
+    return (stats == null) ? ResponseEntity.noContent().build() : ResponseEntity.ok(stats);
+  }
+
+  @Operation(summary = "Run token purge now")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "OK"),
+      @ApiResponse(responseCode = "403", description = "Forbidden",
+          content = @Content(schema = @Schema(implementation = ApiError.class)))
+  })
+  @PostMapping("/token-purge")
+  public TokenPurgeStats runTokenPurge() {
+    return tokenPurgeJob.runNow();
+  }
+
+  @Operation(summary = "Project read cache counters (hits, misses, evictions, invalidations)")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "OK"),
+      @ApiResponse(responseCode = "403", description = "Forbidden",
+          content = @Content(schema = @Schema(implementation = ApiError.class)))
+  })
+  @GetMapping("/project-cache")
+  public ProjectReadCache.Stats projectCache() {
+    return projectReadCache.stats();
+  }
+
+  @Operation(summary = "Rebuild the project_stats rollup from projects (repair)")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "OK"),
+      @ApiResponse(responseCode = "403", description = "Forbidden",
+          content = @Content(schema = @Schema(implementation = ApiError.class)))
+  })
+  @PostMapping("/project-stats/rebuild")
+  public ProjectStatsRebuildResponse rebuildProjectStats() {
+    return projectStatsService.rebuild();
+  }
+
+  @Operation(summary = "Database connection limiter (permits, waiting threads, timeouts)")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "OK"),
+      @ApiResponse(responseCode = "204", description = "Limiter disabled"),
+      @ApiResponse(responseCode = "403", description = "Forbidden",
+          content = @Content(schema = @Schema(implementation = ApiError.class)))
+  })
+  @GetMapping("/db-limiter")
+  public ResponseEntity<LimitedDataSource.Stats> dbLimiter() throws SQLException {
+    if (!dataSource.isWrapperFor(LimitedDataSource.class)) return ResponseEntity.noContent().build();
+    return ResponseEntity.ok(dataSource.unwrap(LimitedDataSource.class).stats());
+  }
+}
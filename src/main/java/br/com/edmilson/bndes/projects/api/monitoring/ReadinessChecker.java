@@ -0,0 +1,263 @@
+package br.com.edmilson.bndes.projects.api.monitoring;
+
+import br.com.edmilson.bndes.projects.api.config.LimitedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationInfoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verifica banco (ping), migrações do Flyway e saturação do pool numa thread própria, a cada
+ * {@code app.health.checkIntervalMillis}, e guarda o resultado. /health/ready e o
+ * /actuator/health só leem esse resultado: probes de muitos pods não chegam ao Postgres.
+ *
+ * <p>Não pronto quando: a aplicação ainda não terminou de subir (ApplicationReadyEvent e
+ * carregamentos iniciais), o ping falha ou passa de {@code maxDbLatencyMillis}, há migrações
+ * pendentes/falhas, a fila por conexão passa de {@code maxPoolWaiting} ou a última verificação
+ * é mais velha que {@code staleAfterMillis} (checagem presa esperando conexão = pool esgotado).
+ */
+@Component
+public class ReadinessChecker implements HealthIndicator {
+
+  private static final Logger log = LoggerFactory.getLogger(ReadinessChecker.class);
+
+  private final DataSource dataSource;
+  private final ObjectProvider<Flyway> flyway;
+  private final ApplicationAvailability availability;
+
+  private final long intervalMillis;
+  private final long staleAfterMillis;
+  private final long maxDbLatencyMillis;
+  private final int maxPoolWaiting;
+
+  private volatile ReadinessReport last;
+  private volatile ReadinessReport.Migrations migrations;
+  private volatile boolean running;
+  private Thread worker;
+
+  public ReadinessChecker(
+      DataSource dataSource,
+      ObjectProvider<Flyway> flyway,
+      ApplicationAvailability availability,
+      @Value("${app.health.checkIntervalMillis:5000}") long intervalMillis,
+      @Value("${app.health.staleAfterMillis:30000}") long staleAfterMillis,
+      @Value("${app.health.maxDbLatencyMillis:1000}") long maxDbLatencyMillis,
+      @Value("${app.health.maxPoolWaiting:20}") int maxPoolWaiting
+  ) {
+    this.dataSource = dataSource;
+    this.flyway = flyway;
+    this.availability = availability;
+    this.intervalMillis = intervalMillis;
+    this.staleAfterMillis = staleAfterMillis;
+    this.maxDbLatencyMillis = maxDbLatencyMillis;
+    this.maxPoolWaiting = maxPoolWaiting;
+  }
+
+  // antes dos carregamentos do ApplicationReadyEvent: o estado do banco já aparece durante a subida
+  @EventListener(ApplicationStartedEvent.class)
+  public synchronized void start() {
+    if (running) return;
+
+    running = true;
+    worker = new Thread(this::run, "readiness-checker");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  @PreDestroy
+  public synchronized void stop() {
+    running = false;
+    if (worker != null) worker.interrupt();
+  }
+
+  private void run() {
+    while (running) {
+      try {
+        check();
+      } catch (RuntimeException e) {
+        log.warn("Readiness check failed: {}", e.getMessage());
+      }
+      try {
+        Thread.sleep(intervalMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  /** Uma rodada de verificação; o resultado passa a ser servido por {@link #report()}. */
+  void check() {
+    ReadinessReport.Database database = pingDatabase();
+    ReadinessReport.Migrations schema = checkMigrations(database.up());
+    ReadinessReport.Pool pool = poolUsage();
+
+    List<String> problems = new ArrayList<>();
+    if (!database.up()) {
+      problems.add("database unreachable");
+    } else if (database.pingMillis() > maxDbLatencyMillis) {
+      problems.add("database ping " + database.pingMillis() + " ms above " + maxDbLatencyMillis + " ms");
+    }
+    if ("PENDING".equals(schema.state()) || "FAILED".equals(schema.state())) {
+      problems.add("migrations " + schema.state().toLowerCase());
+    }
+    if (pool.waiting() > maxPoolWaiting) {
+      problems.add(pool.waiting() + " threads waiting for a connection");
+    }
+
+    ReadinessReport previous = last;
+    boolean ready = problems.isEmpty();
+    if (previous == null || previous.problems().isEmpty() != ready) {
+      if (ready) log.info("Readiness check passing.");
+      else if (database.error() != null) log.warn("Readiness check failing: {} (database: {})", problems, database.error());
+      else log.warn("Readiness check failing: {}", problems);
+    }
+
+    last = new ReadinessReport(ready, List.copyOf(problems), true, Instant.now(), 0, database, schema, pool);
+  }
+
+  /** Resultado da última verificação, com idade e estado de subida calculados agora. */
+  public ReadinessReport report() {
+    boolean warmedUp = availability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC;
+    ReadinessReport r = last;
+    Instant now = Instant.now();
+
+    if (r == null) {
+      return new ReadinessReport(false, List.of(warmedUp ? "no check yet" : "warming up"), warmedUp,
+          null, 0, null, null, null);
+    }
+
+    long age = Duration.between(r.checkedAt(), now).toMillis();
+    List<String> problems = new ArrayList<>(r.problems());
+    if (!warmedUp) problems.add(0, "warming up");
+    if (age > staleAfterMillis) problems.add("last check " + age + " ms ago");
+
+    return new ReadinessReport(problems.isEmpty(), List.copyOf(problems), warmedUp, r.checkedAt(), age,
+        r.database(), r.migrations(), r.pool());
+  }
+
+  /** Versão pública de {@link #report()}: só UP/DOWN por verificação, sem mensagens nem números. */
+  public ReadinessReport.Summary summary() {
+    ReadinessReport r = report();
+    ReadinessReport.Database db = r.database();
+    ReadinessReport.Migrations schema = r.migrations();
+    ReadinessReport.Pool pool = r.pool();
+
+    Map<String, String> checks = new LinkedHashMap<>();
+    checks.put("startup", upDown(r.warmedUp()));
+    checks.put("database", upDown(db != null && db.up() && db.pingMillis() <= maxDbLatencyMillis));
+    checks.put("migrations", upDown(schema != null
+        && ("UP_TO_DATE".equals(schema.state()) || "DISABLED".equals(schema.state()))));
+    checks.put("pool", upDown(pool != null && pool.waiting() <= maxPoolWaiting));
+    checks.put("freshness", upDown(r.checkedAt() != null && r.ageMillis() <= staleAfterMillis));
+
+    return new ReadinessReport.Summary(upDown(r.ready()), Collections.unmodifiableMap(checks));
+  }
+
+  private static String upDown(boolean up) {
+    return up ? "UP" : "DOWN";
+  }
+
+  public boolean isLive() {
+    return availability.getLivenessState() == LivenessState.CORRECT;
+  }
+
+  // /actuator/health: mesmo resultado em memória (o indicador "db" padrão faz uma query por chamada)
+  @Override
+  public Health health() {
+    ReadinessReport r = report();
+    Health.Builder builder = r.ready() ? Health.up() : Health.outOfService();
+    if (!r.problems().isEmpty()) builder.withDetail("problems", r.problems());
+    if (r.database() != null) builder.withDetail("database", r.database());
+    if (r.migrations() != null) builder.withDetail("migrations", r.migrations());
+    if (r.pool() != null) builder.withDetail("pool", r.pool());
+    return builder.build();
+  }
+
+  private ReadinessReport.Database pingDatabase() {
+    int timeoutSeconds = (int) Math.max(1, (maxDbLatencyMillis + 999) / 1000);
+    try (Connection connection = dataSource.getConnection()) {
+      long start = System.nanoTime();
+      boolean valid = connection.isValid(timeoutSeconds);
+      long millis = (System.nanoTime() - start) / 1_000_000;
+      return valid
+          ? new ReadinessReport.Database(true, millis, null)
+          : new ReadinessReport.Database(false, millis, "connection not valid");
+    } catch (SQLException e) {
+      return new ReadinessReport.Database(false, null, e.getMessage());
+    }
+  }
+
+  // o histórico do Flyway só muda em deploy: consulta até ficar em dia e depois reaproveita
+  private ReadinessReport.Migrations checkMigrations(boolean databaseUp) {
+    ReadinessReport.Migrations known = migrations;
+    if (known != null && "UP_TO_DATE".equals(known.state())) return known;
+
+    Flyway fw = flyway.getIfAvailable();
+    if (fw == null) return migrations = new ReadinessReport.Migrations("DISABLED", null, 0);
+    if (!databaseUp) return (known != null) ? known : new ReadinessReport.Migrations("UNKNOWN", null, 0);
+
+    try {
+      MigrationInfoService info = fw.info();
+      MigrationInfo current = info.current();
+      String version = (current == null || current.getVersion() == null) ? null : current.getVersion().toString();
+      int pending = info.pending().length;
+      boolean failed = Arrays.stream(info.all()).anyMatch(m -> m.getState().isFailed());
+
+      String state = failed ? "FAILED" : (pending > 0) ? "PENDING" : "UP_TO_DATE";
+      return migrations = new ReadinessReport.Migrations(state, version, pending);
+    } catch (RuntimeException e) {
+      log.warn("Could not read Flyway state: {}", e.getMessage());
+      return new ReadinessReport.Migrations("UNKNOWN", null, 0);
+    }
+  }
+
+  private ReadinessReport.Pool poolUsage() {
+    int active = 0, idle = 0, total = 0, max = 0, waiting = 0;
+    try {
+      if (dataSource.isWrapperFor(HikariDataSource.class)) {
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        max = hikari.getMaximumPoolSize();
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool != null) {
+          active = pool.getActiveConnections();
+          idle = pool.getIdleConnections();
+          total = pool.getTotalConnections();
+          waiting = pool.getThreadsAwaitingConnection();
+        }
+      }
+      if (dataSource.isWrapperFor(LimitedDataSource.class)) {
+        waiting += dataSource.unwrap(LimitedDataSource.class).stats().waiting();
+      }
+    } catch (SQLException e) {
+      log.debug("Could not read pool state: {}", e.getMessage());
+    }
+    double saturation = (max == 0) ? 0 : active / (double) max;
+    return new ReadinessReport.Pool(active, idle, total, max, waiting, saturation);
+  }
+}
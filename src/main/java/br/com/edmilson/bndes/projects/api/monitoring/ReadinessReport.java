@@ -0,0 +1,32 @@
+package br.com.edmilson.bndes.projects.api.monitoring;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Última verificação de prontidão (banco, migrações, pool), servida da memória. Completa só em
+ * /ops/readiness (ADMIN): o erro do banco traz texto do driver. A probe pública usa {@link Summary}.
+ */
+public record ReadinessReport(
+    boolean ready,
+    List<String> problems,
+    boolean warmedUp,
+    Instant checkedAt,
+    long ageMillis,
+    Database database,
+    Migrations migrations,
+    Pool pool
+) {
+
+  public record Database(boolean up, Long pingMillis, String error) {}
+
+  /** state: UP_TO_DATE, PENDING, FAILED, DISABLED ou UNKNOWN. */
+  public record Migrations(String state, String currentVersion, int pending) {}
+
+  /** waiting soma threads na fila do Hikari e do limitador de conexões (quando ligado). */
+  public record Pool(int active, int idle, int total, int max, int waiting, double saturation) {}
+
+  /** Resposta pública de /health/ready: status geral e UP/DOWN por verificação, sem detalhes. */
+  public record Summary(String status, Map<String, String> checks) {}
+}
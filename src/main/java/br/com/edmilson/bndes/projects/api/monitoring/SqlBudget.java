@@ -0,0 +1,20 @@
+package br.com.edmilson.bndes.projects.api.monitoring;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Máximo de statements JDBC por request na rota, contando o filtro de autenticação. Acima disso
+ * o {@link SqlBudgetFilter} registra (modo log) ou falha a request (modo fail, usado nos testes).
+ * Rotas sem a anotação usam {@code app.sql.budget.default}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface SqlBudget {
+
+  int value();
+}
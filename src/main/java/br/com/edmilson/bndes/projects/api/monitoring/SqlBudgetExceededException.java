@@ -0,0 +1,9 @@
+package br.com.edmilson.bndes.projects.api.monitoring;
+
+/** Lançada pelo {@link SqlBudgetFilter} no modo fail, depois de a request terminar. */
+public class SqlBudgetExceededException extends IllegalStateException {
+
+  public SqlBudgetExceededException(String message) {
+    super(message);
+  }
+}
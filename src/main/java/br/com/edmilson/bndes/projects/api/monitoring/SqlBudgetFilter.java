@@ -0,0 +1,127 @@
+package br.com.edmilson.bndes.projects.api.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Conta os statements JDBC de cada request (inclusive os do filtro de autenticação) e compara
+ * com o {@link SqlBudget} da rota. Publica {@code app.sql.statements} por rota e, ao estourar,
+ * {@code app.sql.budget.exceeded}. O mesmo SQL repetido {@code repeatThreshold} vezes numa request
+ * é logado como possível N+1, mesmo dentro do orçamento.
+ */
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+  public enum Mode { OFF, LOG, FAIL }
+
+  private static final Logger log = LoggerFactory.getLogger(SqlBudgetFilter.class);
+
+  private static final int SQL_PREVIEW_CHARS = 160;
+
+  private final MeterRegistry meterRegistry;
+  private final Mode mode;
+  private final int defaultBudget;
+  private final int repeatThreshold;
+  private final Map<Method, Route> routes = new ConcurrentHashMap<>();
+
+  public SqlBudgetFilter(MeterRegistry meterRegistry, Mode mode, int defaultBudget, int repeatThreshold) {
+    this.meterRegistry = meterRegistry;
+    this.mode = mode;
+    this.defaultBudget = defaultBudget;
+    this.repeatThreshold = repeatThreshold;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      FilterChain filterChain
+  ) throws ServletException, IOException {
+
+    SqlStatementCounter.Scope scope = SqlStatementCounter.open();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      scope.close();
+    }
+    check(request, scope);
+  }
+
+  private void check(HttpServletRequest request, SqlStatementCounter.Scope scope) {
+    // sem handler: 404, request barrada na segurança, recurso estático
+    if (!(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler)) return;
+
+    Route route = routes.computeIfAbsent(handler.getMethod(), m -> route(request, handler));
+    int total = scope.total();
+    route.statements.record(total);
+
+    List<String> repeated = scope.bySql().entrySet().stream()
+        .filter(e -> e.getValue() >= repeatThreshold)
+        .map(e -> e.getValue() + "x " + preview(e.getKey()))
+        .toList();
+    if (!repeated.isEmpty()) {
+      log.warn("Possible N+1 on {}: {}", route.name, repeated);
+    }
+
+    if (total <= route.budget) return;
+
+    route.exceeded.increment();
+    String message = String.format("%s ran %d SQL statements, budget is %d. Most frequent: %s",
+        route.name, total, route.budget, top(scope, 3));
+    if (mode == Mode.FAIL) throw new SqlBudgetExceededException(message);
+    log.warn(message);
+  }
+
+  private Route route(HttpServletRequest request, HandlerMethod handler) {
+    String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    String name = request.getMethod() + " " + pattern;
+
+    SqlBudget declared = handler.getMethodAnnotation(SqlBudget.class);
+    if (declared == null) declared = handler.getBeanType().getAnnotation(SqlBudget.class);
+    int budget = (declared != null) ? declared.value() : defaultBudget;
+
+    // o mesmo padrão pode ter vários handlers (ex.: GET /projects com fields, count=none, after)
+    Tags tags = Tags.of(
+        "method", request.getMethod(),
+        "uri", String.valueOf(pattern),
+        "handler", handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName());
+
+    return new Route(
+        name,
+        budget,
+        DistributionSummary.builder("app.sql.statements").tags(tags).register(meterRegistry),
+        Counter.builder("app.sql.budget.exceeded").tags(tags).register(meterRegistry));
+  }
+
+  private static String top(SqlStatementCounter.Scope scope, int limit) {
+    return scope.bySql().entrySet().stream()
+        .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+        .limit(limit)
+        .map(e -> e.getValue() + "x " + preview(e.getKey()))
+        .collect(Collectors.joining(" | "));
+  }
+
+  // format_sql deixa o SQL em várias linhas
+  private static String preview(String sql) {
+    String compact = sql.replaceAll("\\s+", " ").trim();
+    return (compact.length() <= SQL_PREVIEW_CHARS) ? compact : compact.substring(0, SQL_PREVIEW_CHARS) + "...";
+  }
+
+  private record Route(String name, int budget, DistributionSummary statements, Counter exceeded) {}
+}
@@ -0,0 +1,64 @@
+package br.com.edmilson.bndes.projects.api.monitoring;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Conta os statements JDBC executados na thread atual enquanto um {@link Scope} está aberto
+ * (uma request HTTP, no {@link SqlBudgetFilter}). Alimentado pelo StatementCountingDataSource;
+ * fora de um escopo (jobs, LISTEN, exportação assíncrona) a contagem é ignorada.
+ */
+public final class SqlStatementCounter {
+
+  // SQL distintos guardados por escopo; acima disso só o total é contado
+  private static final int MAX_DISTINCT = 64;
+
+  private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+  private SqlStatementCounter() {}
+
+  public static Scope open() {
+    Scope scope = new Scope(CURRENT.get());
+    CURRENT.set(scope);
+    return scope;
+  }
+
+  /** Um round-trip (execute*, executeBatch); {@code sql} pode ser null em Statement sem texto. */
+  public static void record(String sql) {
+    Scope scope = CURRENT.get();
+    if (scope != null) scope.add(sql);
+  }
+
+  public static final class Scope implements AutoCloseable {
+
+    private final Scope previous;
+    private final Map<String, Integer> bySql = new HashMap<>();
+    private int total;
+
+    private Scope(Scope previous) {
+      this.previous = previous;
+    }
+
+    private void add(String sql) {
+      total++;
+      if (sql != null && (bySql.size() < MAX_DISTINCT || bySql.containsKey(sql))) {
+        bySql.merge(sql, 1, Integer::sum);
+      }
+    }
+
+    public int total() {
+      return total;
+    }
+
+    /** Execuções por texto de SQL (limitado aos primeiros {@value #MAX_DISTINCT} distintos). */
+    public Map<String, Integer> bySql() {
+      return bySql;
+    }
+
+    @Override
+    public void close() {
+      if (previous == null) CURRENT.remove();
+      else CURRENT.set(previous);
+    }
+  }
+}
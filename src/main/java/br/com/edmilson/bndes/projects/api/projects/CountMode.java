@@ -0,0 +1,27 @@
+package br.com.edmilson.bndes.projects.api.projects;
+
+import br.com.edmilson.bndes.projects.api.exception.ValidationException;
+import br.com.edmilson.bndes.projects.api.messages.ApiMessages;
+import java.util.Locale;
+
+/**
+ * Como a listagem calcula o total de registros.
+ * EXACT: countQuery separada (padrão); WINDOW: COUNT(*) OVER() na mesma instrução (busca);
+ * NONE: sem total, apenas hasNext (size + 1 linhas).
+ *
+ * <p>Só aceita minúsculas: os handlers de slice são roteados por {@code params = "count=none"},
+ * que diferencia maiúsculas, e {@code count=NONE} cairia no caminho com COUNT.
+ */
+public enum CountMode {
+  EXACT,
+  WINDOW,
+  NONE;
+
+  public static CountMode from(String value) {
+    if (value == null || value.isBlank()) return EXACT;
+    for (CountMode mode : values()) {
+      if (mode.name().toLowerCase(Locale.ROOT).equals(value)) return mode;
+    }
+    throw new ValidationException(ApiMessages.INVALID_COUNT_MODE);
+  }
+}
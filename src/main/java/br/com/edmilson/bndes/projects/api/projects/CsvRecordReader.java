@@ -0,0 +1,131 @@
+package br.com.edmilson.bndes.projects.api.projects;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor CSV (RFC 4180) em streaming: um registro por vez, com suporte a campos entre aspas,
+ * aspas duplicadas e quebras de linha dentro de campos. Também concentra o escape usado na escrita.
+ */
+final class CsvRecordReader {
+
+  private final Reader in;
+  private final StringBuilder field = new StringBuilder();
+
+  private int pushedBack = -2;
+  private long line = 1;
+  private long recordLine;
+  private boolean started;
+
+  CsvRecordReader(Reader in) {
+    this.in = in;
+  }
+
+  /** Próximo registro, ou null no fim do arquivo. Linhas totalmente vazias são ignoradas. */
+  List<String> next() throws IOException {
+    while (true) {
+      int c = read();
+      if (c == -1) return null;
+      if (c == '\r' || c == '\n') {
+        consumeLineBreak(c);
+        continue;
+      }
+      unread(c);
+      return readRecord();
+    }
+  }
+
+  /** Linha física (1-based) em que o último registro lido começa. */
+  long recordLine() {
+    return recordLine;
+  }
+
+  private List<String> readRecord() throws IOException {
+    recordLine = line;
+    List<String> fields = new ArrayList<>();
+    field.setLength(0);
+    boolean quoted = false;
+    boolean inQuotes = false;
+
+    while (true) {
+      int c = read();
+
+      if (inQuotes) {
+        if (c == -1) break;
+        if (c == '"') {
+          int n = read();
+          if (n == '"') {
+            field.append('"');
+          } else {
+            inQuotes = false;
+            unread(n);
+          }
+        } else {
+          if (c == '\n') line++;
+          field.append((char) c);
+        }
+        continue;
+      }
+
+      if (c == -1 || c == '\r' || c == '\n') {
+        fields.add(value(quoted));
+        if (c != -1) consumeLineBreak(c);
+        return fields;
+      }
+      if (c == ',') {
+        fields.add(value(quoted));
+        field.setLength(0);
+        quoted = false;
+      } else if (c == '"' && field.isEmpty() && !quoted) {
+        inQuotes = true;
+        quoted = true;
+      } else {
+        field.append((char) c);
+      }
+    }
+
+    fields.add(value(quoted));
+    return fields;
+  }
+
+  private String value(boolean quoted) {
+    String v = field.toString();
+    return (!quoted && v.isEmpty()) ? null : v;
+  }
+
+  private void consumeLineBreak(int c) throws IOException {
+    line++;
+    if (c == '\r') {
+      int n = read();
+      if (n != '\n') unread(n);
+    }
+  }
+
+  private int read() throws IOException {
+    if (pushedBack != -2) {
+      int c = pushedBack;
+      pushedBack = -2;
+      return c;
+    }
+    int c = in.read();
+    if (!started) {
+      started = true;
+      if (c == '\uFEFF') c = in.read(); // BOM de planilhas exportadas no Windows
+    }
+    return c;
+  }
+
+  private void unread(int c) {
+    pushedBack = c;
+  }
+
+  // RFC 4180: aspas só quando necessário, com aspas internas duplicadas
+  static String escape(String value) {
+    if (value == null) return "";
+    boolean quote = value.isEmpty() || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+        || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+    return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+  }
+}
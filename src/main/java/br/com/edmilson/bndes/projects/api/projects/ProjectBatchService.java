@@ -0,0 +1,229 @@
+package br.com.edmilson.bndes.projects.api.projects;
+
+import br.com.edmilson.bndes.projects.api.exception.ValidationException;
+import br.com.edmilson.bndes.projects.api.messages.ApiMessages;
+import br.com.edmilson.bndes.projects.api.model.Project;
+import br.com.edmilson.bndes.projects.api.model.User;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectBatchItemResult;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectBatchItemResult.Status;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectBatchRequest;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectBatchResponse;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectBatchUpdateItem;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectCreateRequest;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectUpdateRequest;
+import br.com.edmilson.bndes.projects.api.repository.ProjectRepository;
+import br.com.edmilson.bndes.projects.api.repository.ProjectStatsDelta;
+import br.com.edmilson.bndes.projects.api.repository.ProjectStatsRepository;
+import br.com.edmilson.bndes.projects.api.repository.UserRepository;
+import br.com.edmilson.bndes.projects.api.security.AuthenticatedUser;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Criação/atualização em lote. Cada item é validado sozinho e recebe seu próprio resultado; os
+ * válidos são gravados em blocos do tamanho do hibernate.jdbc.batch_size, com flush + clear a cada
+ * bloco: um round-trip por bloco (sequence pooled + reWriteBatchedInserts) e memória constante.
+ */
+@Service
+public class ProjectBatchService {
+
+  private static final String CREATE = "create";
+  private static final String UPDATE = "update";
+
+  private final ProjectRepository projectRepository;
+  private final UserRepository userRepository;
+  private final ProjectService projectService;
+  private final ProjectReadCache projectReadCache;
+  private final ProjectStatsRepository projectStatsRepository;
+  private final Validator validator;
+  private final EntityManager entityManager;
+
+  private final int maxItems;
+  private final int chunkSize;
+
+  public ProjectBatchService(
+      ProjectRepository projectRepository,
+      UserRepository userRepository,
+      ProjectService projectService,
+      ProjectReadCache projectReadCache,
+      ProjectStatsRepository projectStatsRepository,
+      Validator validator,
+      EntityManager entityManager,
+      @Value("${app.projects.batchMaxItems:1000}") int maxItems,
+      @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int chunkSize
+  ) {
+    this.projectRepository = projectRepository;
+    this.userRepository = userRepository;
+    this.projectService = projectService;
+    this.projectReadCache = projectReadCache;
+    this.projectStatsRepository = projectStatsRepository;
+    this.validator = validator;
+    this.entityManager = entityManager;
+    this.maxItems = maxItems;
+    this.chunkSize = Math.max(1, chunkSize);
+  }
+
+  @Transactional
+  public ProjectBatchResponse batch(ProjectBatchRequest request) {
+    AuthenticatedUser currentUser = projectService.getCurrentUser();
+
+    List<ProjectCreateRequest> creates = (request == null || request.create() == null) ? List.of() : request.create();
+    List<ProjectBatchUpdateItem> updates = (request == null || request.update() == null) ? List.of() : request.update();
+
+    int total = creates.size() + updates.size();
+    if (total == 0) throw new ValidationException(ApiMessages.BATCH_EMPTY);
+    if (total > maxItems) throw new ValidationException(ApiMessages.BATCH_TOO_LARGE);
+
+    List<ProjectBatchItemResult> results = new ArrayList<>(total);
+    ProjectStatsDelta stats = new ProjectStatsDelta();
+    createAll(creates, currentUser, results, stats);
+    updateAll(updates, currentUser, results, stats);
+
+    // um UPSERT por grupo afetado, no fim do lote
+    projectStatsRepository.apply(stats);
+
+    int succeeded = (int) results.stream().filter(ProjectBatchItemResult::succeeded).count();
+    return new ProjectBatchResponse(succeeded, total - succeeded, results);
+  }
+
+  private void createAll(
+      List<ProjectCreateRequest> creates,
+      AuthenticatedUser currentUser,
+      List<ProjectBatchItemResult> results,
+      ProjectStatsDelta stats
+  ) {
+    User owner = userRepository.getReferenceById(currentUser.id());
+    int pending = 0;
+
+    for (int i = 0; i < creates.size(); i++) {
+      ProjectCreateRequest req = creates.get(i);
+
+      List<String> errors = validate(req);
+      if (errors.isEmpty()) errors = validateDates(req.startDate(), req.endDate());
+      if (!errors.isEmpty()) {
+        results.add(new ProjectBatchItemResult(CREATE, i, null, Status.INVALID, errors));
+        continue;
+      }
+
+      Project p = new Project();
+      p.setUser(owner);
+      projectService.applyCreate(p, req);
+
+      // persist já atribui o id (bloco da sequence em memória); o INSERT sai no flush do bloco
+      Project saved = projectRepository.save(p);
+      stats.add(currentUser.id(), saved);
+      results.add(new ProjectBatchItemResult(CREATE, i, saved.getId(), Status.CREATED, List.of()));
+
+      if (++pending == chunkSize) {
+        flushAndClear();
+        pending = 0;
+      }
+    }
+    if (pending > 0) flushAndClear();
+  }
+
+  private void updateAll(
+      List<ProjectBatchUpdateItem> updates,
+      AuthenticatedUser currentUser,
+      List<ProjectBatchItemResult> results,
+      ProjectStatsDelta stats
+  ) {
+    for (int from = 0; from < updates.size(); from += chunkSize) {
+      int to = Math.min(from + chunkSize, updates.size());
+
+      List<Long> ids = updates.subList(from, to).stream()
+          .map(ProjectBatchUpdateItem::id)
+          .filter(id -> id != null)
+          .distinct()
+          .toList();
+
+      // um SELECT por bloco em vez de um por item
+      Map<Long, Project> found = ids.isEmpty()
+          ? Map.of()
+          : projectRepository.findAllActiveByIdIn(ids).stream()
+              .collect(Collectors.toMap(Project::getId, Function.identity()));
+
+      List<Project> updated = new ArrayList<>(to - from);
+      for (int i = from; i < to; i++) {
+        ProjectBatchItemResult result = updateOne(i, updates.get(i), found, currentUser, stats);
+        if (result.status() == Status.UPDATED) updated.add(found.get(result.id()));
+        results.add(result);
+      }
+      flushAndClear();
+
+      // versões já incrementadas pelo flush: um NOTIFY id:versão por bloco em vez de um por item
+      Map<Long, Long> versions = new LinkedHashMap<>();
+      for (Project p : updated) versions.put(p.getId(), (p.getVersion() == null) ? 0L : p.getVersion());
+      projectReadCache.updatedAll(versions);
+    }
+  }
+
+  private ProjectBatchItemResult updateOne(
+      int index,
+      ProjectBatchUpdateItem item,
+      Map<Long, Project> found,
+      AuthenticatedUser currentUser,
+      ProjectStatsDelta stats
+  ) {
+    List<String> errors = validate(item);
+    if (!errors.isEmpty()) {
+      return new ProjectBatchItemResult(UPDATE, index, item == null ? null : item.id(), Status.INVALID, errors);
+    }
+
+    Project p = found.get(item.id());
+    if (p == null) {
+      return new ProjectBatchItemResult(UPDATE, index, item.id(), Status.NOT_FOUND, List.of(ApiMessages.PROJECT_NOT_FOUND));
+    }
+    if (!currentUser.isAdmin() && !p.getUser().getId().equals(currentUser.id())) {
+      return new ProjectBatchItemResult(UPDATE, index, item.id(), Status.FORBIDDEN, List.of(ApiMessages.PROJECT_ACCESS_FORBIDDEN));
+    }
+
+    // valida as datas resultantes antes de mexer na entidade gerenciada
+    ProjectUpdateRequest changes = item.changes();
+    LocalDate start = (changes.startDate() != null) ? changes.startDate() : p.getStartDate();
+    LocalDate end = (changes.endDate() != null) ? changes.endDate() : p.getEndDate();
+    errors = validateDates(start, end);
+    if (!errors.isEmpty()) {
+      return new ProjectBatchItemResult(UPDATE, index, item.id(), Status.INVALID, errors);
+    }
+
+    stats.remove(p.getUser().getId(), p);
+    projectService.applyUpdate(p, changes);
+    stats.add(p.getUser().getId(), p);
+    return new ProjectBatchItemResult(UPDATE, index, item.id(), Status.UPDATED, List.of());
+  }
+
+  private List<String> validate(Object item) {
+    if (item == null) return List.of(ApiMessages.VALIDATION_ERROR);
+
+    return validator.validate(item).stream()
+        .map(ConstraintViolation::getMessage)
+        .sorted()
+        .toList();
+  }
+
+  private List<String> validateDates(LocalDate start, LocalDate end) {
+    try {
+      projectService.validateDates(start, end);
+      return List.of();
+    } catch (ValidationException e) {
+      return List.of(e.getMessage());
+    }
+  }
+
+  private void flushAndClear() {
+    projectRepository.flush();
+    entityManager.clear();
+  }
+}
@@ -1,9 +1,17 @@
 package br.com.edmilson.bndes.projects.api.projects;
 
 import br.com.edmilson.bndes.projects.api.exception.ApiError;
+import br.com.edmilson.bndes.projects.api.monitoring.SqlBudget;
+import br.com.edmilson.bndes.projects.api.projects.dto.CursorPageResponse;
+import br.com.edmilson.bndes.projects.api.projects.dto.PageResponse;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectBatchRequest;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectBatchResponse;
 import br.com.edmilson.bndes.projects.api.projects.dto.ProjectCreateRequest;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectImportResponse;
 import br.com.edmilson.bndes.projects.api.projects.dto.ProjectResponse;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectStatsResponse;
 import br.com.edmilson.bndes.projects.api.projects.dto.ProjectUpdateRequest;
+import br.com.edmilson.bndes.projects.api.projects.dto.SliceResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -12,9 +20,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.InputStream;
+import java.util.Map;
 import org.springframework.data.domain.*;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/projects")
@@ -22,10 +38,27 @@ import org.springframework.web.bind.annotation.*;
 @SecurityRequirement(name = "bearerAuth")
 public class ProjectController {
 
+  // o cliente pode guardar a resposta, mas precisa revalidar (If-None-Match) antes de reutilizar
+  private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
   private final ProjectService projectService;
+  private final ProjectExportService projectExportService;
+  private final ProjectBatchService projectBatchService;
+  private final ProjectImportService projectImportService;
+  private final ProjectStatsService projectStatsService;
 
-  public ProjectController(ProjectService projectService) {
+  public ProjectController(
+      ProjectService projectService,
+      ProjectExportService projectExportService,
+      ProjectBatchService projectBatchService,
+      ProjectImportService projectImportService,
+      ProjectStatsService projectStatsService
+  ) {
     this.projectService = projectService;
+    this.projectExportService = projectExportService;
+    this.projectBatchService = projectBatchService;
+    this.projectImportService = projectImportService;
+    this.projectStatsService = projectStatsService;
   }
 
   @Operation(summary = "Create project")
@@ -39,12 +72,64 @@ public class ProjectController {
           content = @Content(schema = @Schema(implementation = ApiError.class)))
   })
   @PostMapping
+  @SqlBudget(6)
   @ResponseStatus(HttpStatus.CREATED)
   public ProjectResponse create(@Valid @RequestBody ProjectCreateRequest request) {
     return projectService.create(request);
   }
 
-  @Operation(summary = "List projects with pagination, sorting and filters")
+  @Operation(
+      summary = "Create and/or update projects in batch",
+      description = "Cada item é validado individualmente e recebe seu próprio resultado; "
+          + "itens inválidos não impedem a gravação dos demais."
+  )
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "OK (ver resultado por item)"),
+      @ApiResponse(responseCode = "400", description = "Empty batch or too many items",
+          content = @Content(schema = @Schema(implementation = ApiError.class))),
+      @ApiResponse(responseCode = "401", description = "Unauthorized",
+          content = @Content(schema = @Schema(implementation = ApiError.class))),
+      @ApiResponse(responseCode = "403", description = "Forbidden",
+          content = @Content(schema = @Schema(implementation = ApiError.class)))
+  })
+  @PostMapping("/batch")
+  // lote máximo (1000 itens, blocos de 50): sequence + INSERT + SELECT + UPDATE + NOTIFY por bloco
+  @SqlBudget(100)
+  public ProjectBatchResponse batch(@RequestBody ProjectBatchRequest request) {
+    return projectBatchService.batch(request);
+  }
+
+  @Operation(
+      summary = "Bulk import projects from CSV (admin)",
+      description = "Corpo text/csv com cabeçalho: name, description, value, startDate e, opcionalmente, "
+          + "active e endDate. Linhas válidas são gravadas para o dono informado em ownerId; "
+          + "as inválidas voltam no relatório."
+  )
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "OK (ver relatório de linhas rejeitadas)"),
+      @ApiResponse(responseCode = "400", description = "Invalid CSV header or body",
+          content = @Content(schema = @Schema(implementation = ApiError.class))),
+      @ApiResponse(responseCode = "401", description = "Unauthorized",
+          content = @Content(schema = @Schema(implementation = ApiError.class))),
+      @ApiResponse(responseCode = "403", description = "Forbidden",
+          content = @Content(schema = @Schema(implementation = ApiError.class))),
+      @ApiResponse(responseCode = "404", description = "Owner not found",
+          content = @Content(schema = @Schema(implementation = ApiError.class)))
+  })
+  @PostMapping(value = "/import", consumes = "text/csv")
+  @SqlBudget(10)
+  @PreAuthorize("hasRole('ADMIN')")
+  public ProjectImportResponse importCsv(@RequestParam Long ownerId, InputStream body) {
+    return projectImportService.importCsv(ownerId, body);
+  }
+
+  @Operation(
+      summary = "List projects with pagination, sorting and filters",
+      description = "count=exact (padrão) calcula o total com uma consulta separada; "
+          + "count=window calcula o total da busca (q) na mesma instrução com COUNT(*) OVER(); "
+          + "count=none retorna apenas hasNext, sem total (com q, truncated=true indica que só os "
+          + "resultados mais recentes foram ranqueados). Resposta: items, page, size, total e hasNext."
+  )
   @ApiResponses({
       @ApiResponse(responseCode = "200", description = "OK"),
       @ApiResponse(responseCode = "401", description = "Unauthorized",
@@ -53,26 +138,158 @@ public class ProjectController {
           content = @Content(schema = @Schema(implementation = ApiError.class)))
   })
   @GetMapping
-  public Page<ProjectResponse> list(
+  @SqlBudget(4)
+  public PageResponse<ProjectResponse> list(
+      @RequestParam(required = false) Boolean active,
+      @RequestParam(required = false, defaultValue = "") String q,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "10") int size,
+      @RequestParam(defaultValue = "id,desc") String sort,
+      @RequestParam(defaultValue = "exact") String count
+  ) {
+    Pageable pageable = PageRequest.of(page, size, parseSort(sort));
+    return PageResponse.of(projectService.list(active, q, pageable, CountMode.from(count)));
+  }
+
+  @Operation(
+      summary = "List projects with sparse fieldset",
+      description = "Ativado por fields=id,name,value (lista de campos de ProjectResponse). Lê só essas colunas, "
+          + "direto do JDBC, e devolve apenas essas chaves. Aceita active, q, page, size e sort; count=none "
+          + "devolve hasNext em vez do total."
+  )
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "OK"),
+      @ApiResponse(responseCode = "400", description = "Invalid fields or sort",
+          content = @Content(schema = @Schema(implementation = ApiError.class))),
+      @ApiResponse(responseCode = "401", description = "Unauthorized",
+          content = @Content(schema = @Schema(implementation = ApiError.class))),
+      @ApiResponse(responseCode = "403", description = "Forbidden",
+          content = @Content(schema = @Schema(implementation = ApiError.class)))
+  })
+  @GetMapping(params = {"fields", "!after"})
+  @SqlBudget(4)
+  public PageResponse<Map<String, Object>> listFields(
+      @RequestParam(required = false) Boolean active,
+      @RequestParam(required = false, defaultValue = "") String q,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "10") int size,
+      @RequestParam(defaultValue = "id,desc") String sort,
+      @RequestParam String fields,
+      @RequestParam(defaultValue = "exact") String count
+  ) {
+    CountMode.from(count); // só valida: count=none tem handler próprio
+    Pageable pageable = PageRequest.of(page, size, parseSort(sort));
+    return PageResponse.of(projectService.listFields(active, q, pageable, fields));
+  }
+
+  @Operation(summary = "List projects with sparse fieldset without total count", hidden = true)
+  @GetMapping(params = {"fields", "count=none", "!after"})
+  @SqlBudget(3)
+  public SliceResponse<Map<String, Object>> listSliceFields(
+      @RequestParam(required = false) Boolean active,
+      @RequestParam(required = false, defaultValue = "") String q,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "10") int size,
+      @RequestParam(defaultValue = "id,desc") String sort,
+      @RequestParam String fields
+  ) {
+    Pageable pageable = PageRequest.of(page, size, parseSort(sort));
+    return projectService.listSliceFields(active, q, pageable, fields);
+  }
+
+  @Operation(summary = "List projects without total count (count=none)", hidden = true)
+  @GetMapping(params = {"count=none", "!after"})
+  @SqlBudget(3)
+  public SliceResponse<ProjectResponse> listSlice(
       @RequestParam(required = false) Boolean active,
       @RequestParam(required = false, defaultValue = "") String q,
       @RequestParam(defaultValue = "0") int page,
       @RequestParam(defaultValue = "10") int size,
       @RequestParam(defaultValue = "id,desc") String sort
   ) {
-    String[] sortParts = sort.split(",");
-    String field = sortParts[0];
-    Sort.Direction dir = (sortParts.length > 1 && sortParts[1].equalsIgnoreCase("asc"))
-        ? Sort.Direction.ASC
-        : Sort.Direction.DESC;
+    Pageable pageable = PageRequest.of(page, size, parseSort(sort));
+    return projectService.listSlice(active, q, pageable);
+  }
+
+  @Operation(
+      summary = "List projects by cursor (keyset pagination)",
+      description = "Ativado pela presença do parâmetro after (vazio na primeira página). "
+          + "Ordenação suportada: id ou createdAt. Não retorna total; use nextCursor para avançar."
+  )
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "OK"),
+      @ApiResponse(responseCode = "400", description = "Invalid cursor, sort or size",
+          content = @Content(schema = @Schema(implementation = ApiError.class))),
+      @ApiResponse(responseCode = "401", description = "Unauthorized",
+          content = @Content(schema = @Schema(implementation = ApiError.class))),
+      @ApiResponse(responseCode = "403", description = "Forbidden",
+          content = @Content(schema = @Schema(implementation = ApiError.class)))
+  })
+  @GetMapping(params = "after")
+  @SqlBudget(3)
+  public CursorPageResponse<ProjectResponse> listByCursor(
+      @RequestParam(required = false) Boolean active,
+      @RequestParam(required = false, defaultValue = "") String q,
+      @RequestParam String after,
+      @RequestParam(defaultValue = "10") int size,
+      @RequestParam(defaultValue = "id,desc") String sort
+  ) {
+    return projectService.listByCursor(active, q, after, size, parseSort(sort));
+  }
+
+  @Operation(
+      summary = "Export all visible projects (streaming)",
+      description = "Formato pelo header Accept: application/x-ndjson (padrão) ou text/csv. "
+          + "Mesmo escopo e filtros (active, q) da listagem, sem paginação."
+  )
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "OK"),
+      @ApiResponse(responseCode = "401", description = "Unauthorized",
+          content = @Content(schema = @Schema(implementation = ApiError.class))),
+      @ApiResponse(responseCode = "403", description = "Forbidden",
+          content = @Content(schema = @Schema(implementation = ApiError.class)))
+  })
+  @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+  @SqlBudget(3)
+  public ResponseEntity<StreamingResponseBody> export(
+      @RequestParam(required = false) Boolean active,
+      @RequestParam(required = false, defaultValue = "") String q,
+      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+  ) {
+    ProjectExportFormat format = ProjectExportFormat.fromAccept(accept);
 
-    Pageable pageable = PageRequest.of(page, size, Sort.by(dir, field));
-    return projectService.list(active, q, pageable);
+    return ResponseEntity.ok()
+        .contentType(format.mediaType())
+        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + format.fileName() + "\"")
+        .body(projectExportService.export(active, q, format));
   }
 
-  @Operation(summary = "Get project by id")
+  @Operation(
+      summary = "Portfolio statistics",
+      description = "Quantidade e valor total por dono, por active e por ano de início, lidos do agregado "
+          + "project_stats. Admin vê todos os donos (ou só ownerId)."
+  )
   @ApiResponses({
       @ApiResponse(responseCode = "200", description = "OK"),
+      @ApiResponse(responseCode = "401", description = "Unauthorized",
+          content = @Content(schema = @Schema(implementation = ApiError.class))),
+      @ApiResponse(responseCode = "403", description = "Forbidden",
+          content = @Content(schema = @Schema(implementation = ApiError.class)))
+  })
+  @GetMapping("/stats")
+  @SqlBudget(3)
+  public ProjectStatsResponse stats(@RequestParam(required = false) Long ownerId) {
+    return projectStatsService.getStats(ownerId);
+  }
+
+  @Operation(
+      summary = "Get project by id",
+      description = "Responde com ETag; com If-None-Match igual à versão atual retorna 304 "
+          + "consultando apenas a versão, sem carregar o projeto."
+  )
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "OK"),
+      @ApiResponse(responseCode = "304", description = "Not Modified"),
       @ApiResponse(responseCode = "401", description = "Unauthorized",
           content = @Content(schema = @Schema(implementation = ApiError.class))),
       @ApiResponse(responseCode = "403", description = "Forbidden",
@@ -81,8 +298,26 @@ public class ProjectController {
           content = @Content(schema = @Schema(implementation = ApiError.class)))
   })
   @GetMapping("/{id}")
-  public ProjectResponse getById(@PathVariable Long id) {
-    return projectService.getById(id);
+  @SqlBudget(3)
+  public ResponseEntity<ProjectResponse> getById(
+      @PathVariable Long id,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+  ) {
+    if (ifNoneMatch != null) {
+      Long version = projectService.getVersion(id);
+      if (ProjectETags.noneMatchHits(ifNoneMatch, version)) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(ProjectETags.of(version))
+            .cacheControl(REVALIDATE)
+            .build();
+      }
+    }
+
+    Versioned<ProjectResponse> project = projectService.getVersioned(id);
+    return ResponseEntity.ok()
+        .eTag(ProjectETags.of(project.version()))
+        .cacheControl(REVALIDATE)
+        .body(project.body());
   }
 
   @Operation(summary = "Update project")
@@ -95,11 +330,21 @@ public class ProjectController {
       @ApiResponse(responseCode = "403", description = "Forbidden",
           content = @Content(schema = @Schema(implementation = ApiError.class))),
       @ApiResponse(responseCode = "404", description = "Not found",
+          content = @Content(schema = @Schema(implementation = ApiError.class))),
+      @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
           content = @Content(schema = @Schema(implementation = ApiError.class)))
   })
   @PutMapping("/{id}")
-  public ProjectResponse update(@PathVariable Long id, @Valid @RequestBody ProjectUpdateRequest request) {
-    return projectService.update(id, request);
+  @SqlBudget(6)
+  public ResponseEntity<ProjectResponse> update(
+      @PathVariable Long id,
+      @Valid @RequestBody ProjectUpdateRequest request,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+  ) {
+    Versioned<ProjectResponse> updated = projectService.update(id, request, ProjectETags.parseIfMatch(ifMatch));
+    return ResponseEntity.ok()
+        .eTag(ProjectETags.of(updated.version()))
+        .body(updated.body());
   }
 
   @Operation(summary = "Delete project (logical delete)")
@@ -110,11 +355,27 @@ public class ProjectController {
       @ApiResponse(responseCode = "403", description = "Forbidden",
           content = @Content(schema = @Schema(implementation = ApiError.class))),
       @ApiResponse(responseCode = "404", description = "Not found",
+          content = @Content(schema = @Schema(implementation = ApiError.class))),
+      @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
           content = @Content(schema = @Schema(implementation = ApiError.class)))
   })
   @DeleteMapping("/{id}")
+  @SqlBudget(6)
   @ResponseStatus(HttpStatus.NO_CONTENT)
-  public void delete(@PathVariable Long id) {
-    projectService.delete(id);
+  public void delete(
+      @PathVariable Long id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+  ) {
+    projectService.delete(id, ProjectETags.parseIfMatch(ifMatch));
+  }
+
+  private Sort parseSort(String sort) {
+    String[] sortParts = sort.split(",");
+    String field = sortParts[0];
+    Sort.Direction dir = (sortParts.length > 1 && sortParts[1].equalsIgnoreCase("asc"))
+        ? Sort.Direction.ASC
+        : Sort.Direction.DESC;
+
+    return Sort.by(dir, field);
   }
 }
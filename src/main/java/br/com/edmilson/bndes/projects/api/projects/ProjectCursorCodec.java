@@ -0,0 +1,56 @@
+package br.com.edmilson.bndes.projects.api.projects;
+
+import br.com.edmilson.bndes.projects.api.exception.ValidationException;
+import br.com.edmilson.bndes.projects.api.messages.ApiMessages;
+import br.com.edmilson.bndes.projects.api.repository.ProjectKeyset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Cursor opaco para paginação por keyset: "v1|sortKey|direção|id|createdAt" em Base64 URL-safe.
+ * A ordenação viaja no cursor para que a página seguinte não possa mudar de critério no meio.
+ */
+final class ProjectCursorCodec {
+
+  private static final String VERSION = "v1";
+  private static final String SEPARATOR = "|";
+
+  private ProjectCursorCodec() {}
+
+  static String encode(ProjectKeyset keyset) {
+    String raw = String.join(SEPARATOR,
+        VERSION,
+        keyset.sortKey().name(),
+        keyset.direction().name(),
+        String.valueOf(keyset.id()),
+        keyset.createdAt() == null ? "" : keyset.createdAt().toString()
+    );
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  static ProjectKeyset decode(String cursor) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\" + SEPARATOR, -1);
+      if (parts.length != 5 || !VERSION.equals(parts[0])) {
+        throw new ValidationException(ApiMessages.INVALID_CURSOR);
+      }
+
+      ProjectKeyset.SortKey sortKey = ProjectKeyset.SortKey.valueOf(parts[1]);
+      Sort.Direction direction = Sort.Direction.valueOf(parts[2]);
+      Long id = Long.valueOf(parts[3]);
+      Instant createdAt = parts[4].isEmpty() ? null : Instant.parse(parts[4]);
+
+      if (sortKey == ProjectKeyset.SortKey.CREATED_AT && createdAt == null) {
+        throw new ValidationException(ApiMessages.INVALID_CURSOR);
+      }
+      return new ProjectKeyset(sortKey, direction, createdAt, id);
+
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new ValidationException(ApiMessages.INVALID_CURSOR);
+    }
+  }
+}
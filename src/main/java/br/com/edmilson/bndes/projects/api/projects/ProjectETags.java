@@ -0,0 +1,51 @@
+package br.com.edmilson.bndes.projects.api.projects;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ETags fortes de /projects/{id}, derivados de projects.version. If-None-Match usa comparação
+ * fraca e If-Match comparação forte (RFC 9110).
+ */
+final class ProjectETags {
+
+  private ProjectETags() {}
+
+  static String of(Long version) {
+    return "\"" + (version == null ? 0 : version) + "\"";
+  }
+
+  static boolean noneMatchHits(String ifNoneMatch, Long version) {
+    if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+    String current = of(version);
+
+    for (String tag : ifNoneMatch.split(",")) {
+      String t = tag.trim();
+      if (t.equals("*")) return true;
+      if (t.startsWith("W/")) t = t.substring(2);
+      if (t.equals(current)) return true;
+    }
+    return false;
+  }
+
+  /**
+   * Versões aceitas pelo If-Match; null quando não há precondição (header ausente ou "*").
+   * Tags fracas ou inválidas são ignoradas, então nunca casam.
+   */
+  static List<Long> parseIfMatch(String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank()) return null;
+
+    List<Long> versions = new ArrayList<>();
+    for (String tag : ifMatch.split(",")) {
+      String t = tag.trim();
+      if (t.equals("*")) return null;
+      if (t.length() < 3 || !t.startsWith("\"") || !t.endsWith("\"")) continue;
+      try {
+        versions.add(Long.parseLong(t.substring(1, t.length() - 1)));
+      } catch (NumberFormatException ignored) {
+        // ETag que não veio desta API: não casa com nenhuma versão
+      }
+    }
+    return versions;
+  }
+}
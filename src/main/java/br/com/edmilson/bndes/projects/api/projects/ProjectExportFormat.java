@@ -0,0 +1,50 @@
+package br.com.edmilson.bndes.projects.api.projects;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+/** Formato da exportação de projetos, escolhido pelo header Accept. */
+public enum ProjectExportFormat {
+  NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+  CSV(new MediaType("text", "csv"), "csv");
+
+  private final MediaType mediaType;
+  private final String extension;
+
+  ProjectExportFormat(MediaType mediaType, String extension) {
+    this.mediaType = mediaType;
+    this.extension = extension;
+  }
+
+  public MediaType mediaType() {
+    return mediaType;
+  }
+
+  public String fileName() {
+    return "projects." + extension;
+  }
+
+  /** Primeiro formato aceito pelo cliente, respeitando o q; sem Accept (ou só wildcard) usa NDJSON. */
+  public static ProjectExportFormat fromAccept(String accept) {
+    if (accept == null || accept.isBlank()) return NDJSON;
+
+    List<MediaType> accepted;
+    try {
+      accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+    } catch (InvalidMediaTypeException e) {
+      return NDJSON;
+    }
+    accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+
+    for (MediaType type : accepted) {
+      if (type.isWildcardType()) return NDJSON;
+      for (ProjectExportFormat format : values()) {
+        if (type.includes(format.mediaType)) return format;
+      }
+    }
+    return NDJSON;
+  }
+}
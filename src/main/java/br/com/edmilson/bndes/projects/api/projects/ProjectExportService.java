@@ -0,0 +1,140 @@
+package br.com.edmilson.bndes.projects.api.projects;
+
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectResponse;
+import br.com.edmilson.bndes.projects.api.repository.ProjectExportRow;
+import br.com.edmilson.bndes.projects.api.repository.ProjectRepository;
+import br.com.edmilson.bndes.projects.api.security.AuthenticatedUser;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Exportação completa de projetos em NDJSON ou CSV. As linhas vão do cursor JDBC direto para o
+ * output stream da resposta, uma a uma: a memória fica constante independente do volume.
+ */
+@Service
+public class ProjectExportService {
+
+  static final String CSV_HEADER = "id,name,description,value,active,startDate,endDate,createdAt,updatedAt";
+
+  private final ProjectRepository projectRepository;
+  private final ProjectService projectService;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate readOnlyTx;
+
+  public ProjectExportService(
+      ProjectRepository projectRepository,
+      ProjectService projectService,
+      ObjectMapper objectMapper,
+      PlatformTransactionManager transactionManager
+  ) {
+    this.projectRepository = projectRepository;
+    this.projectService = projectService;
+    this.objectMapper = objectMapper;
+
+    this.readOnlyTx = new TransactionTemplate(transactionManager);
+    this.readOnlyTx.setReadOnly(true);
+  }
+
+  /**
+   * Resolve o escopo (dono/admin) ainda na thread da requisição; a leitura acontece depois, quando
+   * o Spring MVC escrever o corpo, dentro de uma transação somente leitura.
+   */
+  public StreamingResponseBody export(Boolean active, String q, ProjectExportFormat format) {
+    AuthenticatedUser currentUser = projectService.getCurrentUser();
+    Long ownerId = currentUser.isAdmin() ? null : currentUser.id();
+    String query = (q == null || q.isBlank()) ? null : q.trim();
+
+    return out -> readOnlyTx.executeWithoutResult(status -> {
+      try {
+        if (format == ProjectExportFormat.CSV) {
+          writeCsv(out, rows -> projectRepository.streamForExport(ownerId, active, query, rows));
+        } else {
+          writeNdjson(out, rows -> projectRepository.streamForExport(ownerId, active, query, rows));
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+
+  private void writeNdjson(OutputStream out, Consumer<Consumer<ProjectExportRow>> source) throws IOException {
+    JsonGenerator gen = objectMapper.getFactory().createGenerator(out);
+    gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(gen)) {
+      source.accept(row -> {
+        try {
+          writer.write(toResponse(row));
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    }
+    gen.close();
+    out.write('\n');
+    out.flush();
+  }
+
+  private void writeCsv(OutputStream out, Consumer<Consumer<ProjectExportRow>> source) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+    writer.write(CSV_HEADER);
+    writer.write("\r\n");
+
+    source.accept(row -> {
+      try {
+        writeCsvRow(writer, row);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+    writer.flush();
+  }
+
+  private void writeCsvRow(Writer w, ProjectExportRow r) throws IOException {
+    w.write(String.valueOf(r.id()));
+    w.write(',');
+    w.write(CsvRecordReader.escape(r.name()));
+    w.write(',');
+    w.write(CsvRecordReader.escape(r.description()));
+    w.write(',');
+    w.write(r.value() == null ? "" : r.value().toPlainString());
+    w.write(',');
+    w.write(r.active() == null ? "" : r.active().toString());
+    w.write(',');
+    w.write(r.startDate() == null ? "" : r.startDate().toString());
+    w.write(',');
+    w.write(r.endDate() == null ? "" : r.endDate().toString());
+    w.write(',');
+    w.write(r.createdAt() == null ? "" : r.createdAt().toString());
+    w.write(',');
+    w.write(r.updatedAt() == null ? "" : r.updatedAt().toString());
+    w.write("\r\n");
+  }
+
+  private ProjectResponse toResponse(ProjectExportRow r) {
+    return new ProjectResponse(
+        r.id(),
+        r.name(),
+        r.description(),
+        r.value(),
+        r.active(),
+        r.startDate(),
+        r.endDate(),
+        r.createdAt(),
+        r.updatedAt()
+    );
+  }
+}
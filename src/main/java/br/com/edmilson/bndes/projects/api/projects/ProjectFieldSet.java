@@ -0,0 +1,52 @@
+package br.com.edmilson.bndes.projects.api.projects;
+
+import br.com.edmilson.bndes.projects.api.exception.ValidationException;
+import br.com.edmilson.bndes.projects.api.messages.ApiMessages;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectResponse;
+import br.com.edmilson.bndes.projects.api.repository.ProjectField;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sparse fieldset da listagem ({@code fields=id,name,value}): define as colunas lidas do banco
+ * e as chaves do JSON, na ordem pedida.
+ */
+final class ProjectFieldSet {
+
+  private final Set<ProjectField> fields;
+
+  private ProjectFieldSet(Set<ProjectField> fields) {
+    this.fields = Collections.unmodifiableSet(fields);
+  }
+
+  /** Vazio = todos os campos. */
+  static ProjectFieldSet parse(String value) {
+    if (value == null || value.isBlank()) {
+      return new ProjectFieldSet(EnumSet.allOf(ProjectField.class));
+    }
+
+    Set<ProjectField> fields = new LinkedHashSet<>();
+    for (String name : value.split(",")) {
+      if (name.isBlank()) continue;
+      ProjectField f = ProjectField.fromProperty(name.trim());
+      if (f == null) throw new ValidationException(ApiMessages.INVALID_FIELDS);
+      fields.add(f);
+    }
+    if (fields.isEmpty()) throw new ValidationException(ApiMessages.INVALID_FIELDS);
+    return new ProjectFieldSet(fields);
+  }
+
+  Set<ProjectField> fields() {
+    return fields;
+  }
+
+  Map<String, Object> render(ProjectResponse response) {
+    Map<String, Object> out = new LinkedHashMap<>(fields.size() * 2);
+    for (ProjectField f : fields) out.put(f.property(), f.valueOf(response));
+    return out;
+  }
+}
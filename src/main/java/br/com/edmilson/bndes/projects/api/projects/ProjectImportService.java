@@ -0,0 +1,320 @@
+package br.com.edmilson.bndes.projects.api.projects;
+
+import br.com.edmilson.bndes.projects.api.exception.ResourceNotFoundException;
+import br.com.edmilson.bndes.projects.api.exception.ValidationException;
+import br.com.edmilson.bndes.projects.api.messages.ApiMessages;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectCreateRequest;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectImportError;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectImportResponse;
+import br.com.edmilson.bndes.projects.api.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Importação em massa de projetos (admin). O CSV é lido em streaming; cada linha passa pelas
+ * mesmas regras do {@link ProjectCreateRequest} e de {@link ProjectService#validateDates}. As
+ * válidas seguem pelo COPY do driver para uma tabela temporária e entram em projects com um único
+ * INSERT ... SELECT; as inválidas voltam no relatório.
+ */
+@Service
+public class ProjectImportService {
+
+  private static final Logger log = LoggerFactory.getLogger(ProjectImportService.class);
+
+  static final int MAX_REPORTED_ERRORS = 1000;
+  private static final int COPY_BUFFER_CHARS = 64 * 1024;
+
+  static final List<String> REQUIRED_COLUMNS = List.of("name", "description", "value", "startDate");
+  static final List<String> OPTIONAL_COLUMNS = List.of("active", "endDate");
+
+  private static final String CREATE_STAGING = """
+      CREATE TEMP TABLE project_import_staging (
+        line_no BIGINT NOT NULL,
+        name VARCHAR(120) NOT NULL,
+        description VARCHAR(2000) NOT NULL,
+        value NUMERIC(14,2) NOT NULL,
+        active BOOLEAN NOT NULL,
+        start_date DATE,
+        end_date DATE
+      ) ON COMMIT DROP
+      """;
+
+  private static final String COPY_STAGING = """
+      COPY project_import_staging (line_no, name, description, value, active, start_date, end_date)
+      FROM STDIN WITH (FORMAT csv)
+      """;
+
+  private static final String MERGE_STAGING = """
+      INSERT INTO projects (user_id, name, description, value, active, start_date, end_date, created_at)
+      SELECT ?, s.name, s.description, s.value, s.active, s.start_date, s.end_date, now()
+        FROM project_import_staging s
+       ORDER BY s.line_no
+      """;
+
+  // as linhas em staging são exatamente as inseridas: o agregado sai delas, um UPSERT por grupo
+  private static final String ROLLUP_STAGING = """
+      INSERT INTO project_stats (user_id, active, start_year, project_count, total_value)
+      SELECT ?, s.active, COALESCE(EXTRACT(YEAR FROM s.start_date)::int, 0), COUNT(*), SUM(s.value)
+        FROM project_import_staging s
+       GROUP BY 2, 3
+       ORDER BY 2, 3
+      ON CONFLICT (user_id, active, start_year) DO UPDATE
+         SET project_count = project_stats.project_count + EXCLUDED.project_count,
+             total_value = project_stats.total_value + EXCLUDED.total_value
+      """;
+
+  private final DataSource dataSource;
+  private final JdbcTemplate jdbcTemplate;
+  private final UserRepository userRepository;
+  private final ProjectService projectService;
+  private final Validator validator;
+
+  public ProjectImportService(
+      DataSource dataSource,
+      JdbcTemplate jdbcTemplate,
+      UserRepository userRepository,
+      ProjectService projectService,
+      Validator validator
+  ) {
+    this.dataSource = dataSource;
+    this.jdbcTemplate = jdbcTemplate;
+    this.userRepository = userRepository;
+    this.projectService = projectService;
+    this.validator = validator;
+  }
+
+  @Transactional
+  public ProjectImportResponse importCsv(Long ownerId, InputStream body) {
+    if (ownerId == null || !userRepository.existsById(ownerId)) {
+      throw new ResourceNotFoundException(ApiMessages.USER_NOT_FOUND);
+    }
+
+    long start = System.nanoTime();
+    CsvRecordReader reader = new CsvRecordReader(
+        new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), COPY_BUFFER_CHARS)
+    );
+
+    Map<String, Integer> columns = readHeader(reader);
+
+    jdbcTemplate.execute(CREATE_STAGING);
+
+    // mesma conexão da transação: a tabela temporária e o INSERT final precisam enxergar o COPY
+    Connection con = DataSourceUtils.getConnection(dataSource);
+    CopyIn copyIn = null;
+    try {
+      copyIn = con.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGING);
+
+      ImportReport report = stream(reader, columns, copyIn);
+      long staged = copyIn.endCopy();
+      copyIn = null;
+
+      int imported = 0;
+      if (staged > 0) {
+        imported = jdbcTemplate.update(MERGE_STAGING, ownerId);
+        jdbcTemplate.update(ROLLUP_STAGING, ownerId);
+      }
+
+      log.info("Project import for user {}: {} rows read, {} imported, {} rejected in {} ms.",
+          ownerId, report.total, imported, report.rejected, (System.nanoTime() - start) / 1_000_000);
+
+      return new ProjectImportResponse(
+          report.total,
+          imported,
+          report.rejected,
+          report.errors,
+          report.rejected > report.errors.size()
+      );
+
+    } catch (IOException e) {
+      throw new ValidationException(ApiMessages.IMPORT_READ_FAILED);
+    } catch (SQLException e) {
+      throw new IllegalStateException("Failed to import projects.", e);
+    } finally {
+      cancelQuietly(copyIn);
+      DataSourceUtils.releaseConnection(con, dataSource);
+    }
+  }
+
+  private ImportReport stream(CsvRecordReader reader, Map<String, Integer> columns, CopyIn copyIn)
+      throws IOException, SQLException {
+    ImportReport report = new ImportReport();
+    StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS + 1024);
+
+    List<String> fields;
+    while ((fields = reader.next()) != null) {
+      report.total++;
+      long line = reader.recordLine();
+
+      ParsedRow row = parseRow(columns, fields);
+      List<String> errors = row.errors().isEmpty() ? validate(row.request()) : row.errors();
+
+      if (!errors.isEmpty()) {
+        report.reject(line, errors);
+        continue;
+      }
+
+      appendCopyRow(buffer, line, row.request());
+      if (buffer.length() >= COPY_BUFFER_CHARS) {
+        writeToCopy(copyIn, buffer);
+      }
+    }
+    if (!buffer.isEmpty()) writeToCopy(copyIn, buffer);
+
+    return report;
+  }
+
+  private Map<String, Integer> readHeader(CsvRecordReader reader) {
+    List<String> header;
+    try {
+      header = reader.next();
+    } catch (IOException e) {
+      throw new ValidationException(ApiMessages.IMPORT_READ_FAILED);
+    }
+    if (header == null) throw new ValidationException(ApiMessages.IMPORT_INVALID_HEADER);
+
+    Map<String, Integer> columns = new HashMap<>();
+    for (int i = 0; i < header.size(); i++) {
+      String name = (header.get(i) == null) ? "" : header.get(i).trim().toLowerCase(Locale.ROOT);
+      for (String known : REQUIRED_COLUMNS) {
+        if (known.toLowerCase(Locale.ROOT).equals(name)) columns.put(known, i);
+      }
+      for (String known : OPTIONAL_COLUMNS) {
+        if (known.toLowerCase(Locale.ROOT).equals(name)) columns.put(known, i);
+      }
+    }
+
+    if (!columns.keySet().containsAll(REQUIRED_COLUMNS)) {
+      throw new ValidationException(ApiMessages.IMPORT_INVALID_HEADER);
+    }
+    return columns;
+  }
+
+  /** Converte os campos de texto; erros de formato voltam na lista em vez de exceção. */
+  static ParsedRow parseRow(Map<String, Integer> columns, List<String> fields) {
+    List<String> errors = new ArrayList<>();
+
+    String name = field(columns, fields, "name");
+    String description = field(columns, fields, "description");
+
+    BigDecimal value = null;
+    String rawValue = field(columns, fields, "value");
+    if (rawValue != null && !rawValue.isBlank()) {
+      try {
+        value = new BigDecimal(rawValue.trim());
+        // NUMERIC(14,2): um valor maior derrubaria o COPY inteiro
+        if (value.precision() - value.scale() > 12) {
+          errors.add("Value must have at most 12 integer digits.");
+        }
+      } catch (NumberFormatException e) {
+        errors.add("Value must be a number.");
+      }
+    }
+
+    Boolean active = null;
+    String rawActive = field(columns, fields, "active");
+    if (rawActive != null && !rawActive.isBlank()) {
+      String a = rawActive.trim();
+      if (a.equalsIgnoreCase("true")) active = true;
+      else if (a.equalsIgnoreCase("false")) active = false;
+      else errors.add("Active must be true or false.");
+    }
+
+    LocalDate startDate = date(field(columns, fields, "startDate"), "Start date", errors);
+    LocalDate endDate = date(field(columns, fields, "endDate"), "End date", errors);
+
+    return new ParsedRow(new ProjectCreateRequest(name, description, value, active, startDate, endDate), errors);
+  }
+
+  private List<String> validate(ProjectCreateRequest req) {
+    List<String> errors = new ArrayList<>(
+        validator.validate(req).stream().map(ConstraintViolation::getMessage).sorted().toList()
+    );
+    if (errors.isEmpty()) {
+      try {
+        projectService.validateDates(req.startDate(), req.endDate());
+      } catch (ValidationException e) {
+        errors.add(e.getMessage());
+      }
+    }
+    return errors;
+  }
+
+  private static String field(Map<String, Integer> columns, List<String> fields, String column) {
+    Integer idx = columns.get(column);
+    if (idx == null || idx >= fields.size()) return null;
+    return fields.get(idx);
+  }
+
+  private static LocalDate date(String raw, String label, List<String> errors) {
+    if (raw == null || raw.isBlank()) return null;
+    try {
+      return LocalDate.parse(raw.trim());
+    } catch (DateTimeParseException e) {
+      errors.add(label + " must be an ISO date (yyyy-MM-dd).");
+      return null;
+    }
+  }
+
+  private static void appendCopyRow(StringBuilder out, long line, ProjectCreateRequest r) {
+    out.append(line).append(',')
+        .append(CsvRecordReader.escape(r.name())).append(',')
+        .append(CsvRecordReader.escape(r.description())).append(',')
+        .append(r.value().toPlainString()).append(',')
+        .append(r.active() == null || r.active()).append(',')
+        .append(r.startDate() == null ? "" : r.startDate().toString()).append(',')
+        .append(r.endDate() == null ? "" : r.endDate().toString())
+        .append('\n');
+  }
+
+  private static void writeToCopy(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+    byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+    copyIn.writeToCopy(bytes, 0, bytes.length);
+    buffer.setLength(0);
+  }
+
+  private static void cancelQuietly(CopyIn copyIn) {
+    if (copyIn == null || !copyIn.isActive()) return;
+    try {
+      copyIn.cancelCopy();
+    } catch (SQLException ignored) {
+      // a transação vai ser desfeita de qualquer forma
+    }
+  }
+
+  record ParsedRow(ProjectCreateRequest request, List<String> errors) {}
+
+  private static final class ImportReport {
+    long total;
+    long rejected;
+    final List<ProjectImportError> errors = new ArrayList<>();
+
+    void reject(long line, List<String> messages) {
+      rejected++;
+      if (errors.size() < MAX_REPORTED_ERRORS) errors.add(new ProjectImportError(line, messages));
+    }
+  }
+}
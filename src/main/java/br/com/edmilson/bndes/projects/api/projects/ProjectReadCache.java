@@ -0,0 +1,217 @@
+package br.com.edmilson.bndes.projects.api.projects;
+
+import br.com.edmilson.bndes.projects.api.cluster.PgChannelHandler;
+import br.com.edmilson.bndes.projects.api.cluster.PgNotifier;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectResponse;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache de leitura de /projects/{id}: resposta + dono + versão + excluído, com TTL e limite de
+ * entradas. Escritas pela API atualizam este nó após o commit e avisam os demais via NOTIFY
+ * {@value #CHANNEL} (payload {@code id[:versão[:deleted]]}, ou vários separados por vírgula para
+ * escritas em lote); o TTL cobre alterações feitas direto no banco.
+ *
+ * <p>Cada entrada guarda a versão (@Version): uma leitura lenta que termina depois de uma escrita
+ * não consegue sobrescrever o cache com uma versão mais antiga.
+ */
+@Component
+public class ProjectReadCache implements PgChannelHandler {
+
+  static final String CHANNEL = "project_cache";
+
+  // payload do NOTIFY tem limite de 8000 bytes (id:versão com dois longs = até 39 caracteres)
+  private static final int MAX_IDS_PER_NOTIFY = 150;
+
+  /** Projeto em cache; {@code deleted} = tombstone de exclusão lógica feita pela API. */
+  public record CachedProject(ProjectResponse body, Long ownerId, long version, boolean deleted) {
+
+    static CachedProject tombstone(Long ownerId, long version) {
+      return new CachedProject(null, ownerId, version, true);
+    }
+  }
+
+  public record Stats(long hits, long misses, long evictions, long invalidations, int size) {}
+
+  private final PgNotifier pgNotifier;
+  private final long ttlNanos;
+  private final int maxEntries;
+  private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder invalidations = new LongAdder();
+
+  public ProjectReadCache(
+      PgNotifier pgNotifier,
+      @Value("${app.projects.cacheTtlSeconds:60}") long ttlSeconds,
+      @Value("${app.projects.cacheMaxEntries:10000}") int maxEntries
+  ) {
+    this.pgNotifier = pgNotifier;
+    this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    this.maxEntries = maxEntries;
+  }
+
+  /** Entrada válida do cache ou, na falta, o resultado do {@code loader} (null = não encontrado). */
+  public CachedProject get(Long id, Supplier<CachedProject> loader) {
+    CachedProject cached = peek(id);
+    if (cached != null) return cached;
+
+    CachedProject loaded = loader.get();
+    if (loaded != null) store(id, loaded);
+    return loaded;
+  }
+
+  /** Só consulta o cache (conta hit/miss), sem carregar. */
+  public CachedProject peek(Long id) {
+    long now = System.nanoTime();
+    Entry e = entries.get(id);
+
+    if (e != null && now - e.loadedAtNanos() >= ttlNanos) {
+      if (entries.remove(id, e)) evictions.increment();
+      e = null;
+    }
+    if (e == null || e.value() == null) {
+      misses.increment();
+      return null;
+    }
+    hits.increment();
+    return e.value();
+  }
+
+  /** Grava a nova versão após o commit (write-through) e invalida os outros nós. */
+  public void updated(Long id, CachedProject fresh) {
+    publish(id, fresh.version() + "", () -> store(id, fresh));
+  }
+
+  /** Exclusão lógica: tombstone aqui, para 404 sem ir ao banco; os outros nós só descartam. */
+  public void deleted(Long id, Long ownerId, long version) {
+    publish(id, version + ":deleted", () -> store(id, CachedProject.tombstone(ownerId, version)));
+  }
+
+  /** Descarta a entrada aqui e nos outros nós, quando não há a versão nova em mãos. */
+  public void invalidate(Long id) {
+    publish(id, null, () -> remove(id));
+  }
+
+  /**
+   * Escrita em lote sem o corpo em mãos: piso de versão (id → versão após o flush) aqui e nos outros
+   * nós, com um NOTIFY {@code id:versão,id:versão,...} por lote em vez de um por id.
+   */
+  public void updatedAll(Map<Long, Long> versionsById) {
+    if (versionsById.isEmpty()) return;
+
+    List<Map.Entry<Long, Long>> copy = List.copyOf(versionsById.entrySet());
+    for (int from = 0; from < copy.size(); from += MAX_IDS_PER_NOTIFY) {
+      List<Map.Entry<Long, Long>> part = copy.subList(from, Math.min(from + MAX_IDS_PER_NOTIFY, copy.size()));
+      pgNotifier.notify(CHANNEL, part.stream().map(e -> e.getKey() + ":" + e.getValue()).collect(Collectors.joining(",")));
+    }
+    afterCommit(() -> copy.forEach(e -> floor(e.getKey(), e.getValue())));
+  }
+
+  public Stats stats() {
+    return new Stats(hits.sum(), misses.sum(), evictions.sum(), invalidations.sum(), entries.size());
+  }
+
+  @Override
+  public String channel() {
+    return CHANNEL;
+  }
+
+  @Override
+  public void onNotification(String payload) {
+    for (String item : payload.split(",")) {
+      try {
+        String[] parts = item.split(":");
+        Long id = Long.valueOf(parts[0]);
+
+        if (parts.length == 1) {
+          remove(id);
+        } else {
+          floor(id, Long.parseLong(parts[1]));
+        }
+      } catch (RuntimeException ignored) {
+        // item inválido: o TTL resolve
+      }
+    }
+  }
+
+  @Override
+  public void onResync() {
+    invalidations.add(entries.size());
+    entries.clear();
+  }
+
+  private void publish(Long id, String versionSuffix, Runnable local) {
+    pgNotifier.notify(CHANNEL, (versionSuffix == null) ? String.valueOf(id) : id + ":" + versionSuffix);
+    afterCommit(local);
+  }
+
+  private void afterCommit(Runnable local) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          local.run();
+        }
+      });
+    } else {
+      local.run();
+    }
+  }
+
+  private void store(Long id, CachedProject value) {
+    if (ttlNanos <= 0 || maxEntries <= 0) return;
+    if (entries.size() >= maxEntries) makeRoom();
+
+    long now = System.nanoTime();
+    entries.compute(id, (k, old) ->
+        (old != null && old.version() > value.version()) ? old : new Entry(value, value.version(), now));
+  }
+
+  // piso de versão: leituras antigas ainda em voo não voltam a popular o cache.
+  // O próprio nó também recebe o NOTIFY; a entrada gravada no commit (mesma versão) fica.
+  private void floor(Long id, long version) {
+    entries.compute(id, (k, old) -> {
+      if (old != null && old.version() >= version) return old;
+      invalidations.increment();
+      return new Entry(null, version, System.nanoTime());
+    });
+  }
+
+  private void remove(Long id) {
+    if (entries.remove(id) != null) invalidations.increment();
+  }
+
+  // Expirados primeiro; se ainda estiver cheio, descarta ~10% em ordem arbitrária
+  private void makeRoom() {
+    long now = System.nanoTime();
+    for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+      if (now - it.next().loadedAtNanos() >= ttlNanos) {
+        it.remove();
+        evictions.increment();
+      }
+    }
+
+    int target = maxEntries - Math.max(1, maxEntries / 10);
+    for (Iterator<Entry> it = entries.values().iterator(); it.hasNext() && entries.size() > target; ) {
+      it.next();
+      it.remove();
+      evictions.increment();
+    }
+  }
+
+  /** {@code value} null = só o piso de versão vindo de outro nó (conta como miss). */
+  private record Entry(CachedProject value, long version, long loadedAtNanos) {}
+}
@@ -1,61 +1,100 @@
 package br.com.edmilson.bndes.projects.api.projects;
 
 import br.com.edmilson.bndes.projects.api.exception.ForbiddenException;
+import br.com.edmilson.bndes.projects.api.exception.PreconditionFailedException;
 import br.com.edmilson.bndes.projects.api.exception.ResourceNotFoundException;
 import br.com.edmilson.bndes.projects.api.exception.UnauthorizedException;
 import br.com.edmilson.bndes.projects.api.exception.ValidationException;
 import br.com.edmilson.bndes.projects.api.messages.ApiMessages;
 import br.com.edmilson.bndes.projects.api.model.Project;
 import br.com.edmilson.bndes.projects.api.model.User;
+import br.com.edmilson.bndes.projects.api.projects.ProjectReadCache.CachedProject;
+import br.com.edmilson.bndes.projects.api.projects.dto.CursorPageResponse;
 import br.com.edmilson.bndes.projects.api.projects.dto.ProjectCreateRequest;
 import br.com.edmilson.bndes.projects.api.projects.dto.ProjectResponse;
 import br.com.edmilson.bndes.projects.api.projects.dto.ProjectUpdateRequest;
+import br.com.edmilson.bndes.projects.api.projects.dto.SliceResponse;
+import br.com.edmilson.bndes.projects.api.repository.ProjectField;
+import br.com.edmilson.bndes.projects.api.repository.ProjectKeyset;
 import br.com.edmilson.bndes.projects.api.repository.ProjectRepository;
+import br.com.edmilson.bndes.projects.api.repository.ProjectSearchRepository.SearchSlice;
+import br.com.edmilson.bndes.projects.api.repository.ProjectStatsDelta;
+import br.com.edmilson.bndes.projects.api.repository.ProjectStatsRepository;
+import br.com.edmilson.bndes.projects.api.repository.ProjectVersionView;
 import br.com.edmilson.bndes.projects.api.repository.UserRepository;
+import br.com.edmilson.bndes.projects.api.security.AuthenticatedUser;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 @Service
 public class ProjectService {
 
+  static final int MAX_CURSOR_PAGE_SIZE = 100;
+
   private final ProjectRepository projectRepository;
   private final UserRepository userRepository;
+  private final ProjectReadCache projectReadCache;
+  private final ProjectStatsRepository projectStatsRepository;
 
-  public ProjectService(ProjectRepository projectRepository, UserRepository userRepository) {
+  public ProjectService(
+      ProjectRepository projectRepository,
+      UserRepository userRepository,
+      ProjectReadCache projectReadCache,
+      ProjectStatsRepository projectStatsRepository
+  ) {
     this.projectRepository = projectRepository;
     this.userRepository = userRepository;
+    this.projectReadCache = projectReadCache;
+    this.projectStatsRepository = projectStatsRepository;
   }
 
+  // Escritas transacionais: project_stats é atualizado na mesma transação do projeto
+  @Transactional
   public ProjectResponse create(ProjectCreateRequest req) {
-    User currentUser = getCurrentUser();
+    AuthenticatedUser currentUser = getCurrentUser();
 
     Project p = new Project();
-    p.setUser(currentUser); // ✅ dono do projeto
+    p.setUser(userRepository.getReferenceById(currentUser.id())); // ✅ dono do projeto (referência, sem SELECT)
     applyCreate(p, req);
     validateDates(p.getStartDate(), p.getEndDate());
 
     Project saved = projectRepository.save(p);
+
+    ProjectStatsDelta stats = new ProjectStatsDelta();
+    stats.add(currentUser.id(), saved);
+    projectStatsRepository.apply(stats);
+
     return toResponse(saved);
   }
   
   public Page<ProjectResponse> list(Boolean active, String q, Pageable pageable) {
-    User currentUser = getCurrentUser();
+    return list(active, q, pageable, CountMode.EXACT);
+  }
+
+  public Page<ProjectResponse> list(Boolean active, String q, Pageable pageable, CountMode countMode) {
+    AuthenticatedUser currentUser = getCurrentUser();
     boolean hasQuery = (q != null && !q.isBlank());
 
-    boolean isAdmin = currentUser.getRole() != null && currentUser.getRole().name().equals("ADMIN");
+    boolean isAdmin = currentUser.isAdmin();
 
     if (!hasQuery) {
       if (isAdmin) {
         return projectRepository.findAllActive(active, pageable).map(this::toResponse);
       }
-      return projectRepository.findAllByUserEmail(currentUser.getEmail(), active, pageable)
+      return projectRepository.findAllByUserId(currentUser.id(), active, pageable)
           .map(this::toResponse);
     }
 
@@ -63,70 +102,291 @@ public class ProjectService {
         ? Pageable.unpaged()
         : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
 
+    if (countMode == CountMode.WINDOW && noSort.isPaged()) {
+      Long ownerId = isAdmin ? null : currentUser.id();
+      return projectRepository.searchWithWindowCount(ownerId, active, q.trim(), noSort)
+          .map(this::toResponse);
+    }
+
     if (isAdmin) {
       return projectRepository.searchAll(active, q.trim(), noSort).map(this::toResponse);
     }
 
-    return projectRepository.searchByUserEmail(currentUser.getEmail(), active, q.trim(), noSort)
+    return projectRepository.searchByUserId(currentUser.id(), active, q.trim(), noSort)
         .map(this::toResponse);
   }
 
+  // fields=: JDBC direto para ProjectResponse, só com as colunas pedidas (sem hidratar entidades).
+  // O COUNT só roda quando a própria página não basta para saber o total.
+  public Page<Map<String, Object>> listFields(Boolean active, String q, Pageable pageable, String fields) {
+    ProjectFieldSet fieldSet = ProjectFieldSet.parse(fields);
+    AuthenticatedUser currentUser = getCurrentUser();
+    Long ownerId = currentUser.isAdmin() ? null : currentUser.id();
+    String query = (q == null || q.isBlank()) ? null : q.trim();
+
+    List<ProjectResponse> rows = projectRepository.findResponses(
+        ownerId, active, query, fieldSet.fields(), checkSort(pageable.getSort()), pageable.getOffset(), pageable.getPageSize());
+
+    return PageableExecutionUtils.getPage(rows, pageable, () -> projectRepository.countResponses(ownerId, active, query))
+        .map(fieldSet::render);
+  }
+
+  public SliceResponse<Map<String, Object>> listSliceFields(Boolean active, String q, Pageable pageable, String fields) {
+    ProjectFieldSet fieldSet = ProjectFieldSet.parse(fields);
+    AuthenticatedUser currentUser = getCurrentUser();
+    Long ownerId = currentUser.isAdmin() ? null : currentUser.id();
+    String query = (q == null || q.isBlank()) ? null : q.trim();
+    int size = pageable.getPageSize();
+
+    List<ProjectResponse> rows = projectRepository.findResponses(
+        ownerId, active, query, fieldSet.fields(), checkSort(pageable.getSort()), pageable.getOffset(), size + 1);
+    boolean hasNext = rows.size() > size;
+    List<ProjectResponse> pageRows = hasNext ? rows.subList(0, size) : rows;
+
+    return new SliceResponse<>(
+        pageRows.stream().map(fieldSet::render).toList(),
+        pageable.getPageNumber(),
+        size,
+        hasNext,
+        false
+    );
+  }
+
+  // count=none: nenhum COUNT; busca size + 1 linhas e informa apenas hasNext.
+  public SliceResponse<ProjectResponse> listSlice(Boolean active, String q, Pageable pageable) {
+    AuthenticatedUser currentUser = getCurrentUser();
+    boolean hasQuery = (q != null && !q.isBlank());
+    boolean isAdmin = currentUser.isAdmin();
+
+    if (!hasQuery) {
+      Slice<Project> slice = isAdmin
+          ? projectRepository.sliceAllActive(active, pageable)
+          : projectRepository.sliceAllByUserId(currentUser.id(), active, pageable);
+
+      return new SliceResponse<>(
+          slice.getContent().stream().map(this::toResponse).toList(),
+          pageable.getPageNumber(),
+          pageable.getPageSize(),
+          slice.hasNext(),
+          false
+      );
+    }
+
+    Long ownerId = isAdmin ? null : currentUser.id();
+    int size = pageable.getPageSize();
+
+    SearchSlice found = projectRepository.searchSlice(ownerId, active, q.trim(), pageable.getOffset(), size + 1);
+    List<Project> rows = found.rows();
+    boolean hasNext = rows.size() > size;
+    List<Project> pageRows = hasNext ? rows.subList(0, size) : rows;
+
+    return new SliceResponse<>(
+        pageRows.stream().map(this::toResponse).toList(),
+        pageable.getPageNumber(),
+        size,
+        hasNext,
+        found.truncated()
+    );
+  }
+
+  // Paginação por keyset: sem OFFSET e sem COUNT, latência constante em qualquer profundidade.
+  public CursorPageResponse<ProjectResponse> listByCursor(Boolean active, String q, String after, int size, Sort sort) {
+    AuthenticatedUser currentUser = getCurrentUser();
+
+    if (q != null && !q.isBlank()) {
+      throw new ValidationException(ApiMessages.CURSOR_SEARCH_UNSUPPORTED);
+    }
+    if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+      throw new ValidationException(ApiMessages.INVALID_PAGE_SIZE);
+    }
+
+    ProjectKeyset requested = keysetFor(sort);
+    ProjectKeyset keyset = requested;
+    if (after != null && !after.isBlank()) {
+      keyset = ProjectCursorCodec.decode(after);
+      if (keyset.sortKey() != requested.sortKey() || keyset.direction() != requested.direction()) {
+        throw new ValidationException(ApiMessages.INVALID_CURSOR);
+      }
+    }
+
+    Long ownerId = currentUser.isAdmin() ? null : currentUser.id();
+
+    // size + 1: a linha extra só indica se existe próxima página
+    List<Project> rows = projectRepository.findKeysetPage(ownerId, active, keyset, size + 1);
+    boolean hasNext = rows.size() > size;
+    List<Project> pageRows = hasNext ? rows.subList(0, size) : rows;
+
+    String nextCursor = hasNext
+        ? ProjectCursorCodec.encode(keyset.after(pageRows.get(pageRows.size() - 1)))
+        : null;
+
+    return new CursorPageResponse<>(
+        pageRows.stream().map(this::toResponse).toList(),
+        size,
+        nextCursor
+    );
+  }
+
   public ProjectResponse getById(Long id) {
-    String email = getCurrentUser().getEmail();
-    Project p = getOwnedOrThrow(id, email);
-    return toResponse(p);
+    return getReadableOrThrow(id, getCurrentUser()).body();
   }
 
+  public Versioned<ProjectResponse> getVersioned(Long id) {
+    CachedProject p = getReadableOrThrow(id, getCurrentUser());
+    return new Versioned<>(p.body(), p.version());
+  }
+
+  // Só dono + versão: responde If-None-Match sem hidratar a entidade (ou direto do cache)
+  public Long getVersion(Long id) {
+    AuthenticatedUser currentUser = getCurrentUser();
+
+    CachedProject cached = projectReadCache.peek(id);
+    if (cached != null) {
+      checkReadable(cached, currentUser);
+      return cached.version();
+    }
+
+    ProjectVersionView v = projectRepository.findActiveVersionById(id)
+        .orElseThrow(() -> new ResourceNotFoundException(ApiMessages.PROJECT_NOT_FOUND));
+
+    if (!currentUser.isAdmin() && !v.getUserId().equals(currentUser.id())) {
+      throw new ForbiddenException(ApiMessages.PROJECT_ACCESS_FORBIDDEN);
+    }
+    return v.getVersion();
+  }
+
+  @Transactional
   public ProjectResponse update(Long id, ProjectUpdateRequest req) {
-    String email = getCurrentUser().getEmail();
-    Project p = getOwnedOrThrow(id, email);
+    return update(id, req, null).body();
+  }
+
+  /** {@code ifMatch} null = sem precondição; caso contrário a versão atual precisa estar na lista. */
+  @Transactional
+  public Versioned<ProjectResponse> update(Long id, ProjectUpdateRequest req, Collection<Long> ifMatch) {
+    Project p = getOwnedOrThrow(id, getCurrentUser());
+    checkIfMatch(p, ifMatch);
+
+    ProjectStatsDelta stats = new ProjectStatsDelta();
+    stats.remove(p.getUser().getId(), p);
 
     applyUpdate(p, req);
     validateDates(p.getStartDate(), p.getEndDate());
 
-    return toResponse(projectRepository.save(p));
+    // flush agora: a versão nova vai para o ETag/cache e o conflito de @Version aparece antes do agregado
+    Project saved = projectRepository.saveAndFlush(p);
+    stats.add(saved.getUser().getId(), saved);
+    projectStatsRepository.apply(stats);
+
+    CachedProject fresh = toCached(saved);
+    projectReadCache.updated(saved.getId(), fresh);
+
+    return new Versioned<>(fresh.body(), fresh.version());
   }
 
   // RF06 — logical delete
+  @Transactional
   public void delete(Long id) {
-    String email = getCurrentUser().getEmail();
-    Project p = getOwnedOrThrow(id, email);
+    delete(id, null);
+  }
+
+  @Transactional
+  public void delete(Long id, Collection<Long> ifMatch) {
+    Project p = getOwnedOrThrow(id, getCurrentUser());
+    checkIfMatch(p, ifMatch);
+
+    ProjectStatsDelta stats = new ProjectStatsDelta();
+    stats.remove(p.getUser().getId(), p);
 
     p.softDelete();
-    projectRepository.save(p);
+    Project saved = projectRepository.saveAndFlush(p);
+    projectStatsRepository.apply(stats);
+    projectReadCache.deleted(saved.getId(), saved.getUser().getId(), versionOf(saved));
+  }
+
+  // Leitura via cache: dono e exclusão vêm junto, então a checagem de acesso não vai ao banco
+  private CachedProject getReadableOrThrow(Long id, AuthenticatedUser currentUser) {
+    CachedProject p = projectReadCache.get(id, () -> projectRepository.findActiveById(id)
+        .map(this::toCached)
+        .orElse(null));
+
+    if (p == null) throw new ResourceNotFoundException(ApiMessages.PROJECT_NOT_FOUND);
+    checkReadable(p, currentUser);
+    return p;
+  }
+
+  private void checkReadable(CachedProject p, AuthenticatedUser currentUser) {
+    if (p.deleted()) {
+      throw new ResourceNotFoundException(ApiMessages.PROJECT_NOT_FOUND);
+    }
+    if (!currentUser.isAdmin() && !p.ownerId().equals(currentUser.id())) {
+      throw new ForbiddenException(ApiMessages.PROJECT_ACCESS_FORBIDDEN);
+    }
+  }
+
+  private CachedProject toCached(Project p) {
+    return new CachedProject(toResponse(p), p.getUser().getId(), versionOf(p), p.isDeleted());
+  }
+
+  private static long versionOf(Project p) {
+    return (p.getVersion() == null) ? 0L : p.getVersion();
+  }
+
+  // Checagem rápida contra a versão lida; a corrida até o UPDATE é coberta pelo @Version
+  private void checkIfMatch(Project p, Collection<Long> ifMatch) {
+    if (ifMatch != null && (p.getVersion() == null || !ifMatch.contains(p.getVersion()))) {
+      throw new PreconditionFailedException(ApiMessages.PROJECT_VERSION_MISMATCH);
+    }
   }
   
-  private Project getOwnedOrThrow(Long id, String email) {
-    User currentUser = getCurrentUser();
-    boolean isAdmin = currentUser.getRole() != null && currentUser.getRole().name().equals("ADMIN");
+  // Uma única consulta: o dono é comparado pelo user_id da linha (o proxy LAZY expõe o id sem carregar o User).
+  private Project getOwnedOrThrow(Long id, AuthenticatedUser currentUser) {
+    Project p = projectRepository.findActiveById(id)
+        .orElseThrow(() -> new ResourceNotFoundException(ApiMessages.PROJECT_NOT_FOUND));
 
-    if (isAdmin) {
-      return projectRepository.findActiveById(id)
-          .orElseThrow(() -> new ResourceNotFoundException(ApiMessages.PROJECT_NOT_FOUND));
+    if (!currentUser.isAdmin() && !p.getUser().getId().equals(currentUser.id())) {
+      throw new ForbiddenException(ApiMessages.PROJECT_ACCESS_FORBIDDEN);
+    }
+    return p;
+  }
+
+  private Sort checkSort(Sort sort) {
+    for (Sort.Order order : sort) {
+      if (ProjectField.fromProperty(order.getProperty()) == null) {
+        throw new ValidationException(ApiMessages.INVALID_SORT);
+      }
     }
+    return sort;
+  }
 
-    Optional<Project> owned = projectRepository.findActiveByIdAndUserEmail(id, email);
-    if (owned.isPresent()) return owned.get();
+  private ProjectKeyset keysetFor(Sort sort) {
+    Sort.Order order = sort.stream().findFirst()
+        .orElse(Sort.Order.desc(ProjectKeyset.SortKey.ID.property()));
 
-    Optional<Project> exists = projectRepository.findActiveById(id);
-    if (exists.isEmpty()) {
-      throw new ResourceNotFoundException(ApiMessages.PROJECT_NOT_FOUND);
+    ProjectKeyset.SortKey sortKey = ProjectKeyset.SortKey.fromProperty(order.getProperty());
+    if (sortKey == null) {
+      throw new ValidationException(ApiMessages.CURSOR_SORT_UNSUPPORTED);
     }
-    throw new ForbiddenException(ApiMessages.PROJECT_ACCESS_FORBIDDEN);
+    return ProjectKeyset.first(sortKey, order.getDirection());
   }
 
-  private User getCurrentUser() {
+  // O JwtAuthFilter já coloca no contexto um AuthenticatedUser montado das claims do token;
+  // a busca em users fica só como fallback para autenticações de outra origem.
+  AuthenticatedUser getCurrentUser() {
     Authentication auth = SecurityContextHolder.getContext().getAuthentication();
     if (auth == null || !auth.isAuthenticated() || auth.getName() == null || auth.getName().isBlank()) {
       throw new UnauthorizedException(ApiMessages.UNAUTHORIZED);
     }
 
-    String email = auth.getName();
-    return userRepository.findByEmailIgnoreCase(email)
+    if (auth.getPrincipal() instanceof AuthenticatedUser principal) {
+      return principal;
+    }
+
+    User user = userRepository.findByEmailIgnoreCase(auth.getName())
         .orElseThrow(() -> new UnauthorizedException(ApiMessages.UNAUTHORIZED));
+    return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole());
   }
 
-  private void applyCreate(Project p, ProjectCreateRequest req) {
+  void applyCreate(Project p, ProjectCreateRequest req) {
     Boolean active = (req.active() != null) ? req.active() : Boolean.TRUE;
 
     p.setName(req.name());
@@ -137,7 +397,7 @@ public class ProjectService {
     p.setEndDate(req.endDate());
   }
 
-  private void applyUpdate(Project p, ProjectUpdateRequest req) {
+  void applyUpdate(Project p, ProjectUpdateRequest req) {
     if (req.name() != null && !req.name().isBlank()) {
       p.setName(req.name());
     }
@@ -158,7 +418,7 @@ public class ProjectService {
     }
   }
 
-  private ProjectResponse toResponse(Project p) {
+  ProjectResponse toResponse(Project p) {
     return new ProjectResponse(
         p.getId(),
         p.getName(),
@@ -172,7 +432,7 @@ public class ProjectService {
     );
   }
 
-  private void validateDates(LocalDate startDate, LocalDate endDate) {
+  void validateDates(LocalDate startDate, LocalDate endDate) {
     if (startDate != null && endDate != null && endDate.isBefore(startDate)) {
       throw new ValidationException("endDate must be greater than or equal to startDate.");
     }
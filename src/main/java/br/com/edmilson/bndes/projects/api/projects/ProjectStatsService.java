@@ -0,0 +1,120 @@
+package br.com.edmilson.bndes.projects.api.projects;
+
+import br.com.edmilson.bndes.projects.api.exception.ForbiddenException;
+import br.com.edmilson.bndes.projects.api.messages.ApiMessages;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectStatsRebuildResponse;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectStatsResponse;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectStatsResponse.ActiveStats;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectStatsResponse.OwnerStats;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectStatsResponse.YearStats;
+import br.com.edmilson.bndes.projects.api.repository.ProjectStatsDelta;
+import br.com.edmilson.bndes.projects.api.repository.ProjectStatsRepository;
+import br.com.edmilson.bndes.projects.api.repository.ProjectStatsRow;
+import br.com.edmilson.bndes.projects.api.security.AuthenticatedUser;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Estatísticas da carteira lidas do agregado project_stats (custo proporcional ao número de
+ * grupos, não de projetos). O agregado é mantido pelas escritas de {@link ProjectService},
+ * {@link ProjectBatchService} e {@link ProjectImportService}; {@link #rebuild} o refaz do zero.
+ */
+@Service
+public class ProjectStatsService {
+
+  private static final Logger log = LoggerFactory.getLogger(ProjectStatsService.class);
+
+  private final ProjectStatsRepository projectStatsRepository;
+  private final ProjectService projectService;
+
+  public ProjectStatsService(ProjectStatsRepository projectStatsRepository, ProjectService projectService) {
+    this.projectStatsRepository = projectStatsRepository;
+    this.projectService = projectService;
+  }
+
+  /** Admin: todos os donos ou só {@code ownerId}; usuário comum: sempre os próprios projetos. */
+  @Transactional(readOnly = true)
+  public ProjectStatsResponse getStats(Long ownerId) {
+    AuthenticatedUser currentUser = projectService.getCurrentUser();
+
+    Long scope = ownerId;
+    if (!currentUser.isAdmin()) {
+      if (ownerId != null && !ownerId.equals(currentUser.id())) {
+        throw new ForbiddenException(ApiMessages.PROJECT_ACCESS_FORBIDDEN);
+      }
+      scope = currentUser.id();
+    }
+
+    return summarize(projectStatsRepository.findByUserId(scope));
+  }
+
+  @Transactional
+  public ProjectStatsRebuildResponse rebuild() {
+    long start = System.nanoTime();
+    int groups = projectStatsRepository.rebuild();
+    long durationMillis = (System.nanoTime() - start) / 1_000_000;
+
+    log.info("Project stats rebuilt: {} groups in {} ms.", groups, durationMillis);
+    return new ProjectStatsRebuildResponse(groups, durationMillis);
+  }
+
+  static ProjectStatsResponse summarize(List<ProjectStatsRow> rows) {
+    Map<Long, List<ProjectStatsRow>> byOwner = new LinkedHashMap<>();
+    for (ProjectStatsRow r : rows) {
+      byOwner.computeIfAbsent(r.userId(), k -> new ArrayList<>()).add(r);
+    }
+
+    long count = 0;
+    BigDecimal total = BigDecimal.ZERO;
+    List<OwnerStats> owners = new ArrayList<>(byOwner.size());
+
+    for (Map.Entry<Long, List<ProjectStatsRow>> e : byOwner.entrySet()) {
+      OwnerStats o = summarizeOwner(e.getKey(), e.getValue());
+      owners.add(o);
+      count += o.count();
+      total = total.add(o.totalValue());
+    }
+    return new ProjectStatsResponse(count, total, owners);
+  }
+
+  private static OwnerStats summarizeOwner(Long ownerId, List<ProjectStatsRow> rows) {
+    Map<Boolean, ProjectStatsRow> byActive = new TreeMap<>();
+    Map<Integer, ProjectStatsRow> byYear = new TreeMap<>();
+    long count = 0;
+    BigDecimal total = BigDecimal.ZERO;
+
+    for (ProjectStatsRow r : rows) {
+      byActive.merge(r.active(), r, ProjectStatsService::sum);
+      byYear.merge(r.startYear(), r, ProjectStatsService::sum);
+      count += r.count();
+      total = total.add(r.totalValue());
+    }
+
+    return new OwnerStats(
+        ownerId,
+        count,
+        total,
+        byActive.values().stream()
+            .map(r -> new ActiveStats(r.active(), r.count(), r.totalValue()))
+            .toList(),
+        byYear.values().stream()
+            .map(r -> new YearStats(
+                r.startYear() == ProjectStatsDelta.NO_START_YEAR ? null : r.startYear(),
+                r.count(),
+                r.totalValue()))
+            .toList()
+    );
+  }
+
+  private static ProjectStatsRow sum(ProjectStatsRow a, ProjectStatsRow b) {
+    return new ProjectStatsRow(a.userId(), a.active(), a.startYear(), a.count() + b.count(), a.totalValue().add(b.totalValue()));
+  }
+}
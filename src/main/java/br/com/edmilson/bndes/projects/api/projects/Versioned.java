@@ -0,0 +1,4 @@
+package br.com.edmilson.bndes.projects.api.projects;
+
+/** Corpo da resposta + versão (@Version) da entidade, usada para montar o ETag. */
+public record Versioned<T>(T body, Long version) {}
@@ -0,0 +1,16 @@
+package br.com.edmilson.bndes.projects.api.projects.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(name = "CursorPageResponse", description = "Página por cursor (keyset), sem total de registros")
+public record CursorPageResponse<T>(
+
+    List<T> items,
+
+    @Schema(example = "10")
+    int size,
+
+    @Schema(description = "Cursor para a próxima página (parâmetro after). Null quando não há mais registros.")
+    String nextCursor
+) {}
@@ -0,0 +1,80 @@
+package br.com.edmilson.bndes.projects.api.projects.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.IOException;
+import java.util.List;
+import org.springframework.data.domain.Page;
+
+/**
+ * Página com total de registros, no lugar do {@code PageImpl} serializado (pageable, sort e
+ * campos derivados repetidos a cada resposta, e formato sem garantia de estabilidade no Spring Data).
+ */
+@Schema(name = "PageResponse", description = "Página com total de registros (count=exact ou count=window)")
+@JsonSerialize(using = PageResponse.Writer.class)
+public record PageResponse<T>(
+
+    List<T> items,
+
+    @Schema(example = "0")
+    int page,
+
+    @Schema(example = "10")
+    int size,
+
+    @Schema(example = "42")
+    long total,
+
+    @Schema(example = "true")
+    boolean hasNext
+) {
+
+  public static <T> PageResponse<T> of(Page<T> page) {
+    return new PageResponse<>(page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements(), page.hasNext());
+  }
+
+  /**
+   * Escreve o envelope direto no JsonGenerator: os itens saem da lista um a um, com o serializer
+   * resolvido uma vez por tipo de item, sem passar por introspecção do record a cada chamada.
+   */
+  public static final class Writer extends StdSerializer<PageResponse<?>> {
+
+    public Writer() {
+      super(PageResponse.class, false);
+    }
+
+    @Override
+    public void serialize(PageResponse<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+      List<?> items = value.items();
+
+      gen.writeStartObject(value);
+      gen.writeFieldName("items");
+      gen.writeStartArray(items, items.size());
+
+      Class<?> itemType = null;
+      JsonSerializer<Object> itemSerializer = null;
+      for (Object item : items) {
+        if (item == null) {
+          gen.writeNull();
+          continue;
+        }
+        if (item.getClass() != itemType) {
+          itemType = item.getClass();
+          itemSerializer = provider.findContentValueSerializer(itemType, null);
+        }
+        itemSerializer.serialize(item, gen, provider);
+      }
+      gen.writeEndArray();
+
+      gen.writeNumberField("page", value.page());
+      gen.writeNumberField("size", value.size());
+      gen.writeNumberField("total", value.total());
+      gen.writeBooleanField("hasNext", value.hasNext());
+      gen.writeEndObject();
+    }
+  }
+}
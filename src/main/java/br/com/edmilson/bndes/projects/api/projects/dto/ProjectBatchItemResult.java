@@ -0,0 +1,22 @@
+package br.com.edmilson.bndes.projects.api.projects.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de um item do lote. {@code index} é a posição do item na lista de origem
+ * ({@code create} ou {@code update}).
+ */
+public record ProjectBatchItemResult(
+    String operation,
+    int index,
+    Long id,
+    Status status,
+    List<String> errors
+) {
+
+  public enum Status { CREATED, UPDATED, INVALID, NOT_FOUND, FORBIDDEN }
+
+  public boolean succeeded() {
+    return status == Status.CREATED || status == Status.UPDATED;
+  }
+}
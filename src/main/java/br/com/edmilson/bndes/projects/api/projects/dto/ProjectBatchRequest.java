@@ -0,0 +1,18 @@
+package br.com.edmilson.bndes.projects.api.projects.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Lote de criações e atualizações. Os itens não levam @Valid de propósito: cada um é validado
+ * individualmente e um item inválido não derruba o lote inteiro.
+ */
+@Schema(name = "ProjectBatchRequest", description = "Lote de criações e/ou atualizações de projetos")
+public record ProjectBatchRequest(
+
+    @Schema(description = "Projetos a criar")
+    List<ProjectCreateRequest> create,
+
+    @Schema(description = "Projetos a atualizar (parcial)")
+    List<ProjectBatchUpdateItem> update
+) {}
@@ -0,0 +1,9 @@
+package br.com.edmilson.bndes.projects.api.projects.dto;
+
+import java.util.List;
+
+public record ProjectBatchResponse(
+    int succeeded,
+    int failed,
+    List<ProjectBatchItemResult> results
+) {}
@@ -0,0 +1,18 @@
+package br.com.edmilson.bndes.projects.api.projects.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(name = "ProjectBatchUpdateItem", description = "Atualização parcial de um projeto dentro de um lote")
+public record ProjectBatchUpdateItem(
+
+    @Schema(example = "42", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "Id is required.")
+    Long id,
+
+    @Schema(requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "Changes are required.")
+    @Valid
+    ProjectUpdateRequest changes
+) {}
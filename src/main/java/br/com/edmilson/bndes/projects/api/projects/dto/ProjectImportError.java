@@ -0,0 +1,9 @@
+package br.com.edmilson.bndes.projects.api.projects.dto;
+
+import java.util.List;
+
+/** Linha rejeitada na importação; {@code line} é a linha física no arquivo (cabeçalho = 1). */
+public record ProjectImportError(
+    long line,
+    List<String> messages
+) {}
@@ -0,0 +1,11 @@
+package br.com.edmilson.bndes.projects.api.projects.dto;
+
+import java.util.List;
+
+public record ProjectImportResponse(
+    long totalRows,
+    long imported,
+    long rejected,
+    List<ProjectImportError> errors,
+    boolean errorsTruncated
+) {}
@@ -0,0 +1,6 @@
+package br.com.edmilson.bndes.projects.api.projects.dto;
+
+public record ProjectStatsRebuildResponse(
+    int groups,
+    long durationMillis
+) {}
@@ -0,0 +1,24 @@
+package br.com.edmilson.bndes.projects.api.projects.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record ProjectStatsResponse(
+    long count,
+    BigDecimal totalValue,
+    List<OwnerStats> owners
+) {
+
+  public record OwnerStats(
+      Long ownerId,
+      long count,
+      BigDecimal totalValue,
+      List<ActiveStats> byActive,
+      List<YearStats> byStartYear
+  ) {}
+
+  public record ActiveStats(boolean active, long count, BigDecimal totalValue) {}
+
+  /** {@code startYear} null = projetos sem data de início. */
+  public record YearStats(Integer startYear, long count, BigDecimal totalValue) {}
+}
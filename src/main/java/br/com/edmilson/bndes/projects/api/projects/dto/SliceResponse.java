@@ -0,0 +1,23 @@
+package br.com.edmilson.bndes.projects.api.projects.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(name = "SliceResponse", description = "Página sem total de registros (count=none)")
+public record SliceResponse<T>(
+
+    List<T> items,
+
+    @Schema(example = "0")
+    int page,
+
+    @Schema(example = "10")
+    int size,
+
+    @Schema(example = "true")
+    boolean hasNext,
+
+    @Schema(description = "Busca (q) com mais resultados que o limite de ranqueamento: só os mais recentes "
+        + "foram ordenados por relevância. Refine a busca ou use count=exact.", example = "false")
+    boolean truncated
+) {}
@@ -0,0 +1,13 @@
+package br.com.edmilson.bndes.projects.api.repository;
+
+import java.util.function.Consumer;
+
+public interface ProjectExportRepository {
+
+  /**
+   * Percorre todos os projetos visíveis (não excluídos) em ordem de id, entregando uma linha por
+   * vez ao {@code consumer}. Lê por cursor no servidor: deve rodar dentro de uma transação para o
+   * driver respeitar o fetch size. {@code ownerId} null = todos os donos (admin).
+   */
+  void streamForExport(Long ownerId, Boolean active, String q, Consumer<ProjectExportRow> consumer);
+}
@@ -0,0 +1,74 @@
+package br.com.edmilson.bndes.projects.api.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+class ProjectExportRepositoryImpl implements ProjectExportRepository {
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  ProjectExportRepositoryImpl(DataSource dataSource, @Value("${app.export.fetchSize:1000}") int fetchSize) {
+    // JdbcTemplate próprio: o fetch size só vale para a exportação
+    JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    jdbc.setFetchSize(fetchSize);
+    this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbc);
+  }
+
+  @Override
+  public void streamForExport(Long ownerId, Boolean active, String q, Consumer<ProjectExportRow> consumer) {
+    StringBuilder sql = new StringBuilder("""
+        SELECT p.id, p.name, p.description, p.value, p.active,
+               p.start_date, p.end_date, p.created_at, p.updated_at
+          FROM projects p
+         WHERE p.deleted_at IS NULL
+        """);
+    MapSqlParameterSource params = new MapSqlParameterSource();
+
+    if (ownerId != null) {
+      sql.append("   AND p.user_id = :ownerId\n");
+      params.addValue("ownerId", ownerId);
+    }
+    if (active != null) {
+      sql.append("   AND p.active = :active\n");
+      params.addValue("active", active);
+    }
+    if (q != null) {
+      sql.append("   AND p.search_vector @@ ").append(ProjectSql.TS_QUERY).append("\n");
+      params.addValue("q", q);
+    }
+
+    // ordem por id: percorre os índices parciais (id) / (user_id, id) sem sort em memória
+    sql.append(" ORDER BY p.id");
+
+    RowCallbackHandler handler = rs -> consumer.accept(mapRow(rs));
+    jdbcTemplate.query(sql.toString(), params, handler);
+  }
+
+  private ProjectExportRow mapRow(ResultSet rs) throws SQLException {
+    return new ProjectExportRow(
+        rs.getLong("id"),
+        rs.getString("name"),
+        rs.getString("description"),
+        rs.getBigDecimal("value"),
+        (Boolean) rs.getObject("active"),
+        rs.getObject("start_date", LocalDate.class),
+        rs.getObject("end_date", LocalDate.class),
+        toInstant(rs.getObject("created_at", OffsetDateTime.class)),
+        toInstant(rs.getObject("updated_at", OffsetDateTime.class))
+    );
+  }
+
+  private static Instant toInstant(OffsetDateTime value) {
+    return (value == null) ? null : value.toInstant();
+  }
+}
@@ -0,0 +1,18 @@
+package br.com.edmilson.bndes.projects.api.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/** Linha lida direto do ResultSet na exportação, sem passar pelo contexto de persistência. */
+public record ProjectExportRow(
+    Long id,
+    String name,
+    String description,
+    BigDecimal value,
+    Boolean active,
+    LocalDate startDate,
+    LocalDate endDate,
+    Instant createdAt,
+    Instant updatedAt
+) {}
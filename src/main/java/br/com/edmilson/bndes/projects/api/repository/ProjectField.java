@@ -0,0 +1,42 @@
+package br.com.edmilson.bndes.projects.api.repository;
+
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectResponse;
+import java.util.function.Function;
+
+/** Campos de {@link ProjectResponse} que podem ser pedidos em {@code fields=} e usados em {@code sort=}. */
+public enum ProjectField {
+  ID("id", "p.id", ProjectResponse::id),
+  NAME("name", "p.name", ProjectResponse::name),
+  DESCRIPTION("description", "p.description", ProjectResponse::description),
+  VALUE("value", "p.value", ProjectResponse::value),
+  ACTIVE("active", "p.active", ProjectResponse::active),
+  START_DATE("startDate", "p.start_date", ProjectResponse::startDate),
+  END_DATE("endDate", "p.end_date", ProjectResponse::endDate),
+  CREATED_AT("createdAt", "p.created_at", ProjectResponse::createdAt),
+  UPDATED_AT("updatedAt", "p.updated_at", ProjectResponse::updatedAt);
+
+  private final String property;
+  private final String column;
+  private final Function<ProjectResponse, Object> accessor;
+
+  ProjectField(String property, String column, Function<ProjectResponse, Object> accessor) {
+    this.property = property;
+    this.column = column;
+    this.accessor = accessor;
+  }
+
+  public String property() { return property; }
+
+  public String column() { return column; }
+
+  public Object valueOf(ProjectResponse response) {
+    return accessor.apply(response);
+  }
+
+  public static ProjectField fromProperty(String property) {
+    for (ProjectField field : values()) {
+      if (field.property.equals(property)) return field;
+    }
+    return null;
+  }
+}
@@ -0,0 +1,53 @@
+package br.com.edmilson.bndes.projects.api.repository;
+
+import br.com.edmilson.bndes.projects.api.model.Project;
+import java.time.Instant;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Posição de uma paginação por keyset (seek): chave de ordenação + id como desempate.
+ * Quando {@code id} é null, representa a primeira página.
+ */
+public record ProjectKeyset(
+    SortKey sortKey,
+    Sort.Direction direction,
+    Instant createdAt,
+    Long id
+) {
+
+  public enum SortKey {
+    ID("id"),
+    CREATED_AT("createdAt");
+
+    private final String property;
+
+    SortKey(String property) {
+      this.property = property;
+    }
+
+    public String property() { return property; }
+
+    public static SortKey fromProperty(String property) {
+      for (SortKey key : values()) {
+        if (key.property.equals(property)) return key;
+      }
+      return null;
+    }
+  }
+
+  public static ProjectKeyset first(SortKey sortKey, Sort.Direction direction) {
+    return new ProjectKeyset(sortKey, direction, null, null);
+  }
+
+  public ProjectKeyset after(Project last) {
+    return new ProjectKeyset(sortKey, direction, last.getCreatedAt(), last.getId());
+  }
+
+  public boolean isFirst() {
+    return id == null;
+  }
+
+  public boolean isAscending() {
+    return direction == Sort.Direction.ASC;
+  }
+}
@@ -0,0 +1,13 @@
+package br.com.edmilson.bndes.projects.api.repository;
+
+import br.com.edmilson.bndes.projects.api.model.Project;
+import java.util.List;
+
+public interface ProjectKeysetRepository {
+
+  /**
+   * Busca até {@code limit} projetos ativos a partir da posição informada, sem OFFSET e sem COUNT.
+   * {@code ownerId} null = todos os donos (admin).
+   */
+  List<Project> findKeysetPage(Long ownerId, Boolean active, ProjectKeyset keyset, int limit);
+}
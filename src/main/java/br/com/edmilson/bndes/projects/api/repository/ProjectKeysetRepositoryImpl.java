@@ -0,0 +1,55 @@
+package br.com.edmilson.bndes.projects.api.repository;
+
+import br.com.edmilson.bndes.projects.api.model.Project;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.util.List;
+
+class ProjectKeysetRepositoryImpl implements ProjectKeysetRepository {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<Project> findKeysetPage(Long ownerId, Boolean active, ProjectKeyset keyset, int limit) {
+    String cmp = keyset.isAscending() ? ">" : "<";
+    String dir = keyset.isAscending() ? "ASC" : "DESC";
+    boolean byCreatedAt = keyset.sortKey() == ProjectKeyset.SortKey.CREATED_AT;
+
+    // Comparação por row value usa os índices parciais (user_id, created_at, id) / (created_at, id)
+    // como range scan: o custo é o mesmo na página 1 ou na página 10.000.
+    StringBuilder sql = new StringBuilder("SELECT " + ProjectSql.COLUMNS + """
+
+          FROM projects p
+         WHERE p.deleted_at IS NULL
+        """);
+
+    if (ownerId != null) sql.append("   AND p.user_id = :ownerId\n");
+    if (active != null) sql.append("   AND p.active = :active\n");
+
+    if (!keyset.isFirst()) {
+      if (byCreatedAt) {
+        sql.append("   AND (p.created_at, p.id) ").append(cmp).append(" (:afterCreatedAt, :afterId)\n");
+      } else {
+        sql.append("   AND p.id ").append(cmp).append(" :afterId\n");
+      }
+    }
+
+    sql.append(" ORDER BY ");
+    if (byCreatedAt) sql.append("p.created_at ").append(dir).append(", ");
+    sql.append("p.id ").append(dir).append("\n LIMIT :limit");
+
+    Query query = entityManager.createNativeQuery(sql.toString(), Project.class);
+    if (ownerId != null) query.setParameter("ownerId", ownerId);
+    if (active != null) query.setParameter("active", active);
+    if (!keyset.isFirst()) {
+      if (byCreatedAt) query.setParameter("afterCreatedAt", keyset.createdAt());
+      query.setParameter("afterId", keyset.id());
+    }
+    query.setParameter("limit", limit);
+
+    return query.getResultList();
+  }
+}
@@ -1,45 +1,64 @@
 package br.com.edmilson.bndes.projects.api.repository;
 
 import br.com.edmilson.bndes.projects.api.model.Project;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 
-public interface ProjectRepository extends JpaRepository<Project, Long> {
+public interface ProjectRepository
+    extends JpaRepository<Project, Long>, ProjectKeysetRepository, ProjectSearchRepository, ProjectExportRepository,
+    ProjectResponseRepository {
 
   // ✅ LISTAGEM NORMAL (SEM FTS) — respeita sort do Pageable (id,desc etc.)
   @Query("""
       SELECT p
       FROM Project p
       WHERE p.deletedAt IS NULL
-        AND LOWER(p.user.email) = LOWER(:email)
+        AND p.user.id = :userId
         AND (:active IS NULL OR p.active = :active)
       """)
-  Page<Project> findAllByUserEmail(
-      @Param("email") String email,
+  Page<Project> findAllByUserId(
+      @Param("userId") Long userId,
       @Param("active") Boolean active,
       Pageable pageable
-  );  
+  );
+
+  // Sem countQuery: o Spring Data busca size + 1 linhas para saber se há próxima página.
+  @Query("""
+      SELECT p
+      FROM Project p
+      WHERE p.deletedAt IS NULL
+        AND p.user.id = :userId
+        AND (:active IS NULL OR p.active = :active)
+      """)
+  Slice<Project> sliceAllByUserId(
+      @Param("userId") Long userId,
+      @Param("active") Boolean active,
+      Pageable pageable
+  );
   
   @Query(
       value = """
-        SELECT p.*
+        SELECT p.id, p.user_id, p.name, p.description, p.value, p.active,
+               p.start_date, p.end_date, p.created_at, p.updated_at, p.deleted_at, p.version
         FROM projects p
-        JOIN users u ON u.id = p.user_id
         WHERE p.deleted_at IS NULL
-          AND LOWER(u.email) = LOWER(:email)
+          AND p.user_id = :userId
           AND (:active IS NULL OR p.active = :active)
           AND (
             :q IS NULL OR :q = '' OR
-            to_tsvector('portuguese', COALESCE(p.name,'') || ' ' || COALESCE(p.description,'')) @@
+            p.search_vector @@
             plainto_tsquery('portuguese', :q)
           )
         ORDER BY
           CASE WHEN :q IS NULL OR :q = '' THEN 0
               ELSE ts_rank(
-                to_tsvector('portuguese', COALESCE(p.name,'') || ' ' || COALESCE(p.description,'')),
+                p.search_vector,
                 plainto_tsquery('portuguese', :q)
               )
           END DESC,
@@ -48,20 +67,19 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
       countQuery = """
         SELECT COUNT(*)
         FROM projects p
-        JOIN users u ON u.id = p.user_id
         WHERE p.deleted_at IS NULL
-          AND LOWER(u.email) = LOWER(:email)
+          AND p.user_id = :userId
           AND (:active IS NULL OR p.active = :active)
           AND (
             :q IS NULL OR :q = '' OR
-            to_tsvector('portuguese', COALESCE(p.name,'') || ' ' || COALESCE(p.description,'')) @@
+            p.search_vector @@
             plainto_tsquery('portuguese', :q)
           )
       """,
       nativeQuery = true
   )
-  Page<Project> searchByUserEmail(
-      @Param("email") String email,
+  Page<Project> searchByUserId(
+      @Param("userId") Long userId,
       @Param("active") Boolean active,
       @Param("q") String q,
       Pageable pageable
@@ -73,45 +91,59 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
       WHERE p.id = :id AND p.deletedAt IS NULL
       """)
   Optional<Project> findActiveById(@Param("id") Long id);
-  
+
+  @Query("""
+      SELECT p.user.id AS userId, p.version AS version
+      FROM Project p
+      WHERE p.id = :id AND p.deletedAt IS NULL
+      """)
+  Optional<ProjectVersionView> findActiveVersionById(@Param("id") Long id);
+
   @Query("""
       SELECT p
       FROM Project p
-      WHERE p.id = :id
-        AND p.deletedAt IS NULL
-        AND LOWER(p.user.email) = LOWER(:email)
+      WHERE p.id IN :ids AND p.deletedAt IS NULL
       """)
-  Optional<Project> findActiveByIdAndUserEmail(
-      @Param("id") Long id,
-      @Param("email") String email
+  List<Project> findAllActiveByIdIn(@Param("ids") Collection<Long> ids);
+  
+  @Query("""
+      SELECT p
+        FROM Project p
+       WHERE p.deletedAt IS NULL
+         AND (:active IS NULL OR p.active = :active)
+      """)
+  Page<Project> findAllActive(
+      @Param("active") Boolean active,
+      Pageable pageable
   );
 
-    @Query("""
+  @Query("""
       SELECT p
         FROM Project p
        WHERE p.deletedAt IS NULL
          AND (:active IS NULL OR p.active = :active)
       """)
-  Page<Project> findAllActive(
+  Slice<Project> sliceAllActive(
       @Param("active") Boolean active,
       Pageable pageable
   );
 
   @Query(
       value = """
-        SELECT p.*
+        SELECT p.id, p.user_id, p.name, p.description, p.value, p.active,
+               p.start_date, p.end_date, p.created_at, p.updated_at, p.deleted_at, p.version
           FROM projects p
          WHERE p.deleted_at IS NULL
            AND (:active IS NULL OR p.active = :active)
            AND (
              :q IS NULL OR :q = '' OR
-             to_tsvector('portuguese', COALESCE(p.name,'') || ' ' || COALESCE(p.description,'')) @@
+             p.search_vector @@
              plainto_tsquery('portuguese', :q)
            )
          ORDER BY
            CASE WHEN :q IS NULL OR :q = '' THEN 0
                 ELSE ts_rank(
-                  to_tsvector('portuguese', COALESCE(p.name,'') || ' ' || COALESCE(p.description,'')),
+                  p.search_vector,
                   plainto_tsquery('portuguese', :q)
                 )
            END DESC,
@@ -124,7 +156,7 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
            AND (:active IS NULL OR p.active = :active)
            AND (
              :q IS NULL OR :q = '' OR
-             to_tsvector('portuguese', COALESCE(p.name,'') || ' ' || COALESCE(p.description,'')) @@
+             p.search_vector @@
              plainto_tsquery('portuguese', :q)
            )
       """,
@@ -0,0 +1,29 @@
+package br.com.edmilson.bndes.projects.api.repository;
+
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectResponse;
+import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Leitura enxuta da listagem: JDBC direto para {@link ProjectResponse}, só com as colunas pedidas,
+ * sem entidades no contexto de persistência nem dirty checking.
+ */
+public interface ProjectResponseRepository {
+
+  /**
+   * Campos fora de {@code fields} voltam null. Com {@code q}, ordena por relevância (como a busca);
+   * sem {@code q}, pela {@code sort} (propriedades de {@link ProjectField}) com id como desempate.
+   */
+  List<ProjectResponse> findResponses(
+      Long ownerId,
+      Boolean active,
+      String q,
+      Set<ProjectField> fields,
+      Sort sort,
+      long offset,
+      int limit
+  );
+
+  long countResponses(Long ownerId, Boolean active, String q);
+}
@@ -0,0 +1,123 @@
+package br.com.edmilson.bndes.projects.api.repository;
+
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectResponse;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+class ProjectResponseRepositoryImpl implements ProjectResponseRepository {
+
+  private static final String SEARCH_ORDER_BY =
+      "\n ORDER BY ts_rank(p.search_vector, " + ProjectSql.TS_QUERY + ") DESC, p.created_at DESC, p.id DESC";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  ProjectResponseRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public List<ProjectResponse> findResponses(
+      Long ownerId,
+      Boolean active,
+      String q,
+      Set<ProjectField> fields,
+      Sort sort,
+      long offset,
+      int limit
+  ) {
+    StringJoiner columns = new StringJoiner(", ");
+    for (ProjectField f : fields) columns.add(f.column());
+
+    MapSqlParameterSource params = new MapSqlParameterSource();
+    String sql = "SELECT " + columns
+        + fromWhere(ownerId, active, q, params)
+        + ((q != null) ? SEARCH_ORDER_BY : orderBy(sort))
+        + "\n LIMIT :limit OFFSET :offset";
+    params.addValue("limit", limit);
+    params.addValue("offset", offset);
+
+    return jdbcTemplate.query(sql, params, rowMapper(fields));
+  }
+
+  @Override
+  public long countResponses(Long ownerId, Boolean active, String q) {
+    MapSqlParameterSource params = new MapSqlParameterSource();
+    Long total = jdbcTemplate.queryForObject("SELECT COUNT(*)" + fromWhere(ownerId, active, q, params), params, Long.class);
+    return (total == null) ? 0 : total;
+  }
+
+  private String fromWhere(Long ownerId, Boolean active, String q, MapSqlParameterSource params) {
+    StringBuilder sql = new StringBuilder("""
+
+          FROM projects p
+         WHERE p.deleted_at IS NULL
+        """);
+    if (ownerId != null) {
+      sql.append("   AND p.user_id = :ownerId\n");
+      params.addValue("ownerId", ownerId);
+    }
+    if (active != null) {
+      sql.append("   AND p.active = :active\n");
+      params.addValue("active", active);
+    }
+    if (q != null) {
+      sql.append("   AND p.search_vector @@ ").append(ProjectSql.TS_QUERY).append("\n");
+      params.addValue("q", q);
+    }
+    return sql.toString();
+  }
+
+  // só propriedades conhecidas viram SQL; o service já rejeitou as demais
+  private String orderBy(Sort sort) {
+    StringJoiner order = new StringJoiner(", ", "\n ORDER BY ", "");
+    boolean hasId = false;
+
+    for (Sort.Order o : sort) {
+      ProjectField f = ProjectField.fromProperty(o.getProperty());
+      if (f == null) continue;
+      order.add(f.column() + (o.isAscending() ? " ASC" : " DESC"));
+      hasId |= (f == ProjectField.ID);
+    }
+    if (!hasId) order.add("p.id DESC");
+    return order.toString();
+  }
+
+  private RowMapper<ProjectResponse> rowMapper(Set<ProjectField> fields) {
+    boolean id = fields.contains(ProjectField.ID);
+    boolean name = fields.contains(ProjectField.NAME);
+    boolean description = fields.contains(ProjectField.DESCRIPTION);
+    boolean value = fields.contains(ProjectField.VALUE);
+    boolean active = fields.contains(ProjectField.ACTIVE);
+    boolean startDate = fields.contains(ProjectField.START_DATE);
+    boolean endDate = fields.contains(ProjectField.END_DATE);
+    boolean createdAt = fields.contains(ProjectField.CREATED_AT);
+    boolean updatedAt = fields.contains(ProjectField.UPDATED_AT);
+
+    return (rs, rowNum) -> new ProjectResponse(
+        id ? rs.getLong("id") : null,
+        name ? rs.getString("name") : null,
+        description ? rs.getString("description") : null,
+        value ? rs.getBigDecimal("value") : null,
+        active ? (Boolean) rs.getObject("active") : null,
+        startDate ? rs.getObject("start_date", LocalDate.class) : null,
+        endDate ? rs.getObject("end_date", LocalDate.class) : null,
+        createdAt ? instant(rs, "created_at") : null,
+        updatedAt ? instant(rs, "updated_at") : null
+    );
+  }
+
+  private static Instant instant(ResultSet rs, String column) throws SQLException {
+    OffsetDateTime value = rs.getObject(column, OffsetDateTime.class);
+    return (value == null) ? null : value.toInstant();
+  }
+}
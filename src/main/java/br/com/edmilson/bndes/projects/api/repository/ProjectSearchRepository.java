@@ -0,0 +1,27 @@
+package br.com.edmilson.bndes.projects.api.repository;
+
+import br.com.edmilson.bndes.projects.api.model.Project;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface ProjectSearchRepository {
+
+  /**
+   * {@code truncated}: a busca casou com mais linhas que app.search.rankCandidateLimit e só os
+   * candidatos mais recentes foram ranqueados; hasNext=false não significa fim dos resultados.
+   */
+  record SearchSlice(List<Project> rows, boolean truncated) {}
+
+  /**
+   * Busca full-text sem COUNT: retorna até {@code limit} linhas a partir de {@code offset}.
+   * Quem chama pede size + 1 para saber se há próxima página.
+   */
+  SearchSlice searchSlice(Long ownerId, Boolean active, String q, long offset, int limit);
+
+  /**
+   * Busca full-text com o total calculado na mesma instrução (COUNT(*) OVER()),
+   * sem a countQuery separada que reavalia o predicado de texto.
+   */
+  Page<Project> searchWithWindowCount(Long ownerId, Boolean active, String q, Pageable pageable);
+}
@@ -0,0 +1,103 @@
+package br.com.edmilson.bndes.projects.api.repository;
+
+import br.com.edmilson.bndes.projects.api.model.Project;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+class ProjectSearchRepositoryImpl implements ProjectSearchRepository {
+
+  private static final String ORDER_BY =
+      "\n ORDER BY ts_rank(p.search_vector, " + ProjectSql.TS_QUERY + ") DESC, p.created_at DESC, p.id DESC";
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  private final int rankCandidateLimit;
+
+  ProjectSearchRepositoryImpl(@Value("${app.search.rankCandidateLimit:1000}") int rankCandidateLimit) {
+    this.rankCandidateLimit = rankCandidateLimit;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public SearchSlice searchSlice(Long ownerId, Boolean active, String q, long offset, int limit) {
+    // Top-k limitado: só os N candidatos mais recentes (id DESC) são ranqueados, então uma busca
+    // muito ampla não calcula ts_rank para dezenas de milhares de linhas. O conjunto é sempre o
+    // mesmo entre páginas; COUNT(*) OVER() sobre ele diz se o limite foi atingido.
+    String sql = "SELECT " + ProjectSql.COLUMNS + ", COUNT(*) OVER() AS total_count"
+        + "\n  FROM (SELECT " + ProjectSql.COLUMNS + ", p.search_vector"
+        + fromWhere(ownerId, active)
+        + "\n         ORDER BY p.id DESC"
+        + "\n         LIMIT :candidateLimit) p"
+        + ORDER_BY
+        + "\n LIMIT :limit OFFSET :offset";
+
+    Query query = entityManager.createNativeQuery(sql, Project.WITH_TOTAL_COUNT_MAPPING);
+    bind(query, ownerId, active, q);
+    query.setParameter("candidateLimit", rankCandidateLimit);
+    query.setParameter("limit", limit);
+    query.setParameter("offset", offset);
+
+    List<Object[]> rows = query.getResultList();
+
+    // página vazia: só dá para afirmar o corte se ela já passou do limite de candidatos
+    boolean truncated = rows.isEmpty()
+        ? offset >= rankCandidateLimit
+        : ((Number) rows.get(0)[1]).longValue() >= rankCandidateLimit;
+
+    return new SearchSlice(rows.stream().map(r -> (Project) r[0]).toList(), truncated);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Page<Project> searchWithWindowCount(Long ownerId, Boolean active, String q, Pageable pageable) {
+    String sql = "SELECT " + ProjectSql.COLUMNS + ", COUNT(*) OVER() AS total_count"
+        + fromWhere(ownerId, active) + ORDER_BY + "\n LIMIT :limit OFFSET :offset";
+
+    Query query = entityManager.createNativeQuery(sql, Project.WITH_TOTAL_COUNT_MAPPING);
+    bind(query, ownerId, active, q);
+    query.setParameter("limit", pageable.getPageSize());
+    query.setParameter("offset", pageable.getOffset());
+
+    List<Object[]> rows = query.getResultList();
+
+    if (rows.isEmpty()) {
+      // Página além do fim: a janela não devolve linha para carregar o total.
+      return new PageImpl<>(List.of(), pageable, pageable.getOffset() == 0 ? 0 : countMatches(ownerId, active, q));
+    }
+
+    long total = ((Number) rows.get(0)[1]).longValue();
+    List<Project> content = rows.stream().map(r -> (Project) r[0]).toList();
+    return new PageImpl<>(content, pageable, total);
+  }
+
+  private long countMatches(Long ownerId, Boolean active, String q) {
+    Query query = entityManager.createNativeQuery("SELECT COUNT(*)" + fromWhere(ownerId, active));
+    bind(query, ownerId, active, q);
+    return ((Number) query.getSingleResult()).longValue();
+  }
+
+  private String fromWhere(Long ownerId, Boolean active) {
+    StringBuilder sql = new StringBuilder("""
+
+          FROM projects p
+         WHERE p.deleted_at IS NULL
+        """);
+    if (ownerId != null) sql.append("   AND p.user_id = :ownerId\n");
+    if (active != null) sql.append("   AND p.active = :active\n");
+    sql.append("   AND p.search_vector @@ ").append(ProjectSql.TS_QUERY);
+    return sql.toString();
+  }
+
+  private void bind(Query query, Long ownerId, Boolean active, String q) {
+    if (ownerId != null) query.setParameter("ownerId", ownerId);
+    if (active != null) query.setParameter("active", active);
+    query.setParameter("q", q);
+  }
+}
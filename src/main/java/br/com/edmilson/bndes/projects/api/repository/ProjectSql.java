@@ -0,0 +1,16 @@
+package br.com.edmilson.bndes.projects.api.repository;
+
+/**
+ * Trechos de SQL nativo compartilhados pelos fragmentos de {@link ProjectRepository}.
+ */
+final class ProjectSql {
+
+  private ProjectSql() {}
+
+  /** Colunas mapeadas em {@code Project}; evita trafegar search_vector em cada linha. */
+  static final String COLUMNS = """
+      p.id, p.user_id, p.name, p.description, p.value, p.active,
+             p.start_date, p.end_date, p.created_at, p.updated_at, p.deleted_at, p.version""";
+
+  static final String TS_QUERY = "plainto_tsquery('portuguese', :q)";
+}
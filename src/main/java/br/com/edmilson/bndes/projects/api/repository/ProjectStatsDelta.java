@@ -0,0 +1,67 @@
+package br.com.edmilson.bndes.projects.api.repository;
+
+import br.com.edmilson.bndes.projects.api.model.Project;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Variações pendentes de project_stats, somadas por grupo (dono, active, ano de início).
+ * Num update, {@code remove} com o estado lido e {@code add} com o estado novo: se o grupo
+ * não mudou, só a diferença de valor vai para o banco.
+ */
+public final class ProjectStatsDelta {
+
+  public static final int NO_START_YEAR = 0;
+
+  // ordem fixa de chaves: duas transações nunca travam os mesmos grupos em ordem inversa
+  private static final Comparator<Key> KEY_ORDER = Comparator
+      .comparing(Key::userId)
+      .thenComparing(Key::active)
+      .thenComparingInt(Key::startYear);
+
+  private final Map<Key, ProjectStatsRow> changes = new TreeMap<>(KEY_ORDER);
+
+  public void add(Long userId, Project p) {
+    change(userId, p, 1);
+  }
+
+  public void remove(Long userId, Project p) {
+    change(userId, p, -1);
+  }
+
+  public boolean isEmpty() {
+    return rows().isEmpty();
+  }
+
+  /** Grupos com variação diferente de zero, já na ordem de aplicação. */
+  public List<ProjectStatsRow> rows() {
+    List<ProjectStatsRow> out = new ArrayList<>(changes.size());
+    for (ProjectStatsRow r : changes.values()) {
+      if (r.count() != 0 || r.totalValue().signum() != 0) out.add(r);
+    }
+    return out;
+  }
+
+  public static int startYearOf(LocalDate startDate) {
+    return (startDate == null) ? NO_START_YEAR : startDate.getYear();
+  }
+
+  private void change(Long userId, Project p, int sign) {
+    boolean active = Boolean.TRUE.equals(p.getActive());
+    int year = startYearOf(p.getStartDate());
+    BigDecimal value = (p.getValue() == null) ? BigDecimal.ZERO : p.getValue();
+
+    changes.merge(
+        new Key(userId, active, year),
+        new ProjectStatsRow(userId, active, year, sign, (sign < 0) ? value.negate() : value),
+        (a, b) -> new ProjectStatsRow(userId, active, year, a.count() + b.count(), a.totalValue().add(b.totalValue()))
+    );
+  }
+
+  private record Key(Long userId, boolean active, int startYear) {}
+}
@@ -0,0 +1,87 @@
+package br.com.edmilson.bndes.projects.api.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Acesso ao agregado project_stats via JDBC, na transação corrente (a mesma do JPA).
+ * As escritas em projects chamam {@link #apply}; {@link #rebuild} recalcula tudo a partir de projects.
+ */
+@Repository
+public class ProjectStatsRepository {
+
+  private static final String UPSERT = """
+      INSERT INTO project_stats (user_id, active, start_year, project_count, total_value)
+      VALUES (?, ?, ?, ?, ?)
+      ON CONFLICT (user_id, active, start_year) DO UPDATE
+         SET project_count = project_stats.project_count + EXCLUDED.project_count,
+             total_value = project_stats.total_value + EXCLUDED.total_value
+      """;
+
+  private static final String SELECT = """
+      SELECT s.user_id, s.active, s.start_year, s.project_count, s.total_value
+        FROM project_stats s
+       WHERE s.project_count > 0
+      """;
+
+  private static final String ORDER_BY = " ORDER BY s.user_id, s.active, s.start_year";
+
+  // SHARE ROW EXCLUSIVE conflita com o UPSERT: espera as escritas em voo e segura as novas
+  // até o fim do rebuild, então o SELECT em projects vê um estado consistente
+  private static final String LOCK = "LOCK TABLE project_stats IN SHARE ROW EXCLUSIVE MODE";
+
+  private static final String REBUILD = """
+      INSERT INTO project_stats (user_id, active, start_year, project_count, total_value)
+      SELECT p.user_id, p.active, COALESCE(EXTRACT(YEAR FROM p.start_date)::int, 0), COUNT(*), COALESCE(SUM(p.value), 0)
+        FROM projects p
+       WHERE p.deleted_at IS NULL
+       GROUP BY 1, 2, 3
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public ProjectStatsRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public void apply(ProjectStatsDelta delta) {
+    List<ProjectStatsRow> rows = delta.rows();
+    if (rows.isEmpty()) return;
+
+    jdbcTemplate.batchUpdate(UPSERT, rows, rows.size(), (ps, r) -> {
+      ps.setLong(1, r.userId());
+      ps.setBoolean(2, r.active());
+      ps.setInt(3, r.startYear());
+      ps.setLong(4, r.count());
+      ps.setBigDecimal(5, r.totalValue());
+    });
+  }
+
+  /** Grupos de um dono, ou de todos quando {@code userId} é null; custo proporcional ao número de grupos. */
+  public List<ProjectStatsRow> findByUserId(Long userId) {
+    if (userId == null) {
+      return jdbcTemplate.query(SELECT + ORDER_BY, this::mapRow);
+    }
+    return jdbcTemplate.query(SELECT + "   AND s.user_id = ?" + ORDER_BY, this::mapRow, userId);
+  }
+
+  /** Recalcula o agregado inteiro; precisa rodar dentro de uma transação. Retorna o número de grupos. */
+  public int rebuild() {
+    jdbcTemplate.execute(LOCK);
+    jdbcTemplate.update("DELETE FROM project_stats");
+    return jdbcTemplate.update(REBUILD);
+  }
+
+  private ProjectStatsRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+    return new ProjectStatsRow(
+        rs.getLong("user_id"),
+        rs.getBoolean("active"),
+        rs.getInt("start_year"),
+        rs.getLong("project_count"),
+        rs.getBigDecimal("total_value")
+    );
+  }
+}
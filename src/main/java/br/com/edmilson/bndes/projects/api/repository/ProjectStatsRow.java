@@ -0,0 +1,12 @@
+package br.com.edmilson.bndes.projects.api.repository;
+
+import java.math.BigDecimal;
+
+/** Uma linha de project_stats: {@code startYear} 0 = projeto sem data de início. */
+public record ProjectStatsRow(
+    Long userId,
+    boolean active,
+    int startYear,
+    long count,
+    BigDecimal totalValue
+) {}
@@ -0,0 +1,9 @@
+package br.com.edmilson.bndes.projects.api.repository;
+
+/** Dono + versão de um projeto: o suficiente para responder 304 sem hidratar a entidade. */
+public interface ProjectVersionView {
+
+  Long getUserId();
+
+  Long getVersion();
+}
@@ -1,6 +1,7 @@
 package br.com.edmilson.bndes.projects.api.repository;
 
 import br.com.edmilson.bndes.projects.api.model.RefreshToken;
+import java.time.Instant;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
@@ -9,6 +10,64 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
 
   Optional<RefreshToken> findByTokenHash(String tokenHash);
 
+  /**
+   * Rotação em um único round-trip: revoga o token (se ainda ativo ou dentro da janela de graça),
+   * insere o sucessor e devolve o dono. Refreshes concorrentes do mesmo token serializam no lock
+   * da linha; o sucessor é determinístico, então o segundo cai no ON CONFLICT e recebe o mesmo.
+   * A graça só vale para token revogado por esta rotação (replaced_by = sucessor) e enquanto o
+   * sucessor estiver ativo: depois de logout / logout-all o token antigo não devolve mais nada.
+   * O sucessor é checado no SELECT final, não no WHERE do UPDATE: quem esperou o lock reavalia só
+   * a linha travada, e um subselect ali ainda usaria o snapshot antigo, sem ver o sucessor recém
+   * inserido. No SELECT, sucessor invisível (inserido agora ou pelo refresh concorrente) passa;
+   * só um sucessor já revogado bloqueia.
+   */
+  @Query(
+      value = """
+        WITH rotated AS (
+          UPDATE refresh_tokens rt
+             SET revoked_at = COALESCE(rt.revoked_at, :now),
+                 replaced_by = COALESCE(rt.replaced_by, :successorHash)
+           WHERE rt.token_hash = :tokenHash
+             AND rt.expires_at > :now
+             AND (
+               rt.revoked_at IS NULL
+               OR (rt.revoked_at > :graceStart AND rt.replaced_by = :successorHash)
+             )
+          RETURNING rt.user_id,
+                    rt.revoked_at,
+                    rt.revoked_at + :ttlSeconds * INTERVAL '1 second' AS successor_expires_at
+        ),
+        successor AS (
+          INSERT INTO refresh_tokens (user_id, token_hash, created_at, expires_at)
+          SELECT r.user_id, :successorHash, r.revoked_at, r.successor_expires_at
+            FROM rotated r
+          ON CONFLICT DO NOTHING
+        )
+        SELECT u.id AS "id",
+               u.email AS "email",
+               u.role AS "role",
+               u.enabled AS "enabled",
+               u.token_generation AS "tokenGeneration",
+               CAST(EXTRACT(EPOCH FROM r.successor_expires_at) AS BIGINT) AS "successorExpiresAt"
+          FROM rotated r
+          JOIN users u ON u.id = r.user_id
+         WHERE NOT EXISTS (
+           SELECT 1
+             FROM refresh_tokens s
+            WHERE s.token_hash = :successorHash
+              AND s.revoked_at IS NOT NULL
+         )
+      """,
+      nativeQuery = true
+  )
+  Optional<RotatedRefreshToken> rotate(
+      @Param("tokenHash") String tokenHash,
+      @Param("successorHash") String successorHash,
+      @Param("now") Instant now,
+      @Param("graceStart") Instant graceStart,
+      @Param("ttlSeconds") long ttlSeconds
+  );
+
   @Modifying
   @Query("""
       UPDATE RefreshToken rt
@@ -17,4 +76,26 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
          AND rt.revokedAt IS NULL
       """)
   int revokeAllByUserId(@Param("userId") Long userId);
+
+  // Lote pequeno + SKIP LOCKED: cada DELETE segura poucos locks e não disputa com refresh em andamento.
+  @Modifying
+  @Query(
+      value = """
+        DELETE FROM refresh_tokens
+         WHERE id IN (
+           SELECT id
+             FROM refresh_tokens
+            WHERE expires_at < :expiredBefore
+               OR revoked_at < :revokedBefore
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+         )
+      """,
+      nativeQuery = true
+  )
+  int deleteExpiredBatch(
+      @Param("expiredBefore") Instant expiredBefore,
+      @Param("revokedBefore") Instant revokedBefore,
+      @Param("batchSize") int batchSize
+  );
 }
@@ -1,8 +1,31 @@
 package br.com.edmilson.bndes.projects.api.repository;
 
 import br.com.edmilson.bndes.projects.api.model.RevokedToken;
+import java.time.Instant;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
   boolean existsByJti(String jti);
+
+  List<RevokedToken> findByExpiresAtAfter(Instant instant);
+
+  @Modifying
+  @Query(
+      value = """
+        DELETE FROM revoked_tokens
+         WHERE jti IN (
+           SELECT jti
+             FROM revoked_tokens
+            WHERE expires_at < :expiredBefore
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+         )
+      """,
+      nativeQuery = true
+  )
+  int deleteExpiredBatch(@Param("expiredBefore") Instant expiredBefore, @Param("batchSize") int batchSize);
 }
@@ -0,0 +1,18 @@
+package br.com.edmilson.bndes.projects.api.repository;
+
+/** Resultado da rotação atômica de um refresh token: dono do token + validade do sucessor. */
+public interface RotatedRefreshToken {
+
+  Long getId();
+
+  String getEmail();
+
+  String getRole();
+
+  Boolean getEnabled();
+
+  Integer getTokenGeneration();
+
+  /** Expiração do refresh token sucessor, em epoch seconds. */
+  Long getSuccessorExpiresAt();
+}
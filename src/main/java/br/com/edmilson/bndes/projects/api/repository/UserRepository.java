@@ -2,6 +2,10 @@ package br.com.edmilson.bndes.projects.api.repository;
 
 import br.com.edmilson.bndes.projects.api.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -14,4 +18,30 @@ public interface UserRepository extends JpaRepository<User, Long> {
   Optional<User> findByEmail(String email);
 
   boolean existsByEmail(String email);
+
+  @Query("""
+      SELECT u.enabled AS enabled, u.tokenGeneration AS tokenGeneration
+        FROM User u
+       WHERE u.id = :id
+      """)
+  Optional<UserStatusView> findStatusById(@Param("id") Long id);
+
+  @Modifying
+  @Query("""
+      UPDATE User u
+         SET u.tokenGeneration = u.tokenGeneration + 1
+       WHERE u.id = :id
+      """)
+  int incrementTokenGeneration(@Param("id") Long id);
+
+  // chamado fora de transação pelo login (rehash): abre a própria, curta
+  @Transactional
+  @Modifying
+  @Query("""
+      UPDATE User u
+         SET u.passwordHash = :passwordHash,
+             u.updatedAt = CURRENT_TIMESTAMP
+       WHERE u.id = :id
+      """)
+  int updatePasswordHash(@Param("id") Long id, @Param("passwordHash") String passwordHash);
 }
@@ -0,0 +1,9 @@
+package br.com.edmilson.bndes.projects.api.repository;
+
+/** Projeção mínima de users usada na validação de cada requisição autenticada. */
+public interface UserStatusView {
+
+  Boolean getEnabled();
+
+  Integer getTokenGeneration();
+}
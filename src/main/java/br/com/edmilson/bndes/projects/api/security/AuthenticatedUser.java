@@ -0,0 +1,28 @@
+package br.com.edmilson.bndes.projects.api.security;
+
+import br.com.edmilson.bndes.projects.api.model.Role;
+import java.security.Principal;
+import java.util.List;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Principal montado a partir das claims verificadas do JWT (sub, uid, role),
+ * sem consultar a tabela users a cada requisição.
+ */
+public record AuthenticatedUser(Long id, String email, Role role) implements Principal {
+
+  @Override
+  public String getName() {
+    return email;
+  }
+
+  public boolean isAdmin() {
+    return role == Role.ADMIN;
+  }
+
+  public List<GrantedAuthority> authorities() {
+    Role effective = (role == null) ? Role.USER : role;
+    return List.of(new SimpleGrantedAuthority("ROLE_" + effective.name()));
+  }
+}
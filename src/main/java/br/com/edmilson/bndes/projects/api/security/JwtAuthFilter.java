@@ -1,25 +1,29 @@
 package br.com.edmilson.bndes.projects.api.security;
 
 import br.com.edmilson.bndes.projects.api.auth.JwtService;
+import br.com.edmilson.bndes.projects.api.auth.ParsedToken;
 import br.com.edmilson.bndes.projects.api.exception.ApiError;
 import br.com.edmilson.bndes.projects.api.messages.ApiMessages;
-import br.com.edmilson.bndes.projects.api.repository.RevokedTokenRepository;
+import br.com.edmilson.bndes.projects.api.model.Role;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -27,21 +31,33 @@ import org.springframework.web.filter.OncePerRequestFilter;
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+  static final String METRIC = "auth.jwt.verifications";
+  private static final List<String> REJECTIONS = List.of("invalid_token", "token_expired", "token_revoked", "user_disabled");
+
   private final JwtService jwtService;
-  private final CustomUserDetailsService userDetailsService;
-  private final RevokedTokenRepository revokedTokenRepository;
+  private final UserStatusCache userStatusCache;
+  private final RevokedTokenIndex revokedTokenIndex;
   private final ObjectMapper objectMapper;
 
+  // contadores resolvidos uma vez: no caminho da request é só o incremento (DoubleAdder)
+  private final Counter acceptedTokens;
+  private final Map<String, Counter> rejectedTokens;
+
   public JwtAuthFilter(
       JwtService jwtService,
-      CustomUserDetailsService userDetailsService,
-      RevokedTokenRepository revokedTokenRepository,
-      ObjectMapper objectMapper
+      UserStatusCache userStatusCache,
+      RevokedTokenIndex revokedTokenIndex,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry
   ) {
     this.jwtService = jwtService;
-    this.userDetailsService = userDetailsService;
-    this.revokedTokenRepository = revokedTokenRepository;
+    this.userStatusCache = userStatusCache;
+    this.revokedTokenIndex = revokedTokenIndex;
     this.objectMapper = objectMapper;
+    this.acceptedTokens = Counter.builder(METRIC).tag("outcome", "valid").register(meterRegistry);
+    this.rejectedTokens = REJECTIONS.stream().collect(Collectors.toUnmodifiableMap(
+        Function.identity(),
+        code -> Counter.builder(METRIC).tag("outcome", code).register(meterRegistry)));
   }
 
   @Override
@@ -55,6 +71,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         || path.equals("/auth/register")
         || path.equals("/auth/refresh")
         || path.equals("/health")
+        || path.startsWith("/health/")
         || path.startsWith("/swagger-ui")
         || path.startsWith("/v3/api-docs")
         || path.equals("/swagger-ui.html");
@@ -82,27 +99,45 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     }
 
     try {
-      Claims claims = jwtService.parseAllClaims(token);
+      ParsedToken parsed = jwtService.parse(token);
 
-      String email = claims.getSubject();
+      String email = parsed.subject();
       if (email == null || email.isBlank()) {
         writeUnauthorized(response, request, ApiMessages.INVALID_TOKEN, "invalid_token");
         return;
       }
 
-      String jti = claims.get("jti", String.class);
-      if (jti != null && revokedTokenRepository.existsByJti(jti)) {
+      String jti = parsed.jti();
+      if (jti != null && revokedTokenIndex.isRevoked(jti)) {
         writeUnauthorized(response, request, ApiMessages.TOKEN_REVOKED, "token_revoked");
         return;
       }
 
-      UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+      AuthenticatedUser principal = toPrincipal(parsed);
+      if (principal == null) {
+        writeUnauthorized(response, request, ApiMessages.INVALID_TOKEN, "invalid_token");
+        return;
+      }
+
+      UserStatusCache.Status status = userStatusCache.get(principal.id());
+      if (!status.enabled()) {
+        writeUnauthorized(response, request, ApiMessages.USER_DISABLED, "user_disabled");
+        return;
+      }
+
+      // ✅ "logout em todos os dispositivos": tokens de uma geração anterior à do usuário
+      if (!status.accepts(parsed.tokenGeneration())) {
+        writeUnauthorized(response, request, ApiMessages.TOKEN_REVOKED, "token_revoked");
+        return;
+      }
 
       UsernamePasswordAuthenticationToken authToken =
-          new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+          new UsernamePasswordAuthenticationToken(principal, null, principal.authorities());
 
       authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
       SecurityContextHolder.getContext().setAuthentication(authToken);
+      request.setAttribute(ParsedToken.REQUEST_ATTRIBUTE, parsed);
+      acceptedTokens.increment();
 
       filterChain.doFilter(request, response);
 
@@ -114,6 +149,21 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     }
   }
 
+  // uid e role são assinados junto com o token (JwtService.generateToken), então dispensam o banco.
+  private AuthenticatedUser toPrincipal(ParsedToken parsed) {
+    if (parsed.userId() == null) return null;
+
+    String roleName = parsed.role();
+    Role role;
+    try {
+      role = (roleName == null) ? Role.USER : Role.valueOf(roleName);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+
+    return new AuthenticatedUser(parsed.userId(), parsed.subject(), role);
+  }
+
   private void writeUnauthorized(
       HttpServletResponse response,
       HttpServletRequest request,
@@ -121,6 +171,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
       String errorCode
   ) throws IOException {
 
+    rejectedTokens.get(errorCode).increment();
     if (response.isCommitted()) return;
 
     HttpStatus status = HttpStatus.UNAUTHORIZED;
@@ -0,0 +1,59 @@
+package br.com.edmilson.bndes.projects.api.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Acesso a /actuator/prometheus: ADMIN (JWT) ou a credencial de scrape em HTTP Basic
+ * (basic_auth do Prometheus). Sem APP_SECURITY_METRICS_PASSWORD, só ADMIN.
+ */
+@Component
+public class MetricsScrapeAccess implements AuthorizationManager<RequestAuthorizationContext> {
+
+  private final AuthorityAuthorizationManager<RequestAuthorizationContext> admin =
+      AuthorityAuthorizationManager.hasRole("ADMIN");
+
+  private final byte[] expectedHeader;
+
+  public MetricsScrapeAccess(
+      @Value("${app.security.metrics.username:prometheus}") String username,
+      @Value("${app.security.metrics.password:}") String password
+  ) {
+    this.expectedHeader = (password == null || password.isBlank())
+        ? null
+        : ("Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8)))
+            .getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public AuthorizationResult authorize(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+    if (hasScrapeCredential(context.getRequest())) return new AuthorizationDecision(true);
+    return admin.authorize(authentication, context);
+  }
+
+  // Ainda abstrato em AuthorizationManager (depreciado); o Spring Security só chama authorize.
+  @Deprecated
+  @Override
+  public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+    AuthorizationResult result = authorize(authentication, context);
+    return (result instanceof AuthorizationDecision decision) ? decision : new AuthorizationDecision(result.isGranted());
+  }
+
+  private boolean hasScrapeCredential(HttpServletRequest request) {
+    if (expectedHeader == null) return false;
+    String header = request.getHeader("Authorization");
+    // comparação em tempo constante: não vaza o prefixo correto da senha
+    return header != null && MessageDigest.isEqual(expectedHeader, header.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,140 @@
+package br.com.edmilson.bndes.projects.api.security;
+
+/**
+ * Conjunto imutável de fingerprints de 64 bits (open addressing, sondagem linear) com o
+ * instante de expiração de cada entrada. Leituras não alocam nem bloqueiam; cada escrita
+ * gera uma nova instância (revogações são raras perto das leituras).
+ */
+final class RevokedFingerprints {
+
+  private static final int MIN_CAPACITY = 16;
+  private static final long EMPTY = 0L;
+
+  static final RevokedFingerprints NONE = new RevokedFingerprints(MIN_CAPACITY);
+
+  private final long[] keys;
+  private final long[] expiresAt;
+  private final int mask;
+  private int size;
+
+  private RevokedFingerprints(int capacity) {
+    this.keys = new long[capacity];
+    this.expiresAt = new long[capacity];
+    this.mask = capacity - 1;
+  }
+
+  static long fingerprint(String jti) {
+    // FNV-1a 64 + finalizador do MurmurHash3 (fmix64)
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < jti.length(); i++) {
+      h ^= jti.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    h ^= (h >>> 33);
+    h *= 0xff51afd7ed558ccdL;
+    h ^= (h >>> 33);
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= (h >>> 33);
+    return (h == EMPTY) ? 1L : h;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /** @return epoch seconds de expiração, ou 0 quando o fingerprint não está no conjunto. */
+  long expiresAt(long fingerprint) {
+    int i = index(fingerprint);
+    while (true) {
+      long k = keys[i];
+      if (k == EMPTY) return 0L;
+      if (k == fingerprint) return expiresAt[i];
+      i = (i + 1) & mask;
+    }
+  }
+
+  RevokedFingerprints with(long fingerprint, long expiresAtEpochSecond) {
+    RevokedFingerprints copy = new RevokedFingerprints(capacityFor(size + 1));
+    copyInto(copy, Long.MIN_VALUE);
+    copy.put(fingerprint, expiresAtEpochSecond);
+    return copy;
+  }
+
+  RevokedFingerprints withoutExpired(long nowEpochSecond) {
+    int live = 0;
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != EMPTY && expiresAt[i] > nowEpochSecond) live++;
+    }
+    if (live == size) return this;
+
+    RevokedFingerprints copy = new RevokedFingerprints(capacityFor(live));
+    copyInto(copy, nowEpochSecond);
+    return copy;
+  }
+
+  /** União dos dois conjuntos, descartando as entradas já expiradas. */
+  RevokedFingerprints withAll(RevokedFingerprints other, long nowEpochSecond) {
+    RevokedFingerprints copy = new RevokedFingerprints(capacityFor(size + other.size));
+    copyInto(copy, nowEpochSecond);
+    other.copyInto(copy, nowEpochSecond);
+    return copy;
+  }
+
+  static Builder builder(int expected) {
+    return new Builder(expected);
+  }
+
+  private void copyInto(RevokedFingerprints target, long nowEpochSecond) {
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != EMPTY && expiresAt[i] > nowEpochSecond) {
+        target.put(keys[i], expiresAt[i]);
+      }
+    }
+  }
+
+  private void put(long fingerprint, long expiresAtEpochSecond) {
+    int i = index(fingerprint);
+    while (true) {
+      long k = keys[i];
+      if (k == EMPTY) {
+        keys[i] = fingerprint;
+        expiresAt[i] = expiresAtEpochSecond;
+        size++;
+        return;
+      }
+      if (k == fingerprint) {
+        expiresAt[i] = Math.max(expiresAt[i], expiresAtEpochSecond);
+        return;
+      }
+      i = (i + 1) & mask;
+    }
+  }
+
+  private int index(long fingerprint) {
+    return (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+  }
+
+  // Fator de carga <= 0,5 mantém as sondagens curtas
+  private static int capacityFor(int entries) {
+    int capacity = MIN_CAPACITY;
+    while (capacity < entries * 2) capacity <<= 1;
+    return capacity;
+  }
+
+  static final class Builder {
+    private final RevokedFingerprints target;
+
+    private Builder(int expected) {
+      this.target = new RevokedFingerprints(capacityFor(expected));
+    }
+
+    Builder add(String jti, long expiresAtEpochSecond) {
+      target.put(fingerprint(jti), expiresAtEpochSecond);
+      return this;
+    }
+
+    RevokedFingerprints build() {
+      return target;
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package br.com.edmilson.bndes.projects.api.security;
+
+import br.com.edmilson.bndes.projects.api.cluster.PgChannelHandler;
+import br.com.edmilson.bndes.projects.api.cluster.PgNotifier;
+import br.com.edmilson.bndes.projects.api.model.RevokedToken;
+import br.com.edmilson.bndes.projects.api.repository.RevokedTokenRepository;
+import java.time.Instant;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Índice em memória dos JTIs revogados e ainda não expirados (tabela revoked_tokens).
+ *
+ * <p>O caso comum (token não revogado) é respondido sem ir ao banco. Um acerto no
+ * fingerprint é confirmado com {@code existsByJti} (fallback exato). Revogações feitas
+ * em outro nó chegam pelo canal NOTIFY {@value #CHANNEL}.
+ */
+@Component
+public class RevokedTokenIndex implements PgChannelHandler {
+
+  static final String CHANNEL = "revoked_tokens";
+
+  private static final Logger log = LoggerFactory.getLogger(RevokedTokenIndex.class);
+
+  private final RevokedTokenRepository revokedTokenRepository;
+  private final PgNotifier pgNotifier;
+
+  private volatile RevokedFingerprints fingerprints = RevokedFingerprints.NONE;
+  private volatile boolean loaded;
+
+  public RevokedTokenIndex(RevokedTokenRepository revokedTokenRepository, PgNotifier pgNotifier) {
+    this.revokedTokenRepository = revokedTokenRepository;
+    this.pgNotifier = pgNotifier;
+  }
+
+  /**
+   * Carrega (ou recarrega, no resync do LISTEN) as revogações do banco. O resultado é unido ao
+   * conjunto atual em vez de substituí-lo: um {@code add} que chegue entre a consulta e a troca
+   * não se perde, e revogação nunca é desfeita (as expiradas saem no merge e no evictExpired).
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    List<RevokedToken> active = revokedTokenRepository.findByExpiresAtAfter(Instant.now());
+
+    RevokedFingerprints.Builder builder = RevokedFingerprints.builder(active.size());
+    for (RevokedToken rt : active) {
+      builder.add(rt.getJti(), rt.getExpiresAt().getEpochSecond());
+    }
+
+    synchronized (this) {
+      fingerprints = builder.build().withAll(fingerprints, Instant.now().getEpochSecond());
+      loaded = true;
+    }
+    log.info("Revoked token index loaded with {} entries.", active.size());
+  }
+
+  public boolean isRevoked(String jti) {
+    if (!loaded) {
+      return revokedTokenRepository.existsByJti(jti);
+    }
+
+    long expiresAt = fingerprints.expiresAt(RevokedFingerprints.fingerprint(jti));
+    if (expiresAt == 0L || expiresAt <= Instant.now().getEpochSecond()) {
+      return false;
+    }
+    return revokedTokenRepository.existsByJti(jti);
+  }
+
+  /**
+   * Registra a revogação já gravada em revoked_tokens: localmente após o commit e,
+   * via NOTIFY (transacional), nos demais nós.
+   */
+  public void revoke(String jti, Instant expiresAt) {
+    pgNotifier.notify(CHANNEL, jti + ":" + expiresAt.getEpochSecond());
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          add(jti, expiresAt.getEpochSecond());
+        }
+      });
+    } else {
+      add(jti, expiresAt.getEpochSecond());
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${app.security.revokedIndexPurgeMillis:60000}")
+  public synchronized void evictExpired() {
+    fingerprints = fingerprints.withoutExpired(Instant.now().getEpochSecond());
+  }
+
+  public int size() {
+    return fingerprints.size();
+  }
+
+  @Override
+  public String channel() {
+    return CHANNEL;
+  }
+
+  @Override
+  public void onNotification(String payload) {
+    int sep = payload.lastIndexOf(':');
+    if (sep <= 0) return;
+
+    try {
+      add(payload.substring(0, sep), Long.parseLong(payload.substring(sep + 1)));
+    } catch (NumberFormatException e) {
+      log.warn("Ignoring malformed revocation payload.");
+    }
+  }
+
+  @Override
+  public void onResync() {
+    load();
+  }
+
+  private synchronized void add(String jti, long expiresAtEpochSecond) {
+    if (expiresAtEpochSecond <= Instant.now().getEpochSecond()) return;
+    fingerprints = fingerprints.with(RevokedFingerprints.fingerprint(jti), expiresAtEpochSecond);
+  }
+}
@@ -0,0 +1,122 @@
+package br.com.edmilson.bndes.projects.api.security;
+
+import br.com.edmilson.bndes.projects.api.cluster.PgChannelHandler;
+import br.com.edmilson.bndes.projects.api.cluster.PgNotifier;
+import br.com.edmilson.bndes.projects.api.repository.UserRepository;
+import br.com.edmilson.bndes.projects.api.repository.UserStatusView;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache curto (TTL) do estado do usuário consultado pelo JwtAuthFilter: users.enabled e
+ * users.token_generation. Alterações feitas pela API invalidam a entrada neste nó
+ * (após o commit) e nos demais via NOTIFY {@value #CHANNEL}; o TTL cobre alterações
+ * feitas direto no banco.
+ */
+@Component
+public class UserStatusCache implements PgChannelHandler {
+
+  static final String CHANNEL = "user_status";
+
+  private static final int MAX_ENTRIES = 10_000;
+  private static final Status MISSING = new Status(false, Integer.MAX_VALUE);
+
+  private final UserRepository userRepository;
+  private final PgNotifier pgNotifier;
+  private final long ttlNanos;
+  private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+  public UserStatusCache(
+      UserRepository userRepository,
+      PgNotifier pgNotifier,
+      @Value("${app.security.userStatusTtlSeconds:30}") long ttlSeconds
+  ) {
+    this.userRepository = userRepository;
+    this.pgNotifier = pgNotifier;
+    this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+  }
+
+  /**
+   * @param enabled         users.enabled
+   * @param tokenGeneration users.token_generation: tokens com claim "gen" menor foram revogados por logout-all
+   */
+  public record Status(boolean enabled, int tokenGeneration) {
+
+    // >= e não ==: um nó com o status ainda em cache aceita o token novo emitido após o logout-all
+    public boolean accepts(int tokenGeneration) {
+      return tokenGeneration >= this.tokenGeneration;
+    }
+  }
+
+  public Status get(Long userId) {
+    long now = System.nanoTime();
+
+    Entry cached = entries.get(userId);
+    if (cached != null && now - cached.loadedAtNanos() < ttlNanos) {
+      return cached.status();
+    }
+
+    // Usuário inexistente (removido) conta como desabilitado
+    Status status = userRepository.findStatusById(userId)
+        .map(UserStatusCache::toStatus)
+        .orElse(MISSING);
+
+    if (entries.size() >= MAX_ENTRIES) {
+      entries.values().removeIf(e -> now - e.loadedAtNanos() >= ttlNanos);
+    }
+    if (entries.size() < MAX_ENTRIES) {
+      entries.put(userId, new Entry(status, now));
+    }
+    return status;
+  }
+
+  public boolean isEnabled(Long userId) {
+    return get(userId).enabled();
+  }
+
+  /** Descarta o estado do usuário aqui (após o commit, se houver transação) e nos demais nós. */
+  public void invalidate(Long userId) {
+    pgNotifier.notify(CHANNEL, String.valueOf(userId));
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          entries.remove(userId);
+        }
+      });
+    } else {
+      entries.remove(userId);
+    }
+  }
+
+  @Override
+  public String channel() {
+    return CHANNEL;
+  }
+
+  @Override
+  public void onNotification(String payload) {
+    try {
+      entries.remove(Long.valueOf(payload));
+    } catch (NumberFormatException ignored) {
+      // payload inválido: o TTL resolve
+    }
+  }
+
+  @Override
+  public void onResync() {
+    entries.clear();
+  }
+
+  private static Status toStatus(UserStatusView view) {
+    Integer generation = view.getTokenGeneration();
+    return new Status(Boolean.TRUE.equals(view.getEnabled()), generation == null ? 0 : generation);
+  }
+
+  private record Entry(Status status, long loadedAtNanos) {}
+}
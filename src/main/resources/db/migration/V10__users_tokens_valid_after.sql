@@ -0,0 +1,4 @@
+-- Época de tokens por usuário: access tokens com iat anterior a este instante são rejeitados
+-- ("logout em todos os dispositivos"), sem crescer a tabela revoked_tokens.
+ALTER TABLE users
+  ADD COLUMN IF NOT EXISTS tokens_valid_after TIMESTAMPTZ;
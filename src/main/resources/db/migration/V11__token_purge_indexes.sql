@@ -0,0 +1,4 @@
+-- Purga em lotes: refresh tokens revogados saem após a retenção (idx_refresh_tokens_expires cobre os expirados)
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_revoked
+  ON refresh_tokens (revoked_at)
+  WHERE revoked_at IS NOT NULL;
@@ -0,0 +1,6 @@
+-- Project passa a usar @SequenceGenerator(allocationSize = 50) (otimizador pooled):
+-- cada nextval reserva 50 ids, o que permite batch de INSERT no Hibernate.
+ALTER SEQUENCE projects_id_seq INCREMENT BY 50;
+
+-- O pooled usa (nextval - 49 .. nextval): garante que o primeiro bloco fique acima do maior id atual.
+SELECT setval('projects_id_seq', GREATEST(COALESCE((SELECT MAX(id) FROM projects), 0), 1), true);
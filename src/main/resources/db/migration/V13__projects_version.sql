@@ -0,0 +1,3 @@
+-- Controle de concorrência otimista (@Version) e base do ETag de /projects/{id}
+ALTER TABLE projects
+  ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
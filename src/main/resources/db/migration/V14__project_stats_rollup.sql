@@ -0,0 +1,17 @@
+-- Agregado de GET /projects/stats: uma linha por (dono, active, ano de início), mantida pela API
+-- na mesma transação das escritas em projects. start_year = 0 quando não há start_date.
+CREATE TABLE IF NOT EXISTS project_stats (
+  user_id BIGINT NOT NULL REFERENCES users(id),
+  active BOOLEAN NOT NULL,
+  start_year INT NOT NULL,
+  project_count BIGINT NOT NULL DEFAULT 0,
+  total_value NUMERIC(20,2) NOT NULL DEFAULT 0,
+  PRIMARY KEY (user_id, active, start_year)
+);
+
+INSERT INTO project_stats (user_id, active, start_year, project_count, total_value)
+SELECT p.user_id, p.active, COALESCE(EXTRACT(YEAR FROM p.start_date)::int, 0), COUNT(*), COALESCE(SUM(p.value), 0)
+  FROM projects p
+ WHERE p.deleted_at IS NULL
+ GROUP BY 1, 2, 3
+ON CONFLICT DO NOTHING;
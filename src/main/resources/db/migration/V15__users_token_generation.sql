@@ -0,0 +1,13 @@
+-- Geração de tokens por usuário, gravada no claim "gen" do access token: logout-all incrementa e
+-- tokens de gerações anteriores são rejeitados. Substitui tokens_valid_after, que comparava o iat
+-- (resolução de segundos) e rejeitava também tokens emitidos no restante do segundo do logout.
+ALTER TABLE users
+  ADD COLUMN IF NOT EXISTS token_generation INTEGER NOT NULL DEFAULT 0;
+
+-- Quem já fez logout-all: tokens sem o claim (geração 0) continuam rejeitados
+UPDATE users
+   SET token_generation = 1
+ WHERE tokens_valid_after IS NOT NULL;
+
+ALTER TABLE users
+  DROP COLUMN IF EXISTS tokens_valid_after;
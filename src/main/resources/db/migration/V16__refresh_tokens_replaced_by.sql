@@ -0,0 +1,4 @@
+-- Hash do sucessor gravado só pela rotação: a janela de graça do refresh vale apenas para tokens
+-- revogados por rotação, nunca para os revogados por logout / logout-all (replaced_by nulo).
+ALTER TABLE refresh_tokens
+  ADD COLUMN IF NOT EXISTS replaced_by VARCHAR(128);
@@ -0,0 +1,20 @@
+-- Paginação por keyset (cursor): índices parciais com a chave de ordenação + id (desempate).
+-- Só linhas não deletadas, que são as únicas listadas.
+
+-- Listagem do dono
+CREATE INDEX IF NOT EXISTS ix_projects_owner_created_keyset
+  ON projects (user_id, created_at, id)
+  WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS ix_projects_owner_id_keyset
+  ON projects (user_id, id)
+  WHERE deleted_at IS NULL;
+
+-- Listagem do admin (todos os donos)
+CREATE INDEX IF NOT EXISTS ix_projects_created_keyset
+  ON projects (created_at, id)
+  WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS ix_projects_id_keyset
+  ON projects (id)
+  WHERE deleted_at IS NULL;
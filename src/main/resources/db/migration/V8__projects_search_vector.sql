@@ -0,0 +1,16 @@
+-- Vetor de busca armazenado e ponderado: name (A) pesa mais que description (B).
+-- Evita recalcular to_tsvector(...) no filtro e no ts_rank de cada linha encontrada.
+ALTER TABLE projects
+  ADD COLUMN IF NOT EXISTS search_vector tsvector
+  GENERATED ALWAYS AS (
+    setweight(to_tsvector('portuguese', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('portuguese', coalesce(description, '')), 'B')
+  ) STORED;
+
+CREATE INDEX IF NOT EXISTS ix_projects_search_vector
+  ON projects
+  USING GIN (search_vector)
+  WHERE deleted_at IS NULL;
+
+-- Índice por expressão da V3 deixa de ser usado pelas consultas
+DROP INDEX IF EXISTS ix_projects_search;
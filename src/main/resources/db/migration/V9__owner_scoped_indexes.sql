@@ -0,0 +1,10 @@
+-- Consultas do dono passam a filtrar por projects.user_id (sem JOIN com users).
+-- Os índices (user_id, created_at, id) e (user_id, id) parciais já existem (V7);
+-- aqui entra a variante com o filtro active, usado pela tela de listagem.
+CREATE INDEX IF NOT EXISTS ix_projects_owner_active_created
+  ON projects (user_id, active, created_at DESC, id)
+  WHERE deleted_at IS NULL;
+
+-- findByEmailIgnoreCase resolve o usuário com upper(email) = upper(?)
+CREATE INDEX IF NOT EXISTS ix_users_email_upper
+  ON users (upper(email));
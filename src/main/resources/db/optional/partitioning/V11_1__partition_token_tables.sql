@@ -0,0 +1,151 @@
+-- OPCIONAL: particiona refresh_tokens e revoked_tokens por mês de expires_at.
+-- A limpeza deixa de ser DELETE e vira DROP da partição inteira (sem bloat, sem VACUUM pesado).
+--
+-- Para habilitar:
+--   spring.flyway.locations=classpath:db/migration,classpath:db/optional/partitioning
+--   app.tokens.purge.partitioned=true
+-- Se o banco já tiver migrações posteriores à V11, use também spring.flyway.out-of-order=true.
+-- Por isso a tabela nova já nasce com as colunas das migrações seguintes (replaced_by, da V16): fora de
+-- ordem a V16 já rodou na tabela antiga e não roda de novo; em ordem, o ADD COLUMN IF NOT EXISTS dela vira no-op.
+--
+-- Trade-off: a chave de partição entra nas constraints únicas, então token_hash/jti passam a ser
+-- únicos por (valor, expires_at). Os valores são aleatórios (SHA-256 / UUID), então na prática nada muda.
+--
+-- Cada tabela tem uma partição DEFAULT: um expires_at além das partições mensais já criadas (job parado,
+-- refreshExpirationDays maior que o horizonte) cai nela em vez de falhar o INSERT do login/logout.
+
+-- =========================================================
+-- refresh_tokens
+-- =========================================================
+ALTER TABLE refresh_tokens RENAME TO refresh_tokens_legacy;
+ALTER INDEX IF EXISTS idx_refresh_tokens_user RENAME TO idx_refresh_tokens_legacy_user;
+ALTER INDEX IF EXISTS idx_refresh_tokens_expires RENAME TO idx_refresh_tokens_legacy_expires;
+ALTER INDEX IF EXISTS idx_refresh_tokens_revoked RENAME TO idx_refresh_tokens_legacy_revoked;
+
+CREATE TABLE refresh_tokens (
+  id BIGINT NOT NULL DEFAULT nextval('refresh_tokens_id_seq'),
+  user_id BIGINT NOT NULL REFERENCES users(id),
+  token_hash VARCHAR(128) NOT NULL,
+  created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+  expires_at TIMESTAMPTZ NOT NULL,
+  revoked_at TIMESTAMPTZ NULL,
+  replaced_by VARCHAR(128) NULL,
+  PRIMARY KEY (id, expires_at),
+  UNIQUE (token_hash, expires_at)
+) PARTITION BY RANGE (expires_at);
+
+-- a sequence do BIGSERIAL continua sendo usada; só muda de dono antes do DROP da tabela antiga
+ALTER SEQUENCE refresh_tokens_id_seq OWNED BY refresh_tokens.id;
+
+CREATE INDEX idx_refresh_tokens_user ON refresh_tokens (user_id);
+CREATE INDEX idx_refresh_tokens_hash ON refresh_tokens (token_hash);
+CREATE INDEX idx_refresh_tokens_revoked ON refresh_tokens (revoked_at) WHERE revoked_at IS NOT NULL;
+
+CREATE TABLE refresh_tokens_default PARTITION OF refresh_tokens DEFAULT;
+
+-- =========================================================
+-- revoked_tokens
+-- =========================================================
+ALTER TABLE revoked_tokens RENAME TO revoked_tokens_legacy;
+ALTER INDEX IF EXISTS idx_revoked_tokens_expires RENAME TO idx_revoked_tokens_legacy_expires;
+
+CREATE TABLE revoked_tokens (
+  jti VARCHAR(64) NOT NULL,
+  user_id BIGINT NOT NULL REFERENCES users(id),
+  revoked_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+  expires_at TIMESTAMPTZ NOT NULL,
+  PRIMARY KEY (jti, expires_at)
+) PARTITION BY RANGE (expires_at);
+
+CREATE TABLE revoked_tokens_default PARTITION OF revoked_tokens DEFAULT;
+
+-- =========================================================
+-- Manutenção: cria partições mensais à frente, derruba as que já expiraram e limpa a DEFAULT.
+-- Chamada pelo TokenPurgeJob (na subida e a cada execução agendada).
+-- =========================================================
+CREATE OR REPLACE FUNCTION maintain_token_partitions(
+  p_retention INTERVAL DEFAULT INTERVAL '1 day',
+  p_months_ahead INT DEFAULT 2
+)
+RETURNS TABLE (table_name TEXT, partitions_dropped INT, rows_dropped BIGINT)
+LANGUAGE plpgsql
+AS $$
+DECLARE
+  v_parent TEXT;
+  v_month DATE;
+  v_name TEXT;
+  v_default TEXT;
+  v_part RECORD;
+  v_rows BIGINT;
+BEGIN
+  FOREACH v_parent IN ARRAY ARRAY['refresh_tokens', 'revoked_tokens'] LOOP
+    table_name := v_parent;
+    partitions_dropped := 0;
+    rows_dropped := 0;
+
+    v_default := v_parent || '_default';
+
+    -- partições do mês corrente até p_months_ahead à frente. Linhas do mês que já estejam na DEFAULT
+    -- são movidas para a tabela nova antes do ATTACH (senão o PostgreSQL recusa a partição).
+    FOR i IN 0..p_months_ahead LOOP
+      v_month := (date_trunc('month', now()) + make_interval(months => i))::date;
+      v_name := v_parent || '_' || to_char(v_month, 'YYYYMM');
+      CONTINUE WHEN to_regclass(v_name) IS NOT NULL;
+
+      EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', v_name, v_parent);
+      EXECUTE format(
+        'WITH moved AS (DELETE FROM %I WHERE expires_at >= %L AND expires_at < %L RETURNING *) '
+          || 'INSERT INTO %I SELECT * FROM moved',
+        v_default, v_month, (v_month + INTERVAL '1 month')::date, v_name
+      );
+      EXECUTE format(
+        'ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+        v_parent, v_name, v_month, (v_month + INTERVAL '1 month')::date
+      );
+    END LOOP;
+
+    -- a DEFAULT não tem limite superior: o que expirou nela sai por DELETE
+    EXECUTE format('DELETE FROM %I WHERE expires_at < %L', v_default, now() - p_retention);
+    GET DIAGNOSTICS v_rows = ROW_COUNT;
+    rows_dropped := rows_dropped + v_rows;
+
+    -- partições cujo limite superior já passou da retenção: tudo ali expirou
+    FOR v_part IN
+      SELECT c.relname,
+             (regexp_match(pg_get_expr(c.relpartbound, c.oid), 'TO \(''([^'']+)''\)'))[1]::timestamptz AS upper_bound
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        JOIN pg_class p ON p.oid = i.inhparent
+       WHERE p.relname = v_parent
+    LOOP
+      IF v_part.upper_bound IS NOT NULL AND v_part.upper_bound < now() - p_retention THEN
+        EXECUTE format('SELECT count(*) FROM %I', v_part.relname) INTO v_rows;
+        EXECUTE format('DROP TABLE %I', v_part.relname);
+        partitions_dropped := partitions_dropped + 1;
+        rows_dropped := rows_dropped + v_rows;
+      END IF;
+    END LOOP;
+
+    RETURN NEXT;
+  END LOOP;
+END;
+$$;
+
+SELECT * FROM maintain_token_partitions();
+
+-- Copia só o que ainda vale: tokens já expirados seriam apagados de qualquer forma.
+-- Em ordem (antes da V16) a tabela antiga ainda não tem replaced_by.
+ALTER TABLE refresh_tokens_legacy ADD COLUMN IF NOT EXISTS replaced_by VARCHAR(128);
+
+INSERT INTO refresh_tokens (id, user_id, token_hash, created_at, expires_at, revoked_at, replaced_by)
+SELECT id, user_id, token_hash, created_at, expires_at, revoked_at, replaced_by
+  FROM refresh_tokens_legacy
+ WHERE expires_at >= date_trunc('month', now());
+
+INSERT INTO revoked_tokens (jti, user_id, revoked_at, expires_at)
+SELECT jti, user_id, revoked_at, expires_at
+  FROM revoked_tokens_legacy
+ WHERE expires_at >= date_trunc('month', now());
+
+DROP TABLE refresh_tokens_legacy;
+DROP TABLE revoked_tokens_legacy;
@@ -0,0 +1,55 @@
+package br.com.edmilson.bndes.projects.api;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Base dos testes de integração com PostgreSQL real (Flyway aplica as migrations): sobe um
+ * postgres:16-alpine via Testcontainers, ou usa IT_DATABASE_URL / IT_DATABASE_USER /
+ * IT_DATABASE_PASSWORD quando definidas (banco descartável: os testes gravam dados).
+ * Sem Docker e sem IT_DATABASE_URL os testes são ignorados.
+ */
+public abstract class PostgresIntegrationTest {
+
+  private static final String EXTERNAL_URL = System.getenv("IT_DATABASE_URL");
+
+  private static PostgreSQLContainer<?> container;
+
+  @BeforeAll
+  static void requireDatabase() {
+    assumeTrue(EXTERNAL_URL != null || DockerClientFactory.instance().isDockerAvailable(),
+        "PostgreSQL indisponível: sem Docker e sem IT_DATABASE_URL");
+  }
+
+  @DynamicPropertySource
+  static void datasource(DynamicPropertyRegistry registry) {
+    if (EXTERNAL_URL != null) {
+      registry.add("spring.datasource.url", () -> EXTERNAL_URL);
+      registry.add("spring.datasource.username", () -> env("IT_DATABASE_USER", "postgres"));
+      registry.add("spring.datasource.password", () -> env("IT_DATABASE_PASSWORD", "postgres"));
+      return;
+    }
+    registry.add("spring.datasource.url", () -> container().getJdbcUrl());
+    registry.add("spring.datasource.username", () -> container().getUsername());
+    registry.add("spring.datasource.password", () -> container().getPassword());
+  }
+
+  // um container por JVM, compartilhado entre as classes de teste (o Ryuk derruba no fim)
+  private static synchronized PostgreSQLContainer<?> container() {
+    if (container == null) {
+      container = new PostgreSQLContainer<>("postgres:16-alpine");
+      container.start();
+    }
+    return container;
+  }
+
+  private static String env(String name, String fallback) {
+    String value = System.getenv(name);
+    return (value == null || value.isBlank()) ? fallback : value;
+  }
+}
@@ -3,13 +3,19 @@ package br.com.edmilson.bndes.projects.api.auth;
 import br.com.edmilson.bndes.projects.api.auth.dto.LoginRequest;
 import br.com.edmilson.bndes.projects.api.auth.dto.RefreshRequest;
 import br.com.edmilson.bndes.projects.api.auth.dto.RegisterRequest;
+import br.com.edmilson.bndes.projects.api.exception.ServiceUnavailableException;
 import br.com.edmilson.bndes.projects.api.exception.UnauthorizedException;
+import br.com.edmilson.bndes.projects.api.messages.ApiMessages;
 import br.com.edmilson.bndes.projects.api.model.RefreshToken;
 import br.com.edmilson.bndes.projects.api.model.Role;
 import br.com.edmilson.bndes.projects.api.model.User;
 import br.com.edmilson.bndes.projects.api.repository.RefreshTokenRepository;
 import br.com.edmilson.bndes.projects.api.repository.RevokedTokenRepository;
+import br.com.edmilson.bndes.projects.api.repository.RotatedRefreshToken;
 import br.com.edmilson.bndes.projects.api.repository.UserRepository;
+import br.com.edmilson.bndes.projects.api.security.AuthenticatedUser;
+import br.com.edmilson.bndes.projects.api.security.RevokedTokenIndex;
+import br.com.edmilson.bndes.projects.api.security.UserStatusCache;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,6 +23,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.Instant;
@@ -32,6 +39,8 @@ class AuthServiceTest {
   @Mock UserRepository userRepository;
   @Mock RefreshTokenRepository refreshTokenRepository;
   @Mock RevokedTokenRepository revokedTokenRepository;
+  @Mock RevokedTokenIndex revokedTokenIndex;
+  @Mock UserStatusCache userStatusCache;
   @Mock PasswordEncoder passwordEncoder;
   @Mock JwtService jwtService;
 
@@ -43,9 +52,13 @@ class AuthServiceTest {
         userRepository,
         refreshTokenRepository,
         revokedTokenRepository,
+        revokedTokenIndex,
+        userStatusCache,
         passwordEncoder,
         jwtService,
-        7L
+        7L,
+        10L,
+        "test-secret"
     );
   }
 
@@ -111,6 +124,49 @@ class AuthServiceTest {
     verify(refreshTokenRepository).save(any(RefreshToken.class));
   }
 
+  @Test
+  void login_deveRegravarHash_quandoCustoDoHashEstaDesatualizado() {
+    User user = new User();
+    user.setId(10L);
+    user.setEmail("user@test.com");
+    user.setPasswordHash("OLD_HASH");
+    user.setRole(Role.USER);
+    user.setEnabled(true);
+
+    when(userRepository.findByEmailIgnoreCase("user@test.com")).thenReturn(Optional.of(user));
+    when(passwordEncoder.matches("Test@1234", "OLD_HASH")).thenReturn(true);
+    when(passwordEncoder.upgradeEncoding("OLD_HASH")).thenReturn(true);
+    when(passwordEncoder.encode("Test@1234")).thenReturn("NEW_HASH");
+    when(jwtService.generateToken(eq("user@test.com"), anyMap())).thenReturn("ACCESS");
+
+    service.login(new LoginRequest("user@test.com", "Test@1234"));
+
+    assertThat(user.getPasswordHash()).isEqualTo("NEW_HASH");
+    verify(userRepository).updatePasswordHash(10L, "NEW_HASH");
+  }
+
+  @Test
+  void login_deveSeguirComHashAntigo_quandoPoolDeHashRecusaARegravacao() {
+    User user = new User();
+    user.setId(10L);
+    user.setEmail("user@test.com");
+    user.setPasswordHash("OLD_HASH");
+    user.setRole(Role.USER);
+    user.setEnabled(true);
+
+    when(userRepository.findByEmailIgnoreCase("user@test.com")).thenReturn(Optional.of(user));
+    when(passwordEncoder.matches("Test@1234", "OLD_HASH")).thenReturn(true);
+    when(passwordEncoder.upgradeEncoding("OLD_HASH")).thenReturn(true);
+    when(passwordEncoder.encode("Test@1234")).thenThrow(new ServiceUnavailableException(ApiMessages.AUTH_BUSY));
+    when(jwtService.generateToken(eq("user@test.com"), anyMap())).thenReturn("ACCESS");
+
+    var resp = service.login(new LoginRequest("user@test.com", "Test@1234"));
+
+    assertThat(resp.token()).isEqualTo("ACCESS");
+    assertThat(user.getPasswordHash()).isEqualTo("OLD_HASH");
+    verify(userRepository, never()).updatePasswordHash(anyLong(), anyString());
+  }
+
   @Test
   void login_deveDar401_quandoSenhaInvalida() {
     User user = new User();
@@ -131,17 +187,15 @@ class AuthServiceTest {
 
   @Test
   void refresh_deveEmitirNovoAccessToken_quandoRefreshValido() {
-    User user = new User();
-    user.setId(1L);
-    user.setEmail("user@test.com");
-    user.setRole(Role.USER);
-    user.setEnabled(true);
-
-    RefreshToken existing =
-        new RefreshToken(user, "HASH", Instant.now().plusSeconds(600));
+    RotatedRefreshToken rotated = mock(RotatedRefreshToken.class);
+    when(rotated.getId()).thenReturn(1L);
+    when(rotated.getEmail()).thenReturn("user@test.com");
+    when(rotated.getRole()).thenReturn("USER");
+    when(rotated.getEnabled()).thenReturn(true);
+    when(rotated.getSuccessorExpiresAt()).thenReturn(Instant.now().plusSeconds(600).getEpochSecond());
 
-    when(refreshTokenRepository.findByTokenHash(anyString()))
-        .thenReturn(Optional.of(existing));
+    when(refreshTokenRepository.rotate(anyString(), anyString(), any(), any(), anyLong()))
+        .thenReturn(Optional.of(rotated));
 
     when(jwtService.generateToken(eq("user@test.com"), anyMap()))
         .thenReturn("ACCESS2");
@@ -152,9 +206,24 @@ class AuthServiceTest {
 
     assertThat(resp.token()).isEqualTo("ACCESS2");
     assertThat(resp.expiresInSeconds()).isEqualTo(3600L);
-    assertThat(resp.refreshToken()).isNotBlank();
+    assertThat(resp.refreshToken()).isNotBlank().isNotEqualTo("RAW_REFRESH");
+    assertThat(resp.refreshExpiresInSeconds()).isPositive();
 
-    verify(refreshTokenRepository, atLeastOnce()).save(any(RefreshToken.class));
+    // ✅ um único statement: nada de find + save + lazy load + insert
+    verify(refreshTokenRepository).rotate(anyString(), anyString(), any(), any(), anyLong());
+    verifyNoMoreInteractions(refreshTokenRepository);
+    verifyNoInteractions(userRepository);
+  }
+
+  @Test
+  void refresh_deveFalhar_quandoTokenJaRotacionadoForaDaGraca() {
+    when(refreshTokenRepository.rotate(anyString(), anyString(), any(), any(), anyLong()))
+        .thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> service.refresh(new RefreshRequest("RAW_REFRESH")))
+        .isInstanceOf(UnauthorizedException.class);
+
+    verify(jwtService, never()).generateToken(anyString(), anyMap());
   }
 
   @Test
@@ -173,16 +242,57 @@ class AuthServiceTest {
     when(userRepository.findByEmailIgnoreCase("user@test.com"))
         .thenReturn(Optional.of(user));
 
-    when(request.getHeader("Authorization"))
-        .thenReturn("Bearer ACCESS");
-    when(jwtService.extractJti("ACCESS"))
-        .thenReturn("JTI-123");
-    when(jwtService.extractExpirationInstant("ACCESS"))
-        .thenReturn(Instant.now().plusSeconds(300));
+    when(request.getAttribute(ParsedToken.REQUEST_ATTRIBUTE))
+        .thenReturn(new ParsedToken("user@test.com", "JTI-123", 1L, "USER",
+            Instant.now(), Instant.now().plusSeconds(300), 0));
 
     service.logout(request);
 
     verify(refreshTokenRepository).revokeAllByUserId(1L);
     verify(revokedTokenRepository).save(any());
+    verify(revokedTokenIndex).revoke(eq("JTI-123"), any(Instant.class));
+    verify(jwtService, never()).parse(anyString());
+  }
+
+  @Test
+  void logoutAll_deveIncrementarGeracaoERevogarRefresh_semConsultarUsuario() {
+    HttpServletRequest request = mock(HttpServletRequest.class);
+
+    AuthenticatedUser principal = new AuthenticatedUser(1L, "user@test.com", Role.USER);
+    when(request.getUserPrincipal())
+        .thenReturn(new UsernamePasswordAuthenticationToken(principal, null, principal.authorities()));
+
+    service.logoutAll(request);
+
+    verify(userRepository).incrementTokenGeneration(1L);
+    verify(refreshTokenRepository).revokeAllByUserId(1L);
+    verify(userStatusCache).invalidate(1L);
+    verify(userRepository, never()).findByEmailIgnoreCase(anyString());
+  }
+
+  @Test
+  void login_deveGravarGeracaoNoToken_paraSobreviverAoLogoutAllNoMesmoSegundo() {
+    User user = new User();
+    user.setId(10L);
+    user.setEmail("user@test.com");
+    user.setPasswordHash("HASH");
+    user.setRole(Role.USER);
+    user.setEnabled(true);
+    user.setTokenGeneration(3);
+
+    when(userRepository.findByEmailIgnoreCase("user@test.com")).thenReturn(Optional.of(user));
+    when(passwordEncoder.matches("Test@1234", "HASH")).thenReturn(true);
+    when(jwtService.generateToken(eq("user@test.com"), anyMap())).thenReturn("ACCESS");
+
+    service.login(new LoginRequest("user@test.com", "Test@1234"));
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<java.util.Map<String, Object>> claims = ArgumentCaptor.forClass(java.util.Map.class);
+    verify(jwtService).generateToken(eq("user@test.com"), claims.capture());
+    assertThat(claims.getValue()).containsEntry("gen", 3);
+
+    // emitido logo após o logout-all (mesmo segundo): a geração é a atual, então é aceito
+    assertThat(new UserStatusCache.Status(true, 3).accepts(3)).isTrue();
+    assertThat(new UserStatusCache.Status(true, 3).accepts(2)).isFalse();
   }
 }
@@ -0,0 +1,39 @@
+package br.com.edmilson.bndes.projects.api.auth;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JwtServiceTest {
+
+  private static final String SECRET = "chave-de-teste-com-pelo-menos-32-bytes-1234567890";
+
+  @Test
+  void parse_deveDevolverTokenEmCache_quandoMesmoTokenVerificadoDeNovo() {
+    JwtService service = new JwtService(SECRET, 15, 100);
+    String token = service.generateToken("user@test.com", Map.of("uid", 10L, "role", "USER"));
+
+    ParsedToken first = service.parse(token);
+    ParsedToken second = service.parse(token);
+
+    assertThat(second).isSameAs(first);
+    assertThat(first.subject()).isEqualTo("user@test.com");
+    assertThat(first.userId()).isEqualTo(10L);
+    assertThat(first.role()).isEqualTo("USER");
+    assertThat(first.jti()).isNotBlank();
+    assertThat(first.expiresAt()).isAfter(first.issuedAt());
+  }
+
+  @Test
+  void parse_deveRejeitarToken_quandoAssinaturaDeOutraChave() {
+    JwtService other = new JwtService("outra-chave-de-teste-com-pelo-menos-32-bytes-0987", 15, 100);
+    String token = other.generateToken("user@test.com", Map.of("uid", 10L, "role", "USER"));
+
+    JwtService service = new JwtService(SECRET, 15, 100);
+
+    assertThatThrownBy(() -> service.parse(token)).isInstanceOf(JwtException.class);
+  }
+}
@@ -0,0 +1,47 @@
+package br.com.edmilson.bndes.projects.api.bench;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Latências em nanos de um único cliente (sem sincronização: cada thread usa o seu e os
+ * resultados são juntados no fim com {@link #merge}).
+ */
+final class LatencyRecorder {
+
+  private long[] values = new long[4096];
+  private int count;
+
+  void add(long nanos) {
+    if (count == values.length) values = Arrays.copyOf(values, count * 2);
+    values[count++] = nanos;
+  }
+
+  int count() {
+    return count;
+  }
+
+  /** Junta os registros e devolve as latências ordenadas. */
+  static long[] merge(Collection<LatencyRecorder> recorders) {
+    int total = recorders.stream().mapToInt(LatencyRecorder::count).sum();
+    long[] all = new long[total];
+    int pos = 0;
+    for (LatencyRecorder rec : recorders) {
+      System.arraycopy(rec.values, 0, all, pos, rec.count);
+      pos += rec.count;
+    }
+    Arrays.sort(all);
+    return all;
+  }
+
+  /** Percentil em ms sobre latências já ordenadas. */
+  static double percentile(long[] sorted, double p) {
+    if (sorted.length == 0) return 0;
+    int idx = (int) Math.ceil(p * sorted.length) - 1;
+    return sorted[Math.max(0, idx)] / 1e6;
+  }
+
+  static double max(long[] sorted) {
+    return (sorted.length == 0) ? 0 : sorted[sorted.length - 1] / 1e6;
+  }
+}
@@ -0,0 +1,408 @@
+package br.com.edmilson.bndes.projects.api.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Teste de carga a partir da collection do Newman: cada usuário virtual repete o fluxo inteiro
+ * (register, login, refresh, CRUD, busca, logout) contra uma instância já no ar e, no fim, imprime
+ * vazão e p50/p90/p99 por endpoint. Os status esperados e as variáveis capturadas das respostas
+ * (token, refreshToken, id) são lidos dos scripts de teste da própria collection; o pre-request
+ * global (runId, e-mails, ts, datas) é reproduzido aqui, com e-mails distintos por usuário virtual.
+ *
+ * <pre>
+ * ./mvnw test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp "target/test-classes:$(cat target/cp.txt)" \
+ *   br.com.edmilson.bndes.projects.api.bench.LoadTestDriver \
+ *   [baseUrl=http://localhost:8080] [concurrency=50] [rps=0] [warmup=10] [duration=60] \
+ *   [collection=...newman.collection.json] [environment=...newman.environment.json] [out=target/load-test.json]
+ * </pre>
+ *
+ * Com {@code rps=0} cada usuário dispara a próxima request assim que recebe a resposta (loop fechado).
+ * Com {@code rps>0} as requests são espaçadas num ritmo global fixo e a latência conta a partir do
+ * horário agendado, então atraso acumulado no servidor aparece nos percentis. Requests cujas
+ * variáveis não existem (ex.: login falhou) são puladas e contadas à parte.
+ */
+public final class LoadTestDriver {
+
+  private static final String COLLECTION = "src/test/resources/api-collections/projects-api.newman.collection.json";
+  private static final String ENVIRONMENT = "src/test/resources/api-collections/local.newman.environment.json";
+
+  private static final Pattern VARIABLE = Pattern.compile("\\{\\{(\\w+)}}");
+  private static final Pattern EXPECT_ONE = Pattern.compile("pm\\.expect\\(pm\\.response\\.code\\)\\.to\\.equal\\((\\d+)\\)");
+  private static final Pattern EXPECT_ANY = Pattern.compile("pm\\.expect\\(\\[([\\d,\\s]+)]\\)\\.to\\.include\\(pm\\.response\\.code\\)");
+  private static final Pattern CAPTURE = Pattern.compile("pm\\.environment\\.set\\('(\\w+)',\\s*(json\\.\\w+(?:\\s*\\|\\|\\s*json\\.\\w+)*)\\)");
+
+  private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+  private LoadTestDriver() {}
+
+  public static void main(String[] args) throws Exception {
+    List<Step> steps = loadCollection(new File(arg(args, "collection", COLLECTION)));
+    Map<String, String> env = loadEnvironment(new File(arg(args, "environment", ENVIRONMENT)));
+    String baseUrl = arg(args, "baseUrl", null);
+    if (baseUrl != null) env.put("baseUrl", baseUrl);
+
+    int concurrency = Integer.parseInt(arg(args, "concurrency", "50"));
+    int rps = Integer.parseInt(arg(args, "rps", "0"));
+    int warmup = Integer.parseInt(arg(args, "warmup", "10"));
+    int duration = Integer.parseInt(arg(args, "duration", "60"));
+    File out = new File(arg(args, "out", "target/load-test.json"));
+
+    HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+
+    System.out.printf("%d steps from %s, %d users, %s, warmup %d s, duration %d s against %s%n",
+        steps.size(), arg(args, "collection", COLLECTION), concurrency,
+        (rps > 0) ? rps + " req/s" : "closed loop", warmup, duration, env.get("baseUrl"));
+
+    Run run = new Run(client, steps, env, rps, warmup, duration);
+    List<Row> rows = run.execute(concurrency);
+
+    System.out.printf("%n%d flows completed (%.1f flows/s)%n%n", run.iterations.get(), run.iterations.get() / (double) duration);
+    System.out.println("| endpoint | expected | requests | req/s | p50 ms | p90 ms | p99 ms | max ms | unexpected | errors | skipped | statuses |");
+    System.out.println("|----------|----------|---------:|------:|-------:|-------:|-------:|-------:|-----------:|-------:|--------:|----------|");
+    for (Row r : rows) System.out.println(r.markdown());
+
+    File dir = out.getAbsoluteFile().getParentFile();
+    if (dir != null) dir.mkdirs();
+    JSON.writeValue(out, rows);
+    System.out.println("\nResults written to " + out.getPath());
+  }
+
+  // ------------------------------------------------------------------
+  // Execução
+  // ------------------------------------------------------------------
+
+  private static final class Run {
+    final HttpClient client;
+    final List<Step> steps;
+    final Map<String, String> env;
+    final long measureFrom;
+    final long deadline;
+    final int seconds;
+    final long intervalNanos;
+    final AtomicLong nextSlot;
+    final AtomicLong iterations = new AtomicLong();
+    final String runId = String.valueOf(System.currentTimeMillis());
+
+    Run(HttpClient client, List<Step> steps, Map<String, String> env, int rps, int warmup, int duration) {
+      this.client = client;
+      this.steps = steps;
+      this.env = env;
+      long now = System.nanoTime();
+      this.measureFrom = now + Duration.ofSeconds(warmup).toNanos();
+      this.deadline = measureFrom + Duration.ofSeconds(duration).toNanos();
+      this.seconds = duration;
+      this.intervalNanos = (rps > 0) ? 1_000_000_000L / rps : 0;
+      this.nextSlot = new AtomicLong(now);
+    }
+
+    List<Row> execute(int concurrency) {
+      List<Map<String, EndpointStats>> perUser = new ArrayList<>(concurrency);
+
+      try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+        for (int u = 0; u < concurrency; u++) {
+          Map<String, EndpointStats> stats = new HashMap<>();
+          perUser.add(stats);
+          int user = u;
+          users.submit(() -> virtualUser(user, stats));
+        }
+      }
+
+      Map<String, List<EndpointStats>> byEndpoint = new TreeMap<>();
+      for (Map<String, EndpointStats> stats : perUser) {
+        stats.forEach((key, s) -> byEndpoint.computeIfAbsent(key, k -> new ArrayList<>()).add(s));
+      }
+      List<Row> rows = new ArrayList<>();
+      byEndpoint.forEach((key, all) -> rows.add(Row.of(all, seconds)));
+      return rows;
+    }
+
+    private void virtualUser(int user, Map<String, EndpointStats> stats) {
+      Map<String, String> base = new HashMap<>(env);
+      base.put("runId", runId);
+      base.putIfAbsent("password", "Test@1234");
+      base.put("email_user1", "load1_" + runId + "_" + user + "@test.com");
+      base.put("email_user2", "load2_" + runId + "_" + user + "@test.com");
+      base.put("startDate", "2025-01-01");
+      base.put("endDate", "2025-12-31");
+
+      while (System.nanoTime() < deadline) {
+        // variáveis capturadas valem só dentro da iteração, como numa execução do Newman
+        Map<String, String> vars = new HashMap<>(base);
+        for (Step step : steps) {
+          if (System.nanoTime() >= deadline) return;
+          vars.put("ts", String.valueOf(System.currentTimeMillis()));
+          execute(step, vars, stats);
+          if (Thread.currentThread().isInterrupted()) return;
+        }
+        if (System.nanoTime() >= measureFrom) iterations.incrementAndGet();
+      }
+    }
+
+    private void execute(Step step, Map<String, String> vars, Map<String, EndpointStats> stats) {
+      EndpointStats s = stats.computeIfAbsent(step.endpoint(), k -> new EndpointStats(step));
+      HttpRequest request = step.build(vars);
+      if (request == null) {
+        if (System.nanoTime() >= measureFrom) s.skipped++;
+        return;
+      }
+
+      long start = pace();
+      try {
+        HttpResponse<String> resp = client.send(request, HttpResponse.BodyHandlers.ofString());
+        long end = System.nanoTime();
+        if (start >= measureFrom) s.record(resp.statusCode(), end - start);
+        if (step.expected().isEmpty() || step.expected().contains(resp.statusCode())) {
+          step.capture(resp.body(), vars);
+        }
+
+      } catch (IOException e) {
+        if (start >= measureFrom) s.errors++;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    // loop aberto: pega o próximo horário global e espera até ele; a latência conta desde o agendado
+    private long pace() {
+      if (intervalNanos == 0) return System.nanoTime();
+      long slot = nextSlot.getAndAdd(intervalNanos);
+      long wait = slot - System.nanoTime();
+      if (wait > 0) LockSupport.parkNanos(wait);
+      return slot;
+    }
+  }
+
+  // um por (usuário virtual, endpoint): sem contenção no caminho medido
+  private static final class EndpointStats {
+    final Step step;
+    final LatencyRecorder latencies = new LatencyRecorder();
+    final Map<Integer, Long> statuses = new TreeMap<>();
+    long unexpected;
+    long errors;
+    long skipped;
+
+    EndpointStats(Step step) {
+      this.step = step;
+    }
+
+    void record(int status, long nanos) {
+      latencies.add(nanos);
+      statuses.merge(status, 1L, Long::sum);
+      if (!step.expected().isEmpty() && !step.expected().contains(status)) unexpected++;
+    }
+  }
+
+  record Row(String endpoint, String expected, long requests, double rps, double p50, double p90, double p99,
+             double max, long unexpected, long errors, long skipped, Map<Integer, Long> statuses) {
+
+    static Row of(List<EndpointStats> all, int seconds) {
+      Step step = all.get(0).step;
+      long[] sorted = LatencyRecorder.merge(all.stream().map(s -> s.latencies).toList());
+      Map<Integer, Long> statuses = new TreeMap<>();
+      all.forEach(s -> s.statuses.forEach((k, v) -> statuses.merge(k, v, Long::sum)));
+
+      return new Row(
+          step.method() + " " + step.path(),
+          step.expected().stream().sorted().map(String::valueOf).collect(Collectors.joining("/")),
+          sorted.length,
+          sorted.length / (double) seconds,
+          LatencyRecorder.percentile(sorted, 0.50),
+          LatencyRecorder.percentile(sorted, 0.90),
+          LatencyRecorder.percentile(sorted, 0.99),
+          LatencyRecorder.max(sorted),
+          all.stream().mapToLong(s -> s.unexpected).sum(),
+          all.stream().mapToLong(s -> s.errors).sum(),
+          all.stream().mapToLong(s -> s.skipped).sum(),
+          statuses);
+    }
+
+    String markdown() {
+      String codes = statuses.entrySet().stream()
+          .map(e -> e.getKey() + "x" + e.getValue())
+          .collect(Collectors.joining(" "));
+      return String.format(Locale.ROOT, "| %s | %s | %d | %.1f | %.1f | %.1f | %.1f | %.1f | %d | %d | %d | %s |",
+          endpoint, expected, requests, rps, p50, p90, p99, max, unexpected, errors, skipped, codes);
+    }
+  }
+
+  // ------------------------------------------------------------------
+  // Collection
+  // ------------------------------------------------------------------
+
+  record Step(String name, String method, String url, List<String[]> headers, String body,
+              Set<Integer> expected, Map<String, List<String>> captures) {
+
+    String path() {
+      return url.replace("{{baseUrl}}", "");
+    }
+
+    /** Mesma rota com o mesmo resultado esperado cai na mesma linha do relatório. */
+    String endpoint() {
+      return method + " " + path() + " " + expected;
+    }
+
+    /** {@code null} quando alguma variável usada na request não está definida. */
+    HttpRequest build(Map<String, String> vars) {
+      String resolvedUrl = resolve(url, vars);
+      if (resolvedUrl == null) return null;
+
+      HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(resolvedUrl)).timeout(Duration.ofSeconds(30));
+      for (String[] h : headers) {
+        String value = resolve(h[1], vars);
+        if (value == null) return null;
+        b.header(h[0], value);
+      }
+
+      if (body == null) {
+        b.method(method, HttpRequest.BodyPublishers.noBody());
+      } else {
+        String resolvedBody = resolve(body, vars);
+        if (resolvedBody == null) return null;
+        b.method(method, HttpRequest.BodyPublishers.ofString(resolvedBody));
+      }
+      return b.build();
+    }
+
+    void capture(String responseBody, Map<String, String> vars) {
+      if (captures.isEmpty() || responseBody == null || responseBody.isBlank()) return;
+      try {
+        JsonNode json = JSON.readTree(responseBody);
+        captures.forEach((variable, fields) -> {
+          for (String field : fields) {
+            JsonNode value = json.get(field);
+            if (value != null && !value.isNull()) {
+              vars.put(variable, value.asText());
+              return;
+            }
+          }
+        });
+      } catch (IOException notJson) {
+        // resposta sem corpo JSON: nada a capturar
+      }
+    }
+
+    private static String resolve(String template, Map<String, String> vars) {
+      Matcher m = VARIABLE.matcher(template);
+      StringBuilder sb = new StringBuilder();
+      while (m.find()) {
+        String value = vars.get(m.group(1));
+        if (value == null || value.isEmpty()) return null;
+        m.appendReplacement(sb, Matcher.quoteReplacement(value));
+      }
+      m.appendTail(sb);
+      return sb.toString();
+    }
+  }
+
+  static List<Step> loadCollection(File file) throws IOException {
+    List<Step> steps = new ArrayList<>();
+    collect(JSON.readTree(file).path("item"), steps);
+    if (steps.isEmpty()) throw new IllegalStateException("No requests in " + file);
+    return steps;
+  }
+
+  private static void collect(JsonNode items, List<Step> steps) {
+    for (JsonNode item : items) {
+      if (item.has("item")) {
+        collect(item.get("item"), steps);
+        continue;
+      }
+      JsonNode req = item.path("request");
+      JsonNode url = req.path("url");
+
+      List<String[]> headers = new ArrayList<>();
+      for (JsonNode h : req.path("header")) {
+        headers.add(new String[] {h.path("key").asText(), h.path("value").asText()});
+      }
+      String body = req.path("body").path("raw").asText(null);
+
+      StringBuilder script = new StringBuilder();
+      for (JsonNode event : item.path("event")) {
+        if (!"test".equals(event.path("listen").asText())) continue;
+        for (JsonNode line : event.path("script").path("exec")) script.append(line.asText()).append('\n');
+      }
+
+      steps.add(new Step(
+          item.path("name").asText(),
+          req.path("method").asText("GET"),
+          url.isTextual() ? url.asText() : url.path("raw").asText(),
+          headers,
+          body,
+          expectedStatuses(script),
+          captures(script)));
+    }
+  }
+
+  private static Set<Integer> expectedStatuses(CharSequence script) {
+    Matcher one = EXPECT_ONE.matcher(script);
+    if (one.find()) return Set.of(Integer.parseInt(one.group(1)));
+
+    Matcher any = EXPECT_ANY.matcher(script);
+    if (any.find()) {
+      return Arrays.stream(any.group(1).split(","))
+          .map(String::trim)
+          .map(Integer::valueOf)
+          .collect(Collectors.toUnmodifiableSet());
+    }
+    return Set.of();
+  }
+
+  // pm.environment.set('token_user1', json.token || json.accessToken) -> token_user1 = [token, accessToken]
+  private static Map<String, List<String>> captures(CharSequence script) {
+    Map<String, List<String>> captures = new LinkedHashMap<>();
+    Matcher m = CAPTURE.matcher(script);
+    while (m.find()) {
+      List<String> fields = captures.computeIfAbsent(m.group(1), k -> new ArrayList<>());
+      for (String part : m.group(2).split("\\|\\|")) {
+        String field = part.trim().substring("json.".length());
+        if (!fields.contains(field)) fields.add(field);
+      }
+    }
+    return captures;
+  }
+
+  private static Map<String, String> loadEnvironment(File file) throws IOException {
+    Map<String, String> env = new HashMap<>();
+    for (JsonNode v : JSON.readTree(file).path("values")) {
+      if (v.path("enabled").asBoolean(true)) env.put(v.path("key").asText(), v.path("value").asText());
+    }
+    return env;
+  }
+
+  private static String arg(String[] args, String name, String def) {
+    for (String a : args) {
+      if (a.startsWith(name + "=")) return a.substring(name.length() + 1);
+    }
+    return def;
+  }
+}
@@ -0,0 +1,220 @@
+package br.com.edmilson.bndes.projects.api.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmark de GET /projects com Tomcat em threads de plataforma x virtual threads (+ limitador
+ * de conexões). Sobe o jar duas vezes, uma por modo, contra o mesmo Postgres; mede vazão e
+ * p50/p99 com {@code concurrency} clientes em loop fechado e imprime uma tabela comparativa.
+ *
+ * <pre>
+ * ./mvnw -DskipTests package test-compile
+ * java -cp target/test-classes br.com.edmilson.bndes.projects.api.bench.ThreadModeBenchmark \
+ *   [jar=target/bndes-projetos-api-0.0.1-SNAPSHOT.jar] [concurrency=500] [warmup=10] [duration=30] [port=18080]
+ * </pre>
+ *
+ * O banco vem das mesmas variáveis do app (SPRING_DATASOURCE_*), herdadas pelo processo filho.
+ */
+public final class ThreadModeBenchmark {
+
+  private static final String EMAIL = "bench@bndes.com";
+  private static final String PASSWORD = "Bench@12345";
+  private static final int SEED_PROJECTS = 200;
+  private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+  private ThreadModeBenchmark() {}
+
+  public static void main(String[] args) throws Exception {
+    String jar = arg(args, "jar", findJar());
+    int concurrency = Integer.parseInt(arg(args, "concurrency", "500"));
+    int warmup = Integer.parseInt(arg(args, "warmup", "10"));
+    int duration = Integer.parseInt(arg(args, "duration", "30"));
+    int port = Integer.parseInt(arg(args, "port", "18080"));
+
+    List<Result> results = new ArrayList<>();
+    for (boolean virtual : new boolean[] {false, true}) {
+      results.add(runMode(jar, port, virtual, concurrency, warmup, duration));
+    }
+
+    System.out.printf("%nGET /projects?page=0&size=20 — %d clients, %d s%n%n", concurrency, duration);
+    System.out.println("| mode | req/s | p50 ms | p99 ms | max ms | errors |");
+    System.out.println("|------|------:|-------:|-------:|-------:|-------:|");
+    for (Result r : results) System.out.println(r.row());
+  }
+
+  private static Result runMode(String jar, int port, boolean virtual, int concurrency, int warmup, int duration)
+      throws Exception {
+    String mode = virtual ? "virtual" : "platform";
+    Process app = new ProcessBuilder(
+        "java", "-jar", jar,
+        "--server.port=" + port,
+        "--spring.threads.virtual.enabled=" + virtual)
+        .redirectErrorStream(true)
+        .redirectOutput(new File("target/bench-" + mode + ".log"))
+        .start();
+
+    try {
+      String base = "http://localhost:" + port;
+      HttpClient client = HttpClient.newBuilder()
+          .connectTimeout(Duration.ofSeconds(5))
+          .executor(Executors.newVirtualThreadPerTaskExecutor())
+          .build();
+
+      waitUntilUp(client, base);
+      String token = prepare(client, base);
+
+      HttpRequest list = HttpRequest.newBuilder(URI.create(base + "/projects?page=0&size=20"))
+          .header("Authorization", "Bearer " + token)
+          .timeout(Duration.ofSeconds(30))
+          .GET()
+          .build();
+
+      load(client, list, concurrency, warmup);
+      Result result = load(client, list, concurrency, duration);
+      result.mode = mode;
+      return result;
+
+    } finally {
+      app.destroy();
+      app.waitFor();
+    }
+  }
+
+  // loop fechado: cada cliente só manda a próxima request depois da resposta anterior
+  private static Result load(HttpClient client, HttpRequest request, int concurrency, int seconds) throws Exception {
+    long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+    AtomicLong errors = new AtomicLong();
+    List<LatencyRecorder> recorders = new ArrayList<>(concurrency);
+
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int c = 0; c < concurrency; c++) {
+        LatencyRecorder recorder = new LatencyRecorder();
+        recorders.add(recorder);
+
+        clients.submit(() -> {
+          while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            try {
+              HttpResponse<Void> resp = client.send(request, HttpResponse.BodyHandlers.discarding());
+              if (resp.statusCode() != 200) errors.incrementAndGet();
+            } catch (IOException e) {
+              errors.incrementAndGet();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              return;
+            }
+            recorder.add(System.nanoTime() - start);
+          }
+        });
+      }
+    }
+
+    long[] all = LatencyRecorder.merge(recorders);
+
+    Result r = new Result();
+    r.throughput = all.length / (double) seconds;
+    r.p50 = LatencyRecorder.percentile(all, 0.50);
+    r.p99 = LatencyRecorder.percentile(all, 0.99);
+    r.max = LatencyRecorder.max(all);
+    r.errors = errors.get();
+    return r;
+  }
+
+  private static String prepare(HttpClient client, String base) throws Exception {
+    String credentials = "{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}";
+    post(client, base + "/auth/register", credentials, null); // 400 se já existe: ok
+
+    HttpResponse<String> login = post(client, base + "/auth/login", credentials, null);
+    Matcher m = TOKEN.matcher(login.body());
+    if (login.statusCode() != 200 || !m.find()) {
+      throw new IllegalStateException("Login failed: " + login.statusCode() + " " + login.body());
+    }
+    String token = m.group(1);
+
+    // massa mínima: completa até SEED_PROJECTS projetos do usuário de benchmark
+    HttpResponse<String> page = client.send(
+        HttpRequest.newBuilder(URI.create(base + "/projects?page=0&size=1"))
+            .header("Authorization", "Bearer " + token).GET().build(),
+        HttpResponse.BodyHandlers.ofString());
+    Matcher total = Pattern.compile("\"total\"\\s*:\\s*(\\d+)").matcher(page.body());
+    int existing = total.find() ? Integer.parseInt(total.group(1)) : 0;
+
+    if (existing < SEED_PROJECTS) {
+      StringBuilder body = new StringBuilder("{\"create\":[");
+      for (int i = existing; i < SEED_PROJECTS; i++) {
+        if (i > existing) body.append(',');
+        body.append(String.format(Locale.ROOT,
+            "{\"name\":\"Bench %d\",\"description\":\"Projeto de benchmark %d\",\"value\":%d.00,"
+                + "\"active\":true,\"startDate\":\"2025-01-01\"}", i, i, 1000 + i));
+      }
+      body.append("]}");
+      post(client, base + "/projects/batch", body.toString(), token);
+    }
+    return token;
+  }
+
+  private static HttpResponse<String> post(HttpClient client, String url, String json, String token) throws Exception {
+    HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(url))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(json));
+    if (token != null) b.header("Authorization", "Bearer " + token);
+    return client.send(b.build(), HttpResponse.BodyHandlers.ofString());
+  }
+
+  private static void waitUntilUp(HttpClient client, String base) throws Exception {
+    HttpRequest health = HttpRequest.newBuilder(URI.create(base + "/health")).GET().build();
+    long deadline = System.nanoTime() + Duration.ofSeconds(120).toNanos();
+
+    while (System.nanoTime() < deadline) {
+      try {
+        if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) return;
+      } catch (IOException notYet) {
+        // ainda subindo
+      }
+      Thread.sleep(500);
+    }
+    throw new IllegalStateException("Application did not start on " + base);
+  }
+
+  private static String arg(String[] args, String name, String def) {
+    for (String a : args) {
+      if (a.startsWith(name + "=")) return a.substring(name.length() + 1);
+    }
+    return def;
+  }
+
+  private static String findJar() {
+    File[] jars = new File("target").listFiles((d, n) -> n.endsWith(".jar") && !n.endsWith("-plain.jar"));
+    if (jars == null || jars.length == 0) {
+      throw new IllegalStateException("No jar in target/; run ./mvnw -DskipTests package first.");
+    }
+    return jars[0].getPath();
+  }
+
+  private static final class Result {
+    String mode;
+    double throughput;
+    double p50;
+    double p99;
+    double max;
+    long errors;
+
+    String row() {
+      return String.format(Locale.ROOT, "| %s | %.0f | %.1f | %.1f | %.1f | %d |", mode, throughput, p50, p99, max, errors);
+    }
+  }
+}
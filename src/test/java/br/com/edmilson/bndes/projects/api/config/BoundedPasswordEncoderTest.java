@@ -0,0 +1,59 @@
+package br.com.edmilson.bndes.projects.api.config;
+
+import br.com.edmilson.bndes.projects.api.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BoundedPasswordEncoderTest {
+
+  @Test
+  void matches_deveRecusarNaHora_quandoPoolEFilaEstaoCheios() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    PasswordEncoder bcrypt = mock(PasswordEncoder.class);
+    when(bcrypt.matches(any(), anyString())).thenAnswer(inv -> {
+      started.countDown();
+      release.await();
+      return true;
+    });
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(bcrypt, 1, 1, 5000, registry)) {
+      CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "HASH"));
+      assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+      CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "HASH"));
+      await(() -> registry.get("executor.queued").gauge().value() == 1);
+
+      assertThatThrownBy(() -> encoder.matches("c", "HASH")).isInstanceOf(ServiceUnavailableException.class);
+      assertThat(registry.get(BoundedPasswordEncoder.METRIC_REJECTED).tag("reason", "queue_full").counter().count())
+          .isEqualTo(1);
+
+      release.countDown();
+      assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+      assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+  }
+
+  @Test
+  void calibrate_deveRespeitarLimites() {
+    assertThat(PasswordConfig.calibrate(0, 4, 6)).isEqualTo(4);
+    assertThat(PasswordConfig.calibrate(60_000, 4, 6)).isEqualTo(6);
+  }
+
+  private static void await(java.util.function.BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.getAsBoolean()) {
+      if (System.nanoTime() > deadline) fail("condition not met in 5s");
+      Thread.sleep(5);
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package br.com.edmilson.bndes.projects.api.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LimitedDataSourceTest {
+
+  @Test
+  void getConnection_deveEsperarLicenca_eDevolverUmaVezNoClose() throws Exception {
+    DataSource pool = mock(DataSource.class);
+    when(pool.getConnection()).thenAnswer(inv -> mock(Connection.class));
+
+    LimitedDataSource ds = new LimitedDataSource(pool, 1, 50);
+
+    Connection first = ds.getConnection();
+    assertThat(ds.stats().available()).isZero();
+
+    // sem licença: estoura o timeout em vez de bloquear no pool
+    assertThatThrownBy(ds::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+    assertThat(ds.stats().timeouts()).isEqualTo(1);
+
+    first.close();
+    first.close();
+    assertThat(ds.stats().available()).isEqualTo(1);
+
+    try (Connection second = ds.getConnection()) {
+      assertThat(second).isNotNull();
+    }
+    assertThat(ds.stats().available()).isEqualTo(1);
+  }
+
+  @Test
+  void getConnection_deveDevolverLicenca_quandoPoolFalha() throws Exception {
+    DataSource pool = mock(DataSource.class);
+    when(pool.getConnection()).thenThrow(new SQLTransientConnectionException("down"));
+
+    LimitedDataSource ds = new LimitedDataSource(pool, 2, 50);
+
+    assertThatThrownBy(ds::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+    assertThat(ds.stats().available()).isEqualTo(2);
+  }
+}
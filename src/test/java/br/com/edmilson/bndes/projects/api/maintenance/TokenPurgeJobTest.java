@@ -0,0 +1,64 @@
+package br.com.edmilson.bndes.projects.api.maintenance;
+
+import br.com.edmilson.bndes.projects.api.repository.RefreshTokenRepository;
+import br.com.edmilson.bndes.projects.api.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenPurgeJobTest {
+
+  @Mock RefreshTokenRepository refreshTokenRepository;
+  @Mock RevokedTokenRepository revokedTokenRepository;
+  @Mock JdbcTemplate jdbcTemplate;
+  @Mock TransactionTemplate transactionTemplate;
+
+  TokenPurgeJob job;
+
+  @BeforeEach
+  void setup() {
+    job = new TokenPurgeJob(
+        refreshTokenRepository, revokedTokenRepository, jdbcTemplate, transactionTemplate,
+        true, false, 100, 5, 24
+    );
+    when(transactionTemplate.execute(any())).thenAnswer(inv -> {
+      TransactionCallback<?> callback = inv.getArgument(0);
+      return callback.doInTransaction(null);
+    });
+  }
+
+  @Test
+  void runNow_deveApagarEmLotes_ateLoteIncompleto() {
+    when(refreshTokenRepository.deleteExpiredBatch(any(), any(), eq(100))).thenReturn(100, 100, 40);
+    when(revokedTokenRepository.deleteExpiredBatch(any(), eq(100))).thenReturn(7);
+
+    TokenPurgeStats stats = job.runNow();
+
+    assertThat(stats.refreshTokensRemoved()).isEqualTo(240);
+    assertThat(stats.revokedTokensRemoved()).isEqualTo(7);
+    assertThat(stats.mode()).isEqualTo("batch-delete");
+    assertThat(job.lastRun()).isSameAs(stats);
+    verify(transactionTemplate, times(4)).execute(any());
+  }
+
+  @Test
+  void runNow_deveRespeitarMaxBatchesPerRun() {
+    when(refreshTokenRepository.deleteExpiredBatch(any(), any(), eq(100))).thenReturn(100);
+    when(revokedTokenRepository.deleteExpiredBatch(any(), eq(100))).thenReturn(0);
+
+    TokenPurgeStats stats = job.runNow();
+
+    assertThat(stats.refreshTokensRemoved()).isEqualTo(500);
+    verify(refreshTokenRepository, times(5)).deleteExpiredBatch(any(), any(), eq(100));
+  }
+}
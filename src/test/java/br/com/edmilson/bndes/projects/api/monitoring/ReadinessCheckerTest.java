@@ -0,0 +1,71 @@
+package br.com.edmilson.bndes.projects.api.monitoring;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadinessCheckerTest {
+
+  @Mock DataSource dataSource;
+  @Mock Connection connection;
+  @Mock ObjectProvider<Flyway> flyway;
+  @Mock ApplicationAvailability availability;
+
+  @Test
+  void report_deveServirUltimaVerificacao_semTocarNoBanco() throws Exception {
+    ReadinessChecker checker = new ReadinessChecker(dataSource, flyway, availability, 5000, 30000, 1000, 20);
+    when(availability.getReadinessState()).thenReturn(ReadinessState.REFUSING_TRAFFIC, ReadinessState.ACCEPTING_TRAFFIC);
+    when(dataSource.getConnection()).thenReturn(connection);
+    when(connection.isValid(anyInt())).thenReturn(true);
+
+    assertThat(checker.report().problems()).containsExactly("warming up");
+
+    checker.check();
+    for (int i = 0; i < 100; i++) {
+      ReadinessReport report = checker.report();
+      assertThat(report.ready()).isTrue();
+      assertThat(report.database().up()).isTrue();
+      assertThat(report.migrations().state()).isEqualTo("DISABLED");
+    }
+
+    verify(dataSource, times(1)).getConnection();
+  }
+
+  @Test
+  void report_naoDeveEstarPronto_quandoBancoForaOuVerificacaoVelha() throws Exception {
+    ReadinessChecker checker = new ReadinessChecker(dataSource, flyway, availability, 5000, -1, 1000, 20);
+    when(availability.getReadinessState()).thenReturn(ReadinessState.ACCEPTING_TRAFFIC);
+    when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+    checker.check();
+    ReadinessReport report = checker.report();
+
+    assertThat(report.ready()).isFalse();
+    assertThat(report.database().error()).isEqualTo("Connection refused");
+    assertThat(report.problems()).contains("database unreachable").anyMatch(p -> p.startsWith("last check"));
+    assertThat(checker.health().getStatus().getCode()).isEqualTo("OUT_OF_SERVICE");
+
+    // probe pública: só UP/DOWN, sem a mensagem do driver
+    ReadinessReport.Summary summary = checker.summary();
+    assertThat(summary.status()).isEqualTo("DOWN");
+    assertThat(summary.checks())
+        .containsEntry("startup", "UP")
+        .containsEntry("database", "DOWN")
+        .containsEntry("freshness", "DOWN");
+    assertThat(summary.toString()).doesNotContain("Connection refused");
+  }
+}
@@ -0,0 +1,82 @@
+package br.com.edmilson.bndes.projects.api.monitoring;
+
+import br.com.edmilson.bndes.projects.api.config.StatementCountingDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SqlBudgetFilterTest {
+
+  @Mock DataSource dataSource;
+  @Mock Connection connection;
+  @Mock PreparedStatement statement;
+
+  SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  MockHttpServletRequest request;
+
+  // N+1: um SELECT por projeto
+  FilterChain chain = (req, res) -> {
+    try (Connection con = new StatementCountingDataSource(dataSource).getConnection()) {
+      for (long id = 1; id <= 3; id++) {
+        PreparedStatement ps = con.prepareStatement("select * from projects where id = ?");
+        ps.setLong(1, id);
+        ps.executeQuery();
+      }
+    } catch (java.sql.SQLException e) {
+      throw new IllegalStateException(e);
+    }
+  };
+
+  @BeforeEach
+  void setUp() throws Exception {
+    when(dataSource.getConnection()).thenReturn(connection);
+    when(connection.prepareStatement(anyString())).thenReturn(statement);
+
+    request = new MockHttpServletRequest("GET", "/projects/1");
+    request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/projects/{id}");
+    request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+        new HandlerMethod(new Handler(), Handler.class.getMethod("getById")));
+  }
+
+  @Test
+  void doFilter_deveFalhar_quandoRotaPassaDoOrcamentoNoModoFail() {
+    SqlBudgetFilter filter = new SqlBudgetFilter(registry, SqlBudgetFilter.Mode.FAIL, 20, 5);
+
+    assertThatThrownBy(() -> filter.doFilter(request, new MockHttpServletResponse(), chain))
+        .isInstanceOf(SqlBudgetExceededException.class)
+        .hasMessageContaining("GET /projects/{id} ran 3 SQL statements, budget is 2")
+        .hasMessageContaining("3x select * from projects where id = ?");
+  }
+
+  @Test
+  void doFilter_deveContarSemFalhar_quandoModoLog() throws Exception {
+    SqlBudgetFilter filter = new SqlBudgetFilter(registry, SqlBudgetFilter.Mode.LOG, 20, 5);
+
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+    assertThat(registry.get("app.sql.budget.exceeded").tag("uri", "/projects/{id}").counter().count()).isEqualTo(1);
+    assertThat(registry.get("app.sql.statements").summary().max()).isEqualTo(3);
+  }
+
+  static class Handler {
+    @SqlBudget(2)
+    public void getById() {}
+  }
+}
@@ -0,0 +1,166 @@
+package br.com.edmilson.bndes.projects.api.monitoring;
+
+import br.com.edmilson.bndes.projects.api.PostgresIntegrationTest;
+import br.com.edmilson.bndes.projects.api.auth.AuthController;
+import br.com.edmilson.bndes.projects.api.model.Role;
+import br.com.edmilson.bndes.projects.api.projects.ProjectController;
+import br.com.edmilson.bndes.projects.api.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Sobe a aplicação com app.sql.budget.mode=fail (src/test/resources/config/application.yaml) e passa
+ * por todas as rotas com @SqlBudget: uma rota acima do orçamento lança SqlBudgetExceededException.
+ */
+@SpringBootTest(properties = "app.security.password.strength=4")
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class SqlBudgetIntegrationTest extends PostgresIntegrationTest {
+
+  private static final String PASSWORD = "Test@1234";
+
+  @Autowired MockMvc mvc;
+  @Autowired UserRepository userRepository;
+  @Autowired MeterRegistry meterRegistry;
+
+  @Value("${app.sql.budget.mode}") String mode;
+
+  @Test
+  @Order(1)
+  void rotasDeAuth_devemCaberNoOrcamento() throws Exception {
+    assertThat(mode).isEqualToIgnoringCase("fail");
+    String email = register();
+
+    String login = login(email);
+    String refreshed = json(post("/auth/refresh")
+        .content("{\"refreshToken\":\"" + JsonPath.read(login, "$.refreshToken") + "\"}"), 200);
+
+    mvc.perform(post("/auth/logout").header("Authorization", bearer(refreshed)))
+        .andExpect(status().isOk());
+
+    mvc.perform(post("/auth/logout-all").header("Authorization", bearer(login(email))))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  @Order(2)
+  void rotasDeProjetos_devemCaberNoOrcamento() throws Exception {
+    String auth = bearer(login(register()));
+
+    String created = json(post("/projects").header("Authorization", auth).content(project("Energia Solar")), 201);
+    Integer id = JsonPath.read(created, "$.id");
+
+    json(post("/projects/batch").header("Authorization", auth).content("""
+        {"create": [%s, %s, %s], "update": [{"id": %d, "changes": {"value": 2500.00}}]}
+        """.formatted(project("Lote 1"), project("Lote 2"), project("Lote 3"), id)), 200);
+
+    json(get("/projects").header("Authorization", auth), 200);
+    json(get("/projects").param("q", "energia").header("Authorization", auth), 200);
+    json(get("/projects").param("fields", "id,name").header("Authorization", auth), 200);
+    json(get("/projects").param("fields", "id,name").param("count", "none").header("Authorization", auth), 200);
+    json(get("/projects").param("count", "none").header("Authorization", auth), 200);
+    json(get("/projects").param("count", "none").param("q", "energia").header("Authorization", auth), 200);
+    json(get("/projects").param("after", "").header("Authorization", auth), 200);
+    json(get("/projects/stats").header("Authorization", auth), 200);
+
+    MvcResult export = mvc.perform(get("/projects/export").header("Authorization", auth)
+            .accept(MediaType.APPLICATION_NDJSON))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    mvc.perform(asyncDispatch(export)).andExpect(status().isOk());
+
+    // cache frio e quente
+    json(get("/projects/" + id).header("Authorization", auth), 200);
+    json(get("/projects/" + id).header("Authorization", auth), 200);
+
+    json(put("/projects/" + id).header("Authorization", auth).content("{\"name\":\"Energia Eólica\"}"), 200);
+    mvc.perform(delete("/projects/" + id).header("Authorization", auth))
+        .andExpect(status().isNoContent());
+  }
+
+  @Test
+  @Order(3)
+  void importacaoCsv_deveCaberNoOrcamento() throws Exception {
+    String email = register();
+    var admin = userRepository.findByEmailIgnoreCase(email).orElseThrow();
+    admin.setRole(Role.ADMIN);
+    userRepository.save(admin);
+
+    mvc.perform(post("/projects/import")
+            .param("ownerId", String.valueOf(admin.getId()))
+            .header("Authorization", bearer(login(email)))
+            .contentType("text/csv")
+            .content("""
+                name,description,value,startDate
+                Importado 1,Projeto importado,100.00,2025-01-01
+                Importado 2,Projeto importado,200.00,2025-02-01
+                """))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  @Order(4)
+  void todasAsRotasComSqlBudget_foramExercitadas() {
+    Stream.of(AuthController.class, ProjectController.class)
+        .flatMap(type -> Arrays.stream(type.getDeclaredMethods())
+            .filter(m -> m.isAnnotationPresent(SqlBudget.class))
+            .map(m -> type.getSimpleName() + "." + m.getName()))
+        .forEach(handler -> {
+          DistributionSummary statements = meterRegistry.find("app.sql.statements").tag("handler", handler).summary();
+          assertThat(statements).as(handler).isNotNull();
+          assertThat(statements.count()).as(handler).isPositive();
+        });
+  }
+
+  private String register() throws Exception {
+    String email = "budget-" + UUID.randomUUID() + "@test.com";
+    mvc.perform(post("/auth/register").contentType(MediaType.APPLICATION_JSON)
+            .content("{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}"))
+        .andExpect(status().isCreated());
+    return email;
+  }
+
+  private String login(String email) throws Exception {
+    return json(post("/auth/login")
+        .content("{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}"), 200);
+  }
+
+  private String json(MockHttpServletRequestBuilder request, int expectedStatus) throws Exception {
+    return mvc.perform(request.contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().is(expectedStatus))
+        .andReturn()
+        .getResponse()
+        .getContentAsString();
+  }
+
+  private static String bearer(String authResponse) {
+    return "Bearer " + JsonPath.read(authResponse, "$.token");
+  }
+
+  private static String project(String name) {
+    return """
+        {"name": "%s", "description": "Projeto de teste", "value": 1000.00, "startDate": "2025-01-01"}
+        """.formatted(name);
+  }
+}
@@ -0,0 +1,24 @@
+package br.com.edmilson.bndes.projects.api.projects;
+
+import br.com.edmilson.bndes.projects.api.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CountModeTest {
+
+  @Test
+  void from_deveAceitarMinusculas_eUsarExactQuandoAusente() {
+    assertThat(CountMode.from(null)).isEqualTo(CountMode.EXACT);
+    assertThat(CountMode.from("")).isEqualTo(CountMode.EXACT);
+    assertThat(CountMode.from("window")).isEqualTo(CountMode.WINDOW);
+    assertThat(CountMode.from("none")).isEqualTo(CountMode.NONE);
+  }
+
+  // count=NONE não casa com params = "count=none" e pagaria o COUNT em silêncio
+  @Test
+  void from_deveRejeitarOutraCaixa() {
+    assertThatThrownBy(() -> CountMode.from("NONE")).isInstanceOf(ValidationException.class);
+    assertThatThrownBy(() -> CountMode.from("Exact")).isInstanceOf(ValidationException.class);
+  }
+}
@@ -0,0 +1,165 @@
+package br.com.edmilson.bndes.projects.api.projects;
+
+import br.com.edmilson.bndes.projects.api.cluster.PgNotifier;
+import br.com.edmilson.bndes.projects.api.exception.ValidationException;
+import br.com.edmilson.bndes.projects.api.model.Project;
+import br.com.edmilson.bndes.projects.api.model.Role;
+import br.com.edmilson.bndes.projects.api.model.User;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectBatchItemResult.Status;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectBatchRequest;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectBatchUpdateItem;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectCreateRequest;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectUpdateRequest;
+import br.com.edmilson.bndes.projects.api.repository.ProjectRepository;
+import br.com.edmilson.bndes.projects.api.repository.ProjectStatsRepository;
+import br.com.edmilson.bndes.projects.api.repository.UserRepository;
+import br.com.edmilson.bndes.projects.api.security.AuthenticatedUser;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectBatchServiceTest {
+
+  @Mock ProjectRepository projectRepository;
+  @Mock UserRepository userRepository;
+  @Mock EntityManager entityManager;
+  @Mock PgNotifier pgNotifier;
+
+  ProjectBatchService service;
+
+  @BeforeEach
+  void setup() {
+    ProjectService projectService = new ProjectService(
+        projectRepository,
+        userRepository,
+        new ProjectReadCache(mock(PgNotifier.class), 60, 1000),
+        mock(ProjectStatsRepository.class)
+    );
+    service = new ProjectBatchService(
+        projectRepository,
+        userRepository,
+        projectService,
+        new ProjectReadCache(pgNotifier, 60, 1000),
+        mock(ProjectStatsRepository.class),
+        Validation.buildDefaultValidatorFactory().getValidator(),
+        entityManager,
+        10,
+        2
+    );
+
+    AuthenticatedUser principal = new AuthenticatedUser(1L, "user@test.com", Role.USER);
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken(principal, null, principal.authorities())
+    );
+  }
+
+  @AfterEach
+  void cleanup() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void batch_deveCriarValidosEmBlocos_eReportarInvalidosPorItem() {
+    AtomicLong seq = new AtomicLong(100);
+    when(projectRepository.save(any(Project.class))).thenAnswer(inv -> {
+      Project p = inv.getArgument(0);
+      p.setId(seq.incrementAndGet());
+      return p;
+    });
+
+    var resp = service.batch(new ProjectBatchRequest(
+        List.of(
+            create("A", BigDecimal.TEN),
+            create("", BigDecimal.TEN),
+            create("C", new BigDecimal("-1")),
+            create("D", BigDecimal.ONE),
+            create("E", BigDecimal.ONE)
+        ),
+        null
+    ));
+
+    assertThat(resp.succeeded()).isEqualTo(3);
+    assertThat(resp.failed()).isEqualTo(2);
+    assertThat(resp.results()).extracting(r -> r.status())
+        .containsExactly(Status.CREATED, Status.INVALID, Status.INVALID, Status.CREATED, Status.CREATED);
+    assertThat(resp.results().get(0).id()).isEqualTo(101L);
+    assertThat(resp.results().get(2).errors()).containsExactly("Value must be >= 0.");
+
+    // 3 válidos com bloco de 2: flush após o 2º e no final
+    verify(projectRepository, times(3)).save(any(Project.class));
+    verify(projectRepository, times(2)).flush();
+    verify(entityManager, times(2)).clear();
+  }
+
+  @Test
+  void batch_deveAtualizarSomenteProjetosDoUsuario_comUmaConsultaPorBloco() {
+    Project own = project(10L, 1L);
+    Project other = project(11L, 2L);
+    when(projectRepository.findAllActiveByIdIn(List.of(10L, 11L))).thenReturn(List.of(own, other));
+    when(projectRepository.findAllActiveByIdIn(List.of(12L))).thenReturn(List.of());
+
+    ProjectUpdateRequest rename = new ProjectUpdateRequest("Novo", null, null, null, null, null);
+
+    var resp = service.batch(new ProjectBatchRequest(
+        null,
+        List.of(
+            new ProjectBatchUpdateItem(10L, rename),
+            new ProjectBatchUpdateItem(11L, rename),
+            new ProjectBatchUpdateItem(12L, rename)
+        )
+    ));
+
+    assertThat(resp.results()).extracting(r -> r.status())
+        .containsExactly(Status.UPDATED, Status.FORBIDDEN, Status.NOT_FOUND);
+    assertThat(own.getName()).isEqualTo("Novo");
+    assertThat(other.getName()).isEqualTo("Antigo");
+    verify(projectRepository, times(2)).findAllActiveByIdIn(anyCollection());
+
+    // só o atualizado entra no NOTIFY do bloco, com a versão após o flush; bloco sem atualização não notifica
+    verify(pgNotifier).notify(ProjectReadCache.CHANNEL, "10:0");
+    verifyNoMoreInteractions(pgNotifier);
+  }
+
+  @Test
+  void batch_deveRejeitar_quandoExcedeMaximoDeItens() {
+    List<ProjectCreateRequest> many = Collections.nCopies(11, create("A", BigDecimal.ONE));
+
+    assertThatThrownBy(() -> service.batch(new ProjectBatchRequest(many, null)))
+        .isInstanceOf(ValidationException.class);
+    verifyNoInteractions(projectRepository);
+  }
+
+  private ProjectCreateRequest create(String name, BigDecimal value) {
+    return new ProjectCreateRequest(name, "desc", value, true, LocalDate.of(2025, 1, 1), null);
+  }
+
+  private Project project(Long id, Long ownerId) {
+    User owner = new User();
+    owner.setId(ownerId);
+
+    Project p = new Project();
+    p.setId(id);
+    p.setUser(owner);
+    p.setName("Antigo");
+    p.setStartDate(LocalDate.of(2025, 1, 1));
+    return p;
+  }
+}
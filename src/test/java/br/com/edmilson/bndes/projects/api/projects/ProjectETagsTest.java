@@ -0,0 +1,23 @@
+package br.com.edmilson.bndes.projects.api.projects;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ProjectETagsTest {
+
+  @Test
+  void noneMatch_deveUsarComparacaoFraca() {
+    assertThat(ProjectETags.noneMatchHits("\"3\"", 3L)).isTrue();
+    assertThat(ProjectETags.noneMatchHits("W/\"3\"", 3L)).isTrue();
+    assertThat(ProjectETags.noneMatchHits("\"1\", \"2\"", 3L)).isFalse();
+    assertThat(ProjectETags.noneMatchHits("*", 3L)).isTrue();
+  }
+
+  @Test
+  void parseIfMatch_deveIgnorarTagsFracas_eTratarCuringaComoSemPrecondicao() {
+    assertThat(ProjectETags.parseIfMatch(null)).isNull();
+    assertThat(ProjectETags.parseIfMatch("*")).isNull();
+    assertThat(ProjectETags.parseIfMatch("\"3\", W/\"4\", \"abc\"")).containsExactly(3L);
+  }
+}
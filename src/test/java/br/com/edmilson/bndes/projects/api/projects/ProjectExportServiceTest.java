@@ -0,0 +1,102 @@
+package br.com.edmilson.bndes.projects.api.projects;
+
+import br.com.edmilson.bndes.projects.api.model.Role;
+import br.com.edmilson.bndes.projects.api.repository.ProjectExportRow;
+import br.com.edmilson.bndes.projects.api.repository.ProjectRepository;
+import br.com.edmilson.bndes.projects.api.security.AuthenticatedUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectExportServiceTest {
+
+  @Mock ProjectRepository projectRepository;
+  @Mock ProjectService projectService;
+  @Mock PlatformTransactionManager transactionManager;
+
+  ProjectExportService service;
+
+  @BeforeEach
+  void setup() {
+    ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    service = new ProjectExportService(projectRepository, projectService, objectMapper, transactionManager);
+  }
+
+  @Test
+  void export_deveGerarCsvEscopadoAoDono_quandoNaoAdmin() throws Exception {
+    when(projectService.getCurrentUser()).thenReturn(new AuthenticatedUser(7L, "user@test.com", Role.USER));
+    stubTwoRows();
+
+    String body = run(service.export(true, "  energia ", ProjectExportFormat.CSV));
+
+    assertThat(body.split("\r\n")).containsExactly(
+        ProjectExportService.CSV_HEADER,
+        "1,Projeto A,simples,1500.00,true,2024-01-01,,2024-01-02T10:00:00Z,",
+        "2,\"Projeto, \"\"B\"\"\",,1500.00,true,2024-01-01,,2024-01-02T10:00:00Z,"
+    );
+    verify(projectRepository).streamForExport(eq(7L), eq(true), eq("energia"), any());
+  }
+
+  @Test
+  void export_deveGerarNdjsonSemFiltroDeDono_quandoAdmin() throws Exception {
+    when(projectService.getCurrentUser()).thenReturn(new AuthenticatedUser(1L, "admin@test.com", Role.ADMIN));
+    stubTwoRows();
+
+    String body = run(service.export(null, "", ProjectExportFormat.NDJSON));
+
+    String[] lines = body.split("\n");
+    assertThat(lines).hasSize(2);
+    assertThat(lines[0]).startsWith("{\"id\":1,").contains("\"createdAt\":\"2024-01-02T10:00:00Z\"");
+    assertThat(lines[1]).startsWith("{\"id\":2,");
+    verify(projectRepository).streamForExport(isNull(), isNull(), isNull(), any());
+  }
+
+  @Test
+  void fromAccept_deveEscolherFormatoPeloAccept() {
+    assertThat(ProjectExportFormat.fromAccept(null)).isEqualTo(ProjectExportFormat.NDJSON);
+    assertThat(ProjectExportFormat.fromAccept("*/*")).isEqualTo(ProjectExportFormat.NDJSON);
+    assertThat(ProjectExportFormat.fromAccept("text/csv")).isEqualTo(ProjectExportFormat.CSV);
+    assertThat(ProjectExportFormat.fromAccept("application/x-ndjson;q=0.5, text/csv")).isEqualTo(ProjectExportFormat.CSV);
+  }
+
+  private void stubTwoRows() {
+    doAnswer(inv -> {
+      Consumer<ProjectExportRow> consumer = inv.getArgument(3);
+      consumer.accept(row(1L, "Projeto A", "simples"));
+      consumer.accept(row(2L, "Projeto, \"B\"", null));
+      return null;
+    }).when(projectRepository).streamForExport(any(), any(), any(), any());
+  }
+
+  private String run(StreamingResponseBody body) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    body.writeTo(out);
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  private ProjectExportRow row(Long id, String name, String description) {
+    return new ProjectExportRow(
+        id, name, description, new BigDecimal("1500.00"), true,
+        LocalDate.of(2024, 1, 1), null, Instant.parse("2024-01-02T10:00:00Z"), null
+    );
+  }
+}
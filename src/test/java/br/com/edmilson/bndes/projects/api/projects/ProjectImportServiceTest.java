@@ -0,0 +1,89 @@
+package br.com.edmilson.bndes.projects.api.projects;
+
+import br.com.edmilson.bndes.projects.api.exception.ResourceNotFoundException;
+import br.com.edmilson.bndes.projects.api.exception.ValidationException;
+import br.com.edmilson.bndes.projects.api.repository.UserRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProjectImportServiceTest {
+
+  static final Map<String, Integer> COLUMNS = Map.of(
+      "name", 0, "description", 1, "value", 2, "active", 3, "startDate", 4, "endDate", 5
+  );
+
+  @Test
+  void csvRecordReader_deveLerCamposEntreAspas_comQuebraDeLinhaEBom() throws Exception {
+    String csv = "\uFEFFname,description\r\n"
+        + "\"Projeto, A\",\"linha 1\nlinha 2 com \"\"aspas\"\"\"\r\n"
+        + "\r\n"
+        + "B,\n";
+
+    CsvRecordReader reader = new CsvRecordReader(new StringReader(csv));
+
+    assertThat(reader.next()).containsExactly("name", "description");
+    assertThat(reader.next()).containsExactly("Projeto, A", "linha 1\nlinha 2 com \"aspas\"");
+    assertThat(reader.recordLine()).isEqualTo(2);
+    assertThat(reader.next()).containsExactly("B", null);
+    assertThat(reader.recordLine()).isEqualTo(5);
+    assertThat(reader.next()).isNull();
+  }
+
+  @Test
+  void parseRow_deveConverterCampos_eAcumularErrosDeFormato() {
+    var ok = ProjectImportService.parseRow(COLUMNS, List.of("A", "desc", "10.50", "", "2025-01-01", ""));
+    assertThat(ok.errors()).isEmpty();
+    assertThat(ok.request().value()).isEqualByComparingTo(new BigDecimal("10.50"));
+    assertThat(ok.request().active()).isNull();
+    assertThat(ok.request().startDate()).isEqualTo(LocalDate.of(2025, 1, 1));
+
+    var bad = ProjectImportService.parseRow(COLUMNS, List.of("A", "desc", "dez", "talvez", "01/01/2025", "x"));
+    assertThat(bad.errors()).containsExactly(
+        "Value must be a number.",
+        "Active must be true or false.",
+        "Start date must be an ISO date (yyyy-MM-dd).",
+        "End date must be an ISO date (yyyy-MM-dd)."
+    );
+
+    var huge = ProjectImportService.parseRow(COLUMNS, List.of("A", "desc", "1234567890123", "", "2025-01-01", ""));
+    assertThat(huge.errors()).containsExactly("Value must have at most 12 integer digits.");
+  }
+
+  @Test
+  void importCsv_deveValidarDonoECabecalho_antesDeAbrirOCopy() {
+    UserRepository userRepository = mock(UserRepository.class);
+    DataSource dataSource = mock(DataSource.class);
+    JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    ProjectImportService service = new ProjectImportService(
+        dataSource, jdbcTemplate, userRepository, mock(ProjectService.class),
+        Validation.buildDefaultValidatorFactory().getValidator()
+    );
+
+    when(userRepository.existsById(99L)).thenReturn(false);
+    when(userRepository.existsById(1L)).thenReturn(true);
+
+    assertThatThrownBy(() -> service.importCsv(99L, csv("name,description,value,startDate\n")))
+        .isInstanceOf(ResourceNotFoundException.class);
+    assertThatThrownBy(() -> service.importCsv(1L, csv("name,value\nA,1\n")))
+        .isInstanceOf(ValidationException.class);
+
+    verifyNoInteractions(jdbcTemplate, dataSource);
+  }
+
+  private ByteArrayInputStream csv(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,85 @@
+package br.com.edmilson.bndes.projects.api.projects;
+
+import br.com.edmilson.bndes.projects.api.cluster.PgNotifier;
+import br.com.edmilson.bndes.projects.api.projects.ProjectReadCache.CachedProject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectReadCacheTest {
+
+  @Mock PgNotifier pgNotifier;
+
+  ProjectReadCache cache;
+
+  @BeforeEach
+  void setup() {
+    cache = new ProjectReadCache(pgNotifier, 60, 1000);
+  }
+
+  @Test
+  void get_deveCarregarUmaVez_eServirDoCacheDepois() {
+    CachedProject v1 = new CachedProject(null, 1L, 0L, false);
+
+    assertThat(cache.get(10L, () -> v1)).isSameAs(v1);
+    assertThat(cache.get(10L, () -> { throw new AssertionError("não deveria carregar"); })).isSameAs(v1);
+
+    ProjectReadCache.Stats stats = cache.stats();
+    assertThat(stats.hits()).isEqualTo(1);
+    assertThat(stats.misses()).isEqualTo(1);
+  }
+
+  @Test
+  void onNotification_deveImpedirLeituraAntigaDeRepopularCache() {
+    cache.get(10L, () -> new CachedProject(null, 1L, 0L, false));
+
+    // outro nó gravou a versão 1; uma leitura da versão 0 ainda em voo chega depois
+    cache.onNotification("10:1");
+    cache.get(10L, () -> new CachedProject(null, 1L, 0L, false));
+
+    CachedProject fresh = new CachedProject(null, 1L, 1L, false);
+    assertThat(cache.get(10L, () -> fresh)).isSameAs(fresh);
+    assertThat(cache.peek(10L)).isSameAs(fresh);
+  }
+
+  @Test
+  void updated_deveManterEntradaLocal_quandoRecebeOProprioNotify() {
+    CachedProject fresh = new CachedProject(null, 1L, 3L, false);
+
+    cache.updated(10L, fresh);
+    cache.onNotification("10:3");
+
+    assertThat(cache.peek(10L)).isSameAs(fresh);
+    verify(pgNotifier).notify(ProjectReadCache.CHANNEL, "10:3");
+  }
+
+  @Test
+  void updatedAll_deveNotificarIdEVersaoPorLote_eAplicarPisoRecebido() {
+    cache.updatedAll(Map.of(10L, 2L));
+    verify(pgNotifier).notify(ProjectReadCache.CHANNEL, "10:2");
+
+    // outro nó: lote com piso de versão para 11 e 12; leitura antiga de 11 não repopula o cache
+    cache.onNotification("11:5,12:1");
+    cache.get(11L, () -> new CachedProject(null, 1L, 4L, false));
+    assertThat(cache.peek(11L)).isNull();
+
+    CachedProject fresh = new CachedProject(null, 1L, 5L, false);
+    assertThat(cache.get(11L, () -> fresh)).isSameAs(fresh);
+  }
+
+  @Test
+  void deleted_deveGravarTombstone() {
+    cache.deleted(10L, 1L, 4L);
+
+    assertThat(cache.peek(10L).deleted()).isTrue();
+    verify(pgNotifier).notify(ProjectReadCache.CHANNEL, "10:4:deleted");
+  }
+}
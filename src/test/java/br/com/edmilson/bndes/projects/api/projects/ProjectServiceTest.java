@@ -1,12 +1,23 @@
 package br.com.edmilson.bndes.projects.api.projects;
 
+import br.com.edmilson.bndes.projects.api.cluster.PgNotifier;
 import br.com.edmilson.bndes.projects.api.exception.ForbiddenException;
+import br.com.edmilson.bndes.projects.api.exception.PreconditionFailedException;
+import br.com.edmilson.bndes.projects.api.exception.ValidationException;
 import br.com.edmilson.bndes.projects.api.model.Project;
 import br.com.edmilson.bndes.projects.api.model.Role;
 import br.com.edmilson.bndes.projects.api.model.User;
 import br.com.edmilson.bndes.projects.api.projects.dto.ProjectCreateRequest;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectResponse;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectUpdateRequest;
+import br.com.edmilson.bndes.projects.api.repository.ProjectField;
+import br.com.edmilson.bndes.projects.api.repository.ProjectKeyset;
 import br.com.edmilson.bndes.projects.api.repository.ProjectRepository;
+import br.com.edmilson.bndes.projects.api.repository.ProjectSearchRepository.SearchSlice;
+import br.com.edmilson.bndes.projects.api.repository.ProjectStatsRepository;
+import br.com.edmilson.bndes.projects.api.repository.ProjectVersionView;
 import br.com.edmilson.bndes.projects.api.repository.UserRepository;
+import br.com.edmilson.bndes.projects.api.security.AuthenticatedUser;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,11 +26,15 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
 import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -35,7 +50,12 @@ class ProjectServiceTest {
 
   @BeforeEach
   void setup() {
-    service = new ProjectService(projectRepository, userRepository);
+    service = new ProjectService(
+        projectRepository,
+        userRepository,
+        new ProjectReadCache(mock(PgNotifier.class), 60, 1000),
+        mock(ProjectStatsRepository.class)
+    );
   }
 
   @AfterEach
@@ -54,6 +74,7 @@ class ProjectServiceTest {
     authAs("user@test.com");
 
     User user = new User();
+    user.setId(1L);
     user.setEmail("user@test.com");
     user.setRole(Role.USER);
     user.setEnabled(true);
@@ -67,13 +88,13 @@ class ProjectServiceTest {
         1
     );
 
-    when(projectRepository.findAllByUserEmail(eq("user@test.com"), eq(true), any(Pageable.class)))
+    when(projectRepository.findAllByUserId(eq(1L), eq(true), any(Pageable.class)))
         .thenReturn(page);
 
     var resp = service.list(true, "", PageRequest.of(0, 10));
 
     assertThat(resp.getTotalElements()).isEqualTo(1);
-    verify(projectRepository).findAllByUserEmail(eq("user@test.com"), eq(true), any(Pageable.class));
+    verify(projectRepository).findAllByUserId(eq(1L), eq(true), any(Pageable.class));
   }
 
   @Test
@@ -115,6 +136,7 @@ class ProjectServiceTest {
     authAs("user2@test.com");
 
     User user2 = new User();
+    user2.setId(2L);
     user2.setEmail("user2@test.com");
     user2.setRole(Role.USER);
     user2.setEnabled(true);
@@ -124,16 +146,198 @@ class ProjectServiceTest {
     
     Project p = new Project();
     User owner = new User();
+    owner.setId(1L);
     owner.setEmail("user1@test.com");
     p.setUser(owner);
     
-    when(projectRepository.findActiveByIdAndUserEmail(eq(1L), eq("user2@test.com")))
-        .thenReturn(Optional.empty());
-    
-    lenient().when(projectRepository.findActiveById(1L))
+    when(projectRepository.findActiveById(1L))
         .thenReturn(Optional.of(p));
 
     assertThatThrownBy(() -> service.getById(1L))
         .isInstanceOf(ForbiddenException.class);
+    verify(projectRepository, times(1)).findActiveById(1L);
+    verify(userRepository, times(1)).findByEmailIgnoreCase("user2@test.com");
+  }
+
+  @Test
+  void listByCursor_deveRetornarNextCursor_quandoHaMaisRegistros() {
+    authAs("user@test.com");
+
+    User user = new User();
+    user.setId(7L);
+    user.setEmail("user@test.com");
+    user.setRole(Role.USER);
+    user.setEnabled(true);
+
+    when(userRepository.findByEmailIgnoreCase("user@test.com"))
+        .thenReturn(Optional.of(user));
+
+    Project p1 = new Project();
+    p1.setId(30L);
+    p1.setCreatedAt(Instant.parse("2025-03-01T10:00:00Z"));
+    Project p2 = new Project();
+    p2.setId(20L);
+    p2.setCreatedAt(Instant.parse("2025-02-01T10:00:00Z"));
+    Project p3 = new Project();
+    p3.setId(10L);
+    p3.setCreatedAt(Instant.parse("2025-01-01T10:00:00Z"));
+
+    Sort sort = Sort.by(Sort.Direction.DESC, "createdAt");
+
+    when(projectRepository.findKeysetPage(eq(7L), isNull(), any(ProjectKeyset.class), eq(3)))
+        .thenReturn(List.of(p1, p2, p3));
+
+    var first = service.listByCursor(null, "", "", 2, sort);
+
+    assertThat(first.items()).hasSize(2);
+    assertThat(first.nextCursor()).isNotBlank();
+
+    when(projectRepository.findKeysetPage(eq(7L), isNull(), argThat(k -> !k.isFirst()), eq(3)))
+        .thenReturn(List.of(p3));
+
+    var second = service.listByCursor(null, "", first.nextCursor(), 2, sort);
+
+    assertThat(second.items()).hasSize(1);
+    assertThat(second.nextCursor()).isNull();
+    verify(projectRepository).findKeysetPage(eq(7L), isNull(),
+        eq(new ProjectKeyset(ProjectKeyset.SortKey.CREATED_AT, Sort.Direction.DESC, p2.getCreatedAt(), 20L)),
+        eq(3));
+  }
+
+  @Test
+  void listByCursor_deveRejeitarCursor_quandoOrdenacaoDiferente() {
+    authAs("user@test.com");
+
+    User user = new User();
+    user.setId(7L);
+    user.setEmail("user@test.com");
+    user.setRole(Role.USER);
+    user.setEnabled(true);
+
+    when(userRepository.findByEmailIgnoreCase("user@test.com"))
+        .thenReturn(Optional.of(user));
+
+    String cursor = ProjectCursorCodec.encode(
+        new ProjectKeyset(ProjectKeyset.SortKey.ID, Sort.Direction.DESC, null, 20L));
+
+    assertThatThrownBy(() -> service.listByCursor(null, "", cursor, 10, Sort.by(Sort.Direction.ASC, "id")))
+        .isInstanceOf(ValidationException.class);
+    verify(projectRepository, never()).findKeysetPage(any(), any(), any(), anyInt());
+  }
+
+  @Test
+  void listSlice_deveBuscarSizeMaisUmSemCount_quandoBuscaTextual() {
+    authAs("user@test.com");
+
+    User user = new User();
+    user.setId(7L);
+    user.setEmail("user@test.com");
+    user.setRole(Role.USER);
+    user.setEnabled(true);
+
+    when(userRepository.findByEmailIgnoreCase("user@test.com"))
+        .thenReturn(Optional.of(user));
+
+    when(projectRepository.searchSlice(7L, null, "energia", 10L, 3))
+        .thenReturn(new SearchSlice(List.of(new Project(), new Project(), new Project()), true));
+
+    var resp = service.listSlice(null, " energia ", PageRequest.of(5, 2));
+
+    assertThat(resp.items()).hasSize(2);
+    assertThat(resp.hasNext()).isTrue();
+    assertThat(resp.truncated()).isTrue();
+    verify(projectRepository, never()).searchByUserId(any(), any(), any(), any());
+  }
+
+  @Test
+  void getById_naoDeveConsultarUsers_quandoPrincipalVemDoJwt() {
+    AuthenticatedUser principal = new AuthenticatedUser(1L, "user1@test.com", Role.USER);
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken(principal, null, principal.authorities())
+    );
+
+    User owner = new User();
+    owner.setId(1L);
+    Project p = new Project();
+    p.setId(5L);
+    p.setUser(owner);
+
+    when(projectRepository.findActiveById(5L)).thenReturn(Optional.of(p));
+
+    var resp = service.getById(5L);
+
+    assertThat(resp.id()).isEqualTo(5L);
+    verifyNoInteractions(userRepository);
+  }
+
+  @Test
+  void getVersion_deveUsarSomenteConsultaDeVersao_eNegarQuandoNaoDono() {
+    AuthenticatedUser principal = new AuthenticatedUser(1L, "user1@test.com", Role.USER);
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken(principal, null, principal.authorities())
+    );
+
+    ProjectVersionView own = mock(ProjectVersionView.class);
+    when(own.getUserId()).thenReturn(1L);
+    when(own.getVersion()).thenReturn(4L);
+    ProjectVersionView other = mock(ProjectVersionView.class);
+    when(other.getUserId()).thenReturn(2L);
+
+    when(projectRepository.findActiveVersionById(5L)).thenReturn(Optional.of(own));
+    when(projectRepository.findActiveVersionById(6L)).thenReturn(Optional.of(other));
+
+    assertThat(service.getVersion(5L)).isEqualTo(4L);
+    assertThatThrownBy(() -> service.getVersion(6L)).isInstanceOf(ForbiddenException.class);
+    verify(projectRepository, never()).findActiveById(any());
+  }
+
+  @Test
+  void update_deveFalharComPrecondicao_quandoIfMatchDesatualizado() {
+    AuthenticatedUser principal = new AuthenticatedUser(1L, "user1@test.com", Role.USER);
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken(principal, null, principal.authorities())
+    );
+
+    User owner = new User();
+    owner.setId(1L);
+    Project p = new Project();
+    p.setId(5L);
+    p.setUser(owner);
+    p.setName("Atual");
+
+    when(projectRepository.findActiveById(5L)).thenReturn(Optional.of(p));
+
+    var req = new ProjectUpdateRequest("Novo", null, null, null, null, null);
+
+    // o cliente mandou If-Match de uma versão que não é a atual
+    assertThatThrownBy(() -> service.update(5L, req, List.of(3L)))
+        .isInstanceOf(PreconditionFailedException.class);
+    assertThat(p.getName()).isEqualTo("Atual");
+    verify(projectRepository, never()).save(any());
+  }
+
+  @Test
+  void listFields_deveLerSoColunasPedidas_eDevolverSoEssasChaves() {
+    AuthenticatedUser principal = new AuthenticatedUser(1L, "user1@test.com", Role.USER);
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken(principal, null, principal.authorities())
+    );
+
+    ProjectResponse row = new ProjectResponse(5L, "Projeto", null, new BigDecimal("10.00"), null, null, null, null, null);
+    when(projectRepository.findResponses(eq(1L), isNull(), isNull(),
+        eq(Set.of(ProjectField.ID, ProjectField.NAME, ProjectField.VALUE)), any(Sort.class), eq(0L), eq(10)))
+        .thenReturn(List.of(row));
+
+    var resp = service.listFields(null, " ", PageRequest.of(0, 10, Sort.by("name")), "id, name,value");
+
+    assertThat(resp.getContent()).singleElement()
+        .satisfies(m -> assertThat(m).containsOnlyKeys("id", "name", "value"));
+    // página incompleta já revela o total: sem COUNT
+    assertThat(resp.getTotalElements()).isEqualTo(1);
+    verify(projectRepository, never()).countResponses(any(), any(), any());
+    verify(projectRepository, never()).findAllByUserId(any(), any(), any());
+
+    assertThatThrownBy(() -> service.listFields(null, "", PageRequest.of(0, 10), "id,secret"))
+        .isInstanceOf(ValidationException.class);
   }
 }
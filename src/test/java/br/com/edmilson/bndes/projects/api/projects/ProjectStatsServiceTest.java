@@ -0,0 +1,66 @@
+package br.com.edmilson.bndes.projects.api.projects;
+
+import br.com.edmilson.bndes.projects.api.model.Project;
+import br.com.edmilson.bndes.projects.api.projects.dto.ProjectStatsResponse.OwnerStats;
+import br.com.edmilson.bndes.projects.api.repository.ProjectStatsDelta;
+import br.com.edmilson.bndes.projects.api.repository.ProjectStatsRow;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ProjectStatsServiceTest {
+
+  @Test
+  void summarize_deveAgruparPorDonoAtivoEAno_aPartirDasLinhasDoAgregado() {
+    var resp = ProjectStatsService.summarize(List.of(
+        new ProjectStatsRow(1L, false, 2024, 1, new BigDecimal("10.00")),
+        new ProjectStatsRow(1L, true, 0, 2, new BigDecimal("5.00")),
+        new ProjectStatsRow(1L, true, 2024, 3, new BigDecimal("30.00")),
+        new ProjectStatsRow(2L, true, 2025, 4, new BigDecimal("40.00"))
+    ));
+
+    assertThat(resp.count()).isEqualTo(10);
+    assertThat(resp.totalValue()).isEqualByComparingTo("85.00");
+    assertThat(resp.owners()).extracting(OwnerStats::ownerId).containsExactly(1L, 2L);
+
+    OwnerStats first = resp.owners().get(0);
+    assertThat(first.count()).isEqualTo(6);
+    assertThat(first.byActive()).extracting(a -> a.active() + "=" + a.count()).containsExactly("false=1", "true=5");
+    assertThat(first.byStartYear()).extracting(y -> y.startYear() + "=" + y.count()).containsExactly("null=2", "2024=4");
+  }
+
+  @Test
+  void delta_deveEnviarSoADiferenca_quandoUpdateNaoMudaOGrupo() {
+    Project p = project(true, LocalDate.of(2025, 3, 1), "100.00");
+    ProjectStatsDelta delta = new ProjectStatsDelta();
+
+    delta.remove(1L, p);
+    p.setValue(new BigDecimal("120.00"));
+    delta.add(1L, p);
+
+    assertThat(delta.rows()).singleElement().satisfies(r -> {
+      assertThat(r.count()).isZero();
+      assertThat(r.totalValue()).isEqualByComparingTo("20.00");
+    });
+
+    // mudou de ano: sai de um grupo e entra em outro, em ordem de chave
+    delta.remove(1L, p);
+    p.setStartDate(LocalDate.of(2024, 1, 1));
+    delta.add(1L, p);
+
+    assertThat(delta.rows()).extracting(ProjectStatsRow::startYear, ProjectStatsRow::count)
+        .containsExactly(tuple(2024, 1L), tuple(2025, -1L));
+  }
+
+  private static Project project(boolean active, LocalDate start, String value) {
+    Project p = new Project();
+    p.setActive(active);
+    p.setStartDate(start);
+    p.setValue(new BigDecimal(value));
+    return p;
+  }
+}
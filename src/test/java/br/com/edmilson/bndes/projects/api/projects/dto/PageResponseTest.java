@@ -0,0 +1,47 @@
+package br.com.edmilson.bndes.projects.api.projects.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PageResponseTest {
+
+  ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+  @Test
+  void serialize_deveGerarEnvelopeCompacto_comItensIguaisAoSerializerPadrao() throws Exception {
+    ProjectResponse item = new ProjectResponse(
+        1L, "Projeto A", null, new BigDecimal("1500.00"), true,
+        LocalDate.of(2024, 1, 1), null, Instant.parse("2024-01-02T10:00:00Z"), null);
+    PageResponse<ProjectResponse> page = PageResponse.of(new PageImpl<>(List.of(item), PageRequest.of(2, 1), 5));
+
+    String json = objectMapper.writeValueAsString(page);
+
+    assertThat(json).isEqualTo("{\"items\":[" + objectMapper.writeValueAsString(item) + "],"
+        + "\"page\":2,\"size\":1,\"total\":5,\"hasNext\":true}");
+    assertThat(json).contains("\"startDate\":\"2024-01-01\"", "\"createdAt\":\"2024-01-02T10:00:00Z\"");
+  }
+
+  @Test
+  void serialize_deveManterChavesDoFieldset_quandoItensSaoMapas() throws Exception {
+    Map<String, Object> row = new LinkedHashMap<>();
+    row.put("name", "Projeto A");
+    row.put("id", 1L);
+
+    String json = objectMapper.writeValueAsString(new PageResponse<>(List.of(row), 0, 10, 1, false));
+
+    assertThat(json).isEqualTo("{\"items\":[{\"name\":\"Projeto A\",\"id\":1}],\"page\":0,\"size\":10,\"total\":1,\"hasNext\":false}");
+  }
+}
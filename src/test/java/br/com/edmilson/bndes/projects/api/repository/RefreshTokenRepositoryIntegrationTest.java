@@ -0,0 +1,147 @@
+package br.com.edmilson.bndes.projects.api.repository;
+
+import br.com.edmilson.bndes.projects.api.PostgresIntegrationTest;
+import br.com.edmilson.bndes.projects.api.model.RefreshToken;
+import br.com.edmilson.bndes.projects.api.model.Role;
+import br.com.edmilson.bndes.projects.api.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+/** Roda o CTE de rotação no PostgreSQL: janela de graça x revogação por logout. */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RefreshTokenRepositoryIntegrationTest extends PostgresIntegrationTest {
+
+  private static final long TTL_SECONDS = 7 * 86400L;
+  private static final long GRACE_SECONDS = 10;
+  private static final int THREADS = 16;
+
+  @Autowired UserRepository userRepository;
+  @Autowired RefreshTokenRepository refreshTokenRepository;
+  @Autowired TestEntityManager entityManager;
+  @Autowired PlatformTransactionManager transactionManager;
+
+  User user;
+
+  @BeforeEach
+  void setup() {
+    user = new User();
+    user.setEmail("rotate-" + UUID.randomUUID() + "@test.com");
+    user.setPasswordHash("HASH");
+    user.setRole(Role.USER);
+    user.setEnabled(true);
+    user = userRepository.saveAndFlush(user);
+  }
+
+  @Test
+  void rotate_deveDevolverMesmoSucessor_quandoRepetidoDentroDaGraca() {
+    Instant now = Instant.now();
+    String token = issue(now);
+
+    assertThat(rotate(token, "SUCC-1", now)).isPresent();
+    assertThat(rotate(token, "SUCC-1", now.plusSeconds(1))).isPresent();
+
+    // o UPDATE nativo não passa pelo contexto de persistência
+    entityManager.clear();
+    RefreshToken old = refreshTokenRepository.findByTokenHash(token).orElseThrow();
+    assertThat(old.getReplacedBy()).isEqualTo("SUCC-1");
+    assertThat(refreshTokenRepository.findByTokenHash("SUCC-1")).isPresent();
+  }
+
+  @Test
+  void rotate_deveFalhar_quandoTokenFoiRevogadoPorLogoutDentroDaGraca() {
+    Instant now = Instant.now();
+    String token = issue(now);
+
+    refreshTokenRepository.revokeAllByUserId(user.getId());
+
+    assertThat(rotate(token, "SUCC-2", now.plusSeconds(1))).isEmpty();
+    assertThat(refreshTokenRepository.findByTokenHash("SUCC-2")).isEmpty();
+  }
+
+  @Test
+  void rotate_deveFalhar_quandoLogoutRevogouOSucessorDentroDaGraca() {
+    Instant now = Instant.now();
+    String token = issue(now);
+
+    assertThat(rotate(token, "SUCC-3", now)).isPresent();
+    refreshTokenRepository.revokeAllByUserId(user.getId());
+
+    assertThat(rotate(token, "SUCC-3", now.plusSeconds(1))).isEmpty();
+  }
+
+  @Test
+  void rotate_deveFalhar_quandoRepetidoForaDaGraca() {
+    Instant now = Instant.now();
+    String token = issue(now);
+
+    assertThat(rotate(token, "SUCC-4", now)).isPresent();
+    assertThat(rotate(token, "SUCC-4", now.plusSeconds(GRACE_SECONDS + 1))).isEmpty();
+  }
+
+  // Sem a transação do teste: cada thread comita a sua, como refreshes simultâneos de verdade.
+  @Test
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  void rotate_concorrente_deveDevolverOMesmoSucessorParaTodos() throws Exception {
+    Instant now = Instant.now();
+    String token = issue(now);
+    String successor = "SUCC-C-" + token;
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+    ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<Optional<RotatedRefreshToken>>> futures = new ArrayList<>();
+      for (int i = 0; i < THREADS; i++) {
+        futures.add(pool.submit(() -> {
+          start.await();
+          return tx.execute(status -> rotate(token, successor, now));
+        }));
+      }
+      start.countDown();
+
+      for (Future<Optional<RotatedRefreshToken>> f : futures) {
+        Optional<RotatedRefreshToken> rotated = f.get(30, TimeUnit.SECONDS);
+        assertThat(rotated).isPresent();
+        assertThat(rotated.get().getId()).isEqualTo(user.getId());
+      }
+      assertThat(refreshTokenRepository.findByTokenHash(successor))
+          .get().extracting(RefreshToken::getRevokedAt).isNull();
+    } finally {
+      pool.shutdownNow();
+      tx.executeWithoutResult(status -> {
+        refreshTokenRepository.findByTokenHash(token).ifPresent(refreshTokenRepository::delete);
+        refreshTokenRepository.findByTokenHash(successor).ifPresent(refreshTokenRepository::delete);
+        userRepository.deleteById(user.getId());
+      });
+    }
+  }
+
+  private String issue(Instant now) {
+    String hash = "RT-" + UUID.randomUUID();
+    refreshTokenRepository.saveAndFlush(new RefreshToken(user, hash, now.plus(7, ChronoUnit.DAYS)));
+    return hash;
+  }
+
+  private Optional<RotatedRefreshToken> rotate(String token, String successor, Instant now) {
+    return refreshTokenRepository.rotate(token, successor, now, now.minusSeconds(GRACE_SECONDS), TTL_SECONDS);
+  }
+}
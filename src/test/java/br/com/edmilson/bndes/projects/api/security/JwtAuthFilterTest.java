@@ -0,0 +1,79 @@
+package br.com.edmilson.bndes.projects.api.security;
+
+import br.com.edmilson.bndes.projects.api.auth.JwtService;
+import br.com.edmilson.bndes.projects.api.auth.ParsedToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthFilterTest {
+
+  @Mock JwtService jwtService;
+  @Mock UserStatusCache userStatusCache;
+  @Mock RevokedTokenIndex revokedTokenIndex;
+
+  SimpleMeterRegistry registry;
+  JwtAuthFilter filter;
+
+  @BeforeEach
+  void setup() {
+    registry = new SimpleMeterRegistry();
+    filter = new JwtAuthFilter(jwtService, userStatusCache, revokedTokenIndex, new ObjectMapper().findAndRegisterModules(), registry);
+  }
+
+  @AfterEach
+  void clearContext() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void doFilter_deveContarResultadoDaVerificacao_porOutcome() throws Exception {
+    Instant now = Instant.now();
+    when(jwtService.parse("ok")).thenReturn(new ParsedToken("a@a.com", "JTI-1", 1L, "USER", now, now.plusSeconds(60), 0));
+    when(jwtService.parse("velho")).thenThrow(new ExpiredJwtException(null, null, "expired"));
+    when(jwtService.parse("revogado")).thenReturn(new ParsedToken("a@a.com", "JTI-2", 1L, "USER", now, now.plusSeconds(60), 0));
+    when(revokedTokenIndex.isRevoked("JTI-1")).thenReturn(false);
+    when(revokedTokenIndex.isRevoked("JTI-2")).thenReturn(true);
+    when(userStatusCache.get(1L)).thenReturn(new UserStatusCache.Status(true, 0));
+
+    assertThat(run("ok").getStatus()).isEqualTo(200);
+    assertThat(run("velho").getStatus()).isEqualTo(401);
+    assertThat(run("revogado").getStatus()).isEqualTo(401);
+    run("velho");
+
+    assertThat(count("valid")).isEqualTo(1);
+    assertThat(count("token_expired")).isEqualTo(2);
+    assertThat(count("token_revoked")).isEqualTo(1);
+    assertThat(count("invalid_token")).isZero();
+  }
+
+  private MockHttpServletResponse run(String token) throws Exception {
+    SecurityContextHolder.clearContext();
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/projects");
+    request.setServletPath("/projects");
+    request.addHeader("Authorization", "Bearer " + token);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request, response, new MockFilterChain());
+    return response;
+  }
+
+  private double count(String outcome) {
+    return registry.get(JwtAuthFilter.METRIC).tag("outcome", outcome).counter().count();
+  }
+}
@@ -0,0 +1,54 @@
+package br.com.edmilson.bndes.projects.api.security;
+
+import br.com.edmilson.bndes.projects.api.model.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MetricsScrapeAccessTest {
+
+  private static final Authentication ANONYMOUS =
+      new AnonymousAuthenticationToken("key", "anonymous", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+  @Test
+  void authorize_deveNegarAnonimo_eAceitarCredencialDeScrape() {
+    MetricsScrapeAccess access = new MetricsScrapeAccess("prometheus", "s3cret");
+
+    assertThat(granted(access, ANONYMOUS, null)).isFalse();
+    assertThat(granted(access, ANONYMOUS, basic("prometheus", "errada"))).isFalse();
+    assertThat(granted(access, ANONYMOUS, basic("prometheus", "s3cret"))).isTrue();
+  }
+
+  @Test
+  void authorize_deveExigirAdmin_quandoSenhaDeScrapeNaoConfigurada() {
+    MetricsScrapeAccess access = new MetricsScrapeAccess("prometheus", "");
+
+    assertThat(granted(access, ANONYMOUS, basic("prometheus", ""))).isFalse();
+    assertThat(granted(access, user(Role.USER), null)).isFalse();
+    assertThat(granted(access, user(Role.ADMIN), null)).isTrue();
+  }
+
+  private boolean granted(MetricsScrapeAccess access, Authentication auth, String authorization) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/prometheus");
+    if (authorization != null) request.addHeader("Authorization", authorization);
+    return access.authorize(() -> auth, new RequestAuthorizationContext(request)).isGranted();
+  }
+
+  private static Authentication user(Role role) {
+    AuthenticatedUser principal = new AuthenticatedUser(1L, "a@a.com", role);
+    return new UsernamePasswordAuthenticationToken(principal, null, principal.authorities());
+  }
+
+  private static String basic(String user, String password) {
+    return "Basic " + Base64.getEncoder().encodeToString((user + ":" + password).getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,91 @@
+package br.com.edmilson.bndes.projects.api.security;
+
+import br.com.edmilson.bndes.projects.api.cluster.PgNotifier;
+import br.com.edmilson.bndes.projects.api.model.RevokedToken;
+import br.com.edmilson.bndes.projects.api.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RevokedTokenIndexTest {
+
+  @Mock RevokedTokenRepository revokedTokenRepository;
+  @Mock PgNotifier pgNotifier;
+
+  RevokedTokenIndex index;
+
+  @BeforeEach
+  void setup() {
+    index = new RevokedTokenIndex(revokedTokenRepository, pgNotifier);
+  }
+
+  @Test
+  void isRevoked_naoDeveConsultarBanco_quandoJtiNaoEstaNoIndice() {
+    RevokedToken rt = new RevokedToken("JTI-1", null, Instant.now().plusSeconds(600));
+    when(revokedTokenRepository.findByExpiresAtAfter(any())).thenReturn(List.of(rt));
+
+    index.load();
+
+    assertThat(index.isRevoked("JTI-2")).isFalse();
+    verify(revokedTokenRepository, never()).existsByJti(anyString());
+  }
+
+  @Test
+  void isRevoked_deveConfirmarNoBanco_quandoFingerprintEncontrado() {
+    when(revokedTokenRepository.findByExpiresAtAfter(any())).thenReturn(List.of());
+    when(revokedTokenRepository.existsByJti("JTI-1")).thenReturn(true);
+
+    index.load();
+    index.revoke("JTI-1", Instant.now().plusSeconds(600));
+
+    assertThat(index.isRevoked("JTI-1")).isTrue();
+    verify(pgNotifier).notify(eq("revoked_tokens"), startsWith("JTI-1:"));
+  }
+
+  @Test
+  void onNotification_deveIndexarRevogacaoDeOutroNo_eDescartarExpiradas() {
+    when(revokedTokenRepository.findByExpiresAtAfter(any())).thenReturn(List.of());
+    index.load();
+
+    long future = Instant.now().plusSeconds(600).getEpochSecond();
+    long past = Instant.now().minusSeconds(5).getEpochSecond();
+
+    for (int i = 0; i < 100; i++) {
+      index.onNotification("JTI-" + i + ":" + future);
+    }
+    index.onNotification("JTI-OLD:" + past);
+
+    assertThat(index.size()).isEqualTo(100);
+
+    index.evictExpired();
+    assertThat(index.size()).isEqualTo(100);
+  }
+
+  @Test
+  void load_naoDevePerderRevogacao_quandoNotificacaoChegaDuranteACarga() {
+    long future = Instant.now().plusSeconds(600).getEpochSecond();
+    RevokedToken rt = new RevokedToken("JTI-DB", null, Instant.now().plusSeconds(600));
+    // NOTIFY processado entre a consulta e a troca do conjunto (ex.: resync do LISTEN)
+    when(revokedTokenRepository.findByExpiresAtAfter(any())).thenAnswer(inv -> {
+      index.onNotification("JTI-LIVE:" + future);
+      return List.of(rt);
+    });
+    when(revokedTokenRepository.existsByJti(anyString())).thenReturn(true);
+
+    index.load();
+
+    assertThat(index.size()).isEqualTo(2);
+    assertThat(index.isRevoked("JTI-LIVE")).isTrue();
+    assertThat(index.isRevoked("JTI-DB")).isTrue();
+  }
+}